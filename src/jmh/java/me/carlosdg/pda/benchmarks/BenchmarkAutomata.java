@@ -0,0 +1,68 @@
+package me.carlosdg.pda.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import me.carlosdg.pda.config.readers.EmptyStackPdaCustomFileReader;
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Automata of pda_config_examples used by the benchmarks, with a generator of
+ * accepted words of any length for each one. The benchmarks have to be run
+ * from the root of the repository so the examples can be found
+ *
+ * @author Carlos Domínguez García
+ */
+final class BenchmarkAutomata {
+
+	/** Directory of the example automata */
+	static final String EXAMPLES_DIRECTORY = "pda_config_examples/";
+
+	private BenchmarkAutomata() {
+	}
+
+	/** Reads the definition of the given example */
+	static EmptyStackPdaDefinition definition(String example) throws Exception {
+		return new EmptyStackPdaDefinition(new EmptyStackPdaCustomFileReader(EXAMPLES_DIRECTORY + example).getConfig());
+	}
+
+	/**
+	 * Returns a word of (about) the given length accepted by the given example
+	 *
+	 * @throws IllegalArgumentException If the example is not known
+	 */
+	static Word acceptedWord(String example, int length) throws IllegalArgumentException {
+		List<String> symbols = new ArrayList<>(length);
+		switch (example) {
+		case "APv.txt":
+		case "test.pda":
+			// a^n b^n
+			symbols.addAll(Collections.nCopies(length / 2, "a"));
+			symbols.addAll(Collections.nCopies(length / 2, "b"));
+			break;
+		case "APv-2.txt":
+			// Even palindromes of 0 and 1, the middle has to be guessed
+			Random random = new Random(length);
+			for (int i = 0; i < length / 2; ++i) {
+				symbols.add(random.nextBoolean() ? "0" : "1");
+			}
+			for (int i = length / 2 - 1; i >= 0; --i) {
+				symbols.add(symbols.get(i));
+			}
+			break;
+		case "APv-jueves.txt":
+			// a^i b^j c^(i + j)
+			symbols.addAll(Collections.nCopies(length / 4, "a"));
+			symbols.addAll(Collections.nCopies(length / 4, "b"));
+			symbols.addAll(Collections.nCopies(length / 2, "c"));
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown example automaton: " + example);
+		}
+		return new Word(symbols);
+	}
+
+}
@@ -0,0 +1,24 @@
+package me.carlosdg.pda.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar. Takes the same arguments as the JMH runner
+ * and always adds the GC profiler, so every result comes with its allocation
+ * rate (gc.alloc.rate.norm is the number of bytes allocated per operation)
+ *
+ * @author Carlos Domínguez García
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws Exception {
+		Options options = new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+
+}
@@ -0,0 +1,109 @@
+package me.carlosdg.pda.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.carlosdg.pda.config.PdaConfiguration;
+import me.carlosdg.pda.config.readers.EmptyStackPdaCustomFileReader;
+import me.carlosdg.pda.config.readers.StreamingEmptyStackPdaFileReader;
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.word.Word;
+import me.carlosdg.pda.word.readers.WordFileReader;
+
+/**
+ * Parsing throughput of generated configuration files and word files. The
+ * configuration files have random transitions over the given number of states
+ *
+ * @author Carlos Domínguez García
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReaderBenchmark {
+
+	@Param({ "10000", "100000" })
+	public int size;
+
+	/** Configuration file with size transitions */
+	private Path configurationFile;
+	/** Word file with size symbols */
+	private Path wordFile;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		Random random = new Random(size);
+		int numberOfStates = Math.max(1, size / 100);
+
+		configurationFile = Files.createTempFile("benchmark", ".pda");
+		try (BufferedWriter writer = Files.newBufferedWriter(configurationFile, StandardCharsets.UTF_8)) {
+			for (int state = 0; state < numberOfStates; ++state) {
+				writer.write("q" + state + " ");
+			}
+			writer.write("\na b c\nS A B\nq0\nS\n");
+			String[] inputs = { "a", "b", "c", "." };
+			String[] pushes = { "A S", "A A", "B A", ".", "S" };
+			String[] stackTops = { "S", "A", "B" };
+			for (int i = 0; i < size; ++i) {
+				writer.write("q" + random.nextInt(numberOfStates) + " " + inputs[random.nextInt(inputs.length)] + " "
+						+ stackTops[random.nextInt(stackTops.length)] + " q" + random.nextInt(numberOfStates) + " "
+						+ pushes[random.nextInt(pushes.length)] + "\n");
+			}
+		}
+
+		wordFile = Files.createTempFile("benchmark", ".word");
+		try (BufferedWriter writer = Files.newBufferedWriter(wordFile, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < size; ++i) {
+				writer.write(random.nextBoolean() ? "a " : "b ");
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(configurationFile);
+		Files.deleteIfExists(wordFile);
+	}
+
+	@Benchmark
+	public PdaConfiguration customFileReader() throws Exception {
+		return new EmptyStackPdaCustomFileReader(configurationFile.toString()).getConfig();
+	}
+
+	@Benchmark
+	public EmptyStackPdaDefinition customFileReaderAndDefinition() throws Exception {
+		return new EmptyStackPdaDefinition(new EmptyStackPdaCustomFileReader(configurationFile.toString()).getConfig());
+	}
+
+	@Benchmark
+	public EmptyStackPdaDefinition streamingFileReader() throws Exception {
+		return new StreamingEmptyStackPdaFileReader(configurationFile.toString()).getDefinition();
+	}
+
+	@Benchmark
+	public Word wordFileReader() throws Exception {
+		return new WordFileReader(wordFile.toString()).getWord();
+	}
+
+}
@@ -0,0 +1,64 @@
+package me.carlosdg.pda.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.EmptyStackPdaSimulator;
+import me.carlosdg.pda.simulator.stack.StackImplementation;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Time to check accepted words of growing length with
+ * {@link EmptyStackPdaSimulator} on the example automata
+ *
+ * @author Carlos Domínguez García
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulatorBenchmark {
+
+	@Param({ "APv.txt", "APv-2.txt", "APv-jueves.txt" })
+	public String automaton;
+
+	@Param({ "16", "128", "1024" })
+	public int wordLength;
+
+	@Param({ "ARRAY", "HASH_CONSED", "RUN_LENGTH" })
+	public StackImplementation stackImplementation;
+
+	private EmptyStackPdaSimulator simulator;
+	private Word word;
+
+	@Setup
+	public void setUp() throws Exception {
+		EmptyStackPdaDefinition pdaDefinition = BenchmarkAutomata.definition(automaton);
+		simulator = new EmptyStackPdaSimulator(pdaDefinition, stackImplementation);
+		word = BenchmarkAutomata.acceptedWord(automaton, wordLength);
+		if (!simulator.accepts(word, Optional.empty())) {
+			throw new IllegalStateException("The word generated for " + automaton + " is not accepted: " + word);
+		}
+	}
+
+	@Benchmark
+	public boolean accepts() {
+		return simulator.accepts(word, Optional.empty());
+	}
+
+}
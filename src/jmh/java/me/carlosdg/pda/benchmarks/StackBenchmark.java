@@ -0,0 +1,108 @@
+package me.carlosdg.pda.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.simulator.stack.PdaStack;
+import me.carlosdg.pda.simulator.stack.StackImplementation;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+
+/**
+ * Push and pop patterns of the simulators on each stack implementation:
+ * filling and emptying the stack, the saw tooth of the backtracking search
+ * (push two, pop one) and pushing the symbols of a transition
+ *
+ * @author Carlos Domínguez García
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StackBenchmark {
+
+	@Param({ "ARRAY", "HASH_CONSED", "RUN_LENGTH" })
+	public StackImplementation stackImplementation;
+
+	@Param({ "1024" })
+	public int height;
+
+	private PdaStack stack;
+	/** Ids of two different symbols, pushed alternately */
+	private int[] mixedIds;
+	/** Push of a transition, the same symbol twice */
+	private List<StackAlphabetSymbol> transitionSymbols;
+	private int[] transitionReversedIds;
+
+	@Setup
+	public void setUp() throws Exception {
+		StackAlphabet alphabet = new StackAlphabet(Arrays.asList("S", "A", "B"));
+		stack = stackImplementation.create(alphabet, alphabet.getSymbol("S"));
+		mixedIds = new int[] { alphabet.getId("A"), alphabet.getId("B") };
+		transitionSymbols = Arrays.asList(alphabet.getSymbol("A"), alphabet.getSymbol("A"));
+		transitionReversedIds = new int[] { alphabet.getId("A"), alphabet.getId("A") };
+	}
+
+	@Benchmark
+	public int fillAndEmptyWithOneSymbol() {
+		stack.reset();
+		for (int i = 0; i < height; ++i) {
+			stack.pushId(mixedIds[0]);
+		}
+		int sum = 0;
+		for (int i = 0; i < height; ++i) {
+			sum += stack.popId();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int fillAndEmptyWithMixedSymbols() {
+		stack.reset();
+		for (int i = 0; i < height; ++i) {
+			stack.pushId(mixedIds[i & 1]);
+		}
+		int sum = 0;
+		for (int i = 0; i < height; ++i) {
+			sum += stack.popId();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int sawTooth() {
+		stack.reset();
+		for (int i = 0; i < height; ++i) {
+			stack.pushReversed(transitionReversedIds);
+			stack.popId();
+		}
+		stack.pop(height);
+		return stack.size();
+	}
+
+	@Benchmark
+	public int pushSymbolLists() {
+		stack.reset();
+		for (int i = 0; i < height; ++i) {
+			stack.push(transitionSymbols);
+		}
+		stack.pop(2 * height);
+		return stack.size();
+	}
+
+}
@@ -0,0 +1,86 @@
+package me.carlosdg.pda.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.symbols.InputAlphabetSymbol;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.transition_function.TransitionFunction;
+import me.carlosdg.pda.transition_function.TransitionTable;
+
+/**
+ * Lookups of every (state, stack top, input symbol or epsilon) of the example
+ * automata, in the transition function and in its compiled table
+ *
+ * @author Carlos Domínguez García
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransitionFunctionBenchmark {
+
+	@Param({ "APv.txt", "APv-2.txt", "APv-jueves.txt" })
+	public String automaton;
+
+	private TransitionFunction transitionFunction;
+	private TransitionTable transitionTable;
+	private List<me.carlosdg.pda.symbols.State> states;
+	private List<StackAlphabetSymbol> stackSymbols;
+	/** Every input symbol plus epsilon */
+	private List<Optional<InputAlphabetSymbol>> inputs = new ArrayList<>();
+
+	@Setup
+	public void setUp() throws Exception {
+		EmptyStackPdaDefinition pdaDefinition = BenchmarkAutomata.definition(automaton);
+		transitionFunction = pdaDefinition.getTransitionFunction();
+		transitionTable = pdaDefinition.getTransitionTable();
+		states = pdaDefinition.getSetOfStates().getSymbols();
+		stackSymbols = pdaDefinition.getStackAlphabet().getSymbols();
+		for (InputAlphabetSymbol symbol : pdaDefinition.getInputAlphabet().getSymbols()) {
+			inputs.add(Optional.of(symbol));
+		}
+		inputs.add(Optional.empty());
+	}
+
+	@Benchmark
+	public void transitionFunctionGet(Blackhole blackhole) {
+		for (me.carlosdg.pda.symbols.State state : states) {
+			for (StackAlphabetSymbol stackTop : stackSymbols) {
+				for (Optional<InputAlphabetSymbol> input : inputs) {
+					blackhole.consume(transitionFunction.get(state, stackTop, input));
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void transitionTableGet(Blackhole blackhole) {
+		for (int state = 0; state < states.size(); ++state) {
+			for (int stackTop = 0; stackTop < stackSymbols.size(); ++stackTop) {
+				for (int input = 0; input <= transitionTable.getEpsilonId(); ++input) {
+					blackhole.consume(transitionTable.get(state, stackTop, input));
+				}
+			}
+		}
+	}
+
+}
@@ -1,15 +1,26 @@
 package me.carlosdg.pda;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
-import me.carlosdg.pda.config.PdaConfiguration;
-import me.carlosdg.pda.config.readers.EmptyStackPdaCustomFileReader;
-import me.carlosdg.pda.config.readers.PdaReader;
+import me.carlosdg.pda.definition.CompiledDefinitionCache;
 import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.CompiledPda;
+import me.carlosdg.pda.simulator.DeterministicEmptyStackPdaSimulator;
 import me.carlosdg.pda.simulator.EmptyStackPdaSimulator;
-import me.carlosdg.pda.simulator.spies.PdaExecutionConsoleLogger;
-import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.simulator.PdaSimulator;
+import me.carlosdg.pda.simulator.spies.AsyncTraceLogger;
+import me.carlosdg.pda.simulator.spies.TransitionHeatMap;
 import me.carlosdg.pda.word.Word;
+import me.carlosdg.pda.word.readers.CorpusFileReader;
 import me.carlosdg.pda.word.readers.WordFileReader;
 import me.carlosdg.pda.word.readers.WordReader;
 
@@ -17,41 +28,108 @@ public class Simulator {
 
 	public static void main(String[] args) {
 		try {
+			if (args.length == 4 && args[1].equals("--corpus")) {
+				checkCorpus(args[0], args[2], args[3]);
+				return;
+			}
+			if (args.length == 4 && args[1].equals("--heat-map")) {
+				writeHeatMap(args[0], args[2], args[3]);
+				return;
+			}
 			if (args.length != 3) {
-				throw new Exception(
-						"Usage: \n\t java Simulator <pda_configuration_file_path> <input_word_file_path> [0|1]");
+				throw new Exception("Usage: \n\t java Simulator <pda_configuration_file_path> <input_word_file_path> [0|1]"
+						+ "\n\t java Simulator <pda_configuration_file_path> --corpus <corpus_file_path> <output_file_path>"
+						+ "\n\t java Simulator <pda_configuration_file_path> --heat-map <corpus_file_path> <report_file_path>");
 			}
 
 			String configurationFilePath = args[0];
 			String inputWordFilePath = args[1];
 			boolean debug = args[2].equals("0");
 
-			// Read configuration file
-			PdaReader reader = new EmptyStackPdaCustomFileReader(configurationFilePath);
-			PdaConfiguration configuration = reader.getConfig();
-
-			// Parse the raw configuration to get the PDA definition (throws if the
-			// configuration is not valid)
-			EmptyStackPdaDefinition pdaDefinition = new EmptyStackPdaDefinition(configuration);
+			// Read the configuration file into the PDA definition (throws if the
+			// configuration is not valid), compiled files are reused between runs
+			EmptyStackPdaDefinition pdaDefinition = CompiledDefinitionCache.fromEnvironment()
+					.load(configurationFilePath);
 
-			// Instantiate the simulator with the PDA definition
-			EmptyStackPdaSimulator simulator = new EmptyStackPdaSimulator(pdaDefinition);
+			// Instantiate the simulator with the PDA definition, deterministic PDAs do not
+			// need to backtrack
+			PdaSimulator simulator = pdaDefinition.isDeterministic()
+					? new DeterministicEmptyStackPdaSimulator(pdaDefinition)
+					: new EmptyStackPdaSimulator(pdaDefinition);
 
 			// Read the input word file
 			WordReader wordReader = new WordFileReader(inputWordFilePath);
 			Word inputWord = wordReader.getWord();
 
-			// Instantiate an optional Spy to log the progress of the simulator when given
-			// the input word
-			Optional<PdaExecutionSpy> maybeLogger = debug ? Optional.empty()
-					: Optional.of(new PdaExecutionConsoleLogger());
-
-			// Run the simulation and print whether the word was accepted or not
-			boolean isAccepted = simulator.accepts(inputWord, maybeLogger);
+			// Run the simulation and print whether the word was accepted or not. The
+			// progress is logged by a background thread so the run is not slowed down
+			boolean isAccepted;
+			if (debug) {
+				isAccepted = simulator.accepts(inputWord, Optional.empty());
+			} else {
+				try (AsyncTraceLogger logger = AsyncTraceLogger.toStandardOutput(pdaDefinition)) {
+					isAccepted = simulator.accepts(inputWord, logger);
+				}
+			}
 			System.out.println("Accepted: " + isAccepted);
 		} catch (Exception genericException) {
 			System.err.println(genericException.getMessage());
 		}
 	}
 
+	/**
+	 * Checks every word of the given corpus file (one word per line) in parallel
+	 * and writes to the output file "accept" or "reject" for each one, in the same
+	 * order
+	 */
+	private static void checkCorpus(String configurationFilePath, String corpusFilePath, String outputFilePath)
+			throws Exception {
+		EmptyStackPdaDefinition pdaDefinition = CompiledDefinitionCache.fromEnvironment().load(configurationFilePath);
+		CompiledPda pda = new CompiledPda(pdaDefinition);
+
+		// The words are encoded from the mapped file by the workers checking them
+		CorpusFileReader corpus = new CorpusFileReader(corpusFilePath);
+		BitSet accepted = pda.acceptsAll(corpus.getWords(pdaDefinition.getWordEncoder()));
+
+		writeResults(accepted, corpus.size(), outputFilePath);
+		System.out.println("Accepted: " + accepted.cardinality() + " of " + corpus.size());
+	}
+
+	/**
+	 * Checks every word of the given corpus file in parallel counting how the
+	 * transitions are used, and writes the counters of each transition to the
+	 * report file: as a DOT graph if its name ends with ".dot", otherwise as a
+	 * list sorted by attempts
+	 */
+	private static void writeHeatMap(String configurationFilePath, String corpusFilePath, String reportFilePath)
+			throws Exception {
+		EmptyStackPdaDefinition pdaDefinition = CompiledDefinitionCache.fromEnvironment().load(configurationFilePath);
+		CompiledPda pda = new CompiledPda(pdaDefinition);
+		TransitionHeatMap heatMap = new TransitionHeatMap(pdaDefinition);
+
+		CorpusFileReader corpus = new CorpusFileReader(corpusFilePath);
+		List<Word> words = corpus.getWords(pdaDefinition.getWordEncoder());
+		long accepted = IntStream.range(0, words.size()).parallel()
+				.filter(i -> heatMap.accepts(pda, words.get(i))).count();
+
+		try (Writer writer = Files.newBufferedWriter(Paths.get(reportFilePath), StandardCharsets.UTF_8)) {
+			if (reportFilePath.endsWith(".dot")) {
+				heatMap.writeDot(writer);
+			} else {
+				heatMap.writeReport(writer);
+			}
+		}
+		System.out.println("Accepted: " + accepted + " of " + corpus.size());
+	}
+
+	/** Writes one line per result, "accept" or "reject" */
+	private static void writeResults(BitSet accepted, int size, String outputFilePath) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(outputFilePath), StandardCharsets.UTF_8)) {
+			for (int i = 0; i < size; ++i) {
+				writer.write(accepted.get(i) ? "accept" : "reject");
+				writer.newLine();
+			}
+		}
+	}
+
 }
@@ -0,0 +1,156 @@
+package me.carlosdg.pda.compiler;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.CompiledPda;
+import me.carlosdg.pda.simulator.IterativeEmptyStackPdaSimulator;
+import me.carlosdg.pda.simulator.PdaSimulator;
+import me.carlosdg.pda.simulator.spies.PdaExecutionListener;
+import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.simulator.stack.StackImplementation;
+import me.carlosdg.pda.symbols.InputAlphabetSymbol;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.State;
+import me.carlosdg.pda.transition_function.StateStackSymbolsPair;
+import me.carlosdg.pda.transition_function.TransitionTable;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Recognizer specialized for a single PDA. The transition function is compiled
+ * into a class generated at runtime (see {@link DispatchClassGenerator}) so the
+ * transitions are found with switches over the integer ids. If the class cannot
+ * be generated or loaded, a table based dispatch is used instead. The search is
+ * the one of {@link CompiledPda}, given the dispatch as its
+ * {@link me.carlosdg.pda.simulator.TransitionSource}.
+ *
+ * The recognizer does not keep state between runs so it can be used by several
+ * threads at the same time
+ *
+ * @author Carlos Domínguez García
+ */
+public class CompiledRecognizer implements PdaSimulator {
+
+	/** No transitions, returned by the dispatch for the missing groups */
+	private static final StateStackSymbolsPair[] NO_MOVES = new StateStackSymbolsPair[0];
+
+	/** Definition of the PDA */
+	private final EmptyStackPdaDefinition pdaDefinition;
+	/** Dispatch from (state, stack top, input symbol) to a group of moves */
+	private final TransitionDispatch dispatch;
+	/** Whether the dispatch is a generated class or the fallback table */
+	private final boolean bytecodeCompiled;
+	/** Why the dispatch class could not be generated or loaded, null if it was */
+	private final Exception bytecodeFailure;
+	/** Moves of each group, in the order of the transition table */
+	private final StateStackSymbolsPair[][] groupMoves;
+	/** Automaton running the search with the dispatch */
+	private final CompiledPda pda;
+
+	/** Creates the recognizer, use {@link #compile(EmptyStackPdaDefinition)} */
+	private CompiledRecognizer(EmptyStackPdaDefinition pdaDefinition) {
+		this.pdaDefinition = pdaDefinition;
+		List<State> states = pdaDefinition.getSetOfStates().getSymbols();
+		List<StackAlphabetSymbol> stackSymbols = pdaDefinition.getStackAlphabet().getSymbols();
+		List<InputAlphabetSymbol> inputSymbols = pdaDefinition.getInputAlphabet().getSymbols();
+
+		// States and symbols are numbered by their ids. Number every non empty set of
+		// transitions as a group
+		TransitionTable transitionTable = pdaDefinition.getTransitionTable();
+		int[][][] groups = new int[states.size()][stackSymbols.size()][inputSymbols.size() + 1];
+		List<StateStackSymbolsPair[]> moves = new ArrayList<>();
+		for (int state = 0; state < states.size(); ++state) {
+			for (int top = 0; top < stackSymbols.size(); ++top) {
+				for (int input = 0; input <= inputSymbols.size(); ++input) {
+					StateStackSymbolsPair[] transitions = transitionTable.get(state, top, input);
+					if (transitions.length == 0) {
+						groups[state][top][input] = -1;
+					} else {
+						groups[state][top][input] = moves.size();
+						moves.add(transitions);
+					}
+				}
+			}
+		}
+		groupMoves = moves.toArray(new StateStackSymbolsPair[moves.size()][]);
+
+		TransitionDispatch generatedDispatch = null;
+		Exception failure = null;
+		try {
+			generatedDispatch = defineDispatchClass(DispatchClassGenerator.generate(groups));
+		} catch (IllegalArgumentException | IllegalStateException | ReflectiveOperationException
+				| UnsupportedOperationException e) {
+			// Too big, or the class was rejected -> fall back to the table
+			failure = e;
+		} catch (LinkageError e) {
+			// Invalid class, or hidden classes not supported by the JVM
+			failure = new IllegalStateException("Could not load the dispatch class", e);
+		}
+		bytecodeCompiled = generatedDispatch != null;
+		bytecodeFailure = failure;
+		dispatch = bytecodeCompiled ? generatedDispatch : new TableTransitionDispatch(groups);
+		pda = new CompiledPda(pdaDefinition, StackImplementation.ARRAY, this::getMoves);
+	}
+
+	/** Compiles the given PDA definition into a recognizer */
+	public static CompiledRecognizer compile(EmptyStackPdaDefinition pdaDefinition) {
+		return new CompiledRecognizer(pdaDefinition);
+	}
+
+	/** Returns whether the dispatch is a generated class or the fallback table */
+	public boolean isBytecodeCompiled() {
+		return bytecodeCompiled;
+	}
+
+	/**
+	 * Returns why the dispatch class could not be generated or loaded, empty if
+	 * it is bytecode compiled
+	 */
+	public Optional<Exception> getBytecodeFailure() {
+		return Optional.ofNullable(bytecodeFailure);
+	}
+
+	/**
+	 * Checks the given words with both this recognizer and the interpreter and
+	 * returns the ones for which they give different answers
+	 */
+	public List<Word> findDisagreementsWithInterpreter(Collection<Word> words) {
+		PdaSimulator interpreter = new IterativeEmptyStackPdaSimulator(pdaDefinition);
+		List<Word> disagreements = new ArrayList<>();
+		for (Word word : words) {
+			if (accepts(word, Optional.empty()) != interpreter.accepts(word, Optional.empty())) {
+				disagreements.add(word);
+			}
+		}
+		return disagreements;
+	}
+
+	/** @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, PdaExecutionListener) */
+	@Override
+	public boolean accepts(Word inputWord, PdaExecutionListener listener) {
+		return pda.accepts(inputWord, listener);
+	}
+
+	/** @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, Optional) */
+	@Override
+	public boolean accepts(Word inputWord, Optional<PdaExecutionSpy> maybeSpy) {
+		return pda.accepts(inputWord, maybeSpy);
+	}
+
+	/** Transitions of the given state, stack top and input symbol, looked up with the dispatch */
+	private StateStackSymbolsPair[] getMoves(int state, int stackTop, int inputSymbol) {
+		int group = dispatch.lookup(state, stackTop, inputSymbol);
+		return group < 0 ? NO_MOVES : groupMoves[group];
+	}
+
+	/** Loads the given class bytes as a hidden class and instantiates it */
+	private static TransitionDispatch defineDispatchClass(byte[] classBytes) throws ReflectiveOperationException {
+		Class<?> dispatchClass = MethodHandles.lookup().defineHiddenClass(classBytes, true).lookupClass();
+		return (TransitionDispatch) dispatchClass.getDeclaredConstructor().newInstance();
+	}
+
+}
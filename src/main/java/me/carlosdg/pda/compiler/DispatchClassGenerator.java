@@ -0,0 +1,332 @@
+package me.carlosdg.pda.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the bytes of a class implementing {@link TransitionDispatch} whose
+ * lookup method is a tree of tableswitch instructions: one over the states,
+ * one over the stack tops of each state with transitions and one over the
+ * input symbols of each (state, stack top) with transitions. The class file
+ * version is 49, which does not need stack map frames
+ *
+ * @author Carlos Domínguez García
+ */
+class DispatchClassGenerator {
+
+	/** Internal name of the generated class */
+	static final String CLASS_NAME = "me/carlosdg/pda/compiler/GeneratedTransitionDispatch";
+
+	// Opcodes
+	private static final int ICONST_M1 = 0x02;
+	private static final int ICONST_0 = 0x03;
+	private static final int BIPUSH = 0x10;
+	private static final int SIPUSH = 0x11;
+	private static final int LDC_W = 0x13;
+	private static final int ILOAD_1 = 0x1b;
+	private static final int ALOAD_0 = 0x2a;
+	private static final int TABLESWITCH = 0xaa;
+	private static final int IRETURN = 0xac;
+	private static final int RETURN = 0xb1;
+	private static final int INVOKESPECIAL = 0xb7;
+
+	/** Maximum size of the code of a method */
+	private static final int MAX_CODE_LENGTH = 65535;
+
+	/** Constant pool entries, already encoded */
+	private ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+	/** Index of the entries of the constant pool, to reuse them */
+	private Map<String, Integer> constantIndexes = new HashMap<>();
+	/** Number of entries of the constant pool plus one */
+	private int nextConstantIndex = 1;
+
+	/** Code of the method being generated */
+	private ByteArrayOutputStream code = new ByteArrayOutputStream();
+	/** Position in the code of each label, -1 if not placed yet */
+	private List<Integer> labels = new ArrayList<>();
+	/** Jump offsets to patch once every label is placed */
+	private List<int[]> fixups = new ArrayList<>();
+
+	/**
+	 * Generates the class for the given groups of transitions
+	 *
+	 * @param groups Group of each [state][stack top][input symbol or epsilon], -1
+	 *               if there are no transitions
+	 * @return The bytes of the class file
+	 * @throws IllegalStateException If the lookup method would be too big
+	 */
+	static byte[] generate(int[][][] groups) throws IllegalStateException {
+		return new DispatchClassGenerator().generateClass(groups);
+	}
+
+	private byte[] generateClass(int[][][] groups) {
+		int thisClass = classConstant(CLASS_NAME);
+		int superClass = classConstant("java/lang/Object");
+		int dispatchInterface = classConstant(TransitionDispatch.class.getName().replace('.', '/'));
+		int objectConstructor = methodConstant(superClass, "<init>", "()V");
+		int codeAttribute = utf8Constant("Code");
+		int constructorName = utf8Constant("<init>");
+		int constructorDescriptor = utf8Constant("()V");
+		int lookupName = utf8Constant("lookup");
+		int lookupDescriptor = utf8Constant("(III)I");
+
+		byte[] constructorCode = { (byte) ALOAD_0, (byte) INVOKESPECIAL, (byte) (objectConstructor >> 8),
+				(byte) objectConstructor, (byte) RETURN };
+		byte[] lookupCode = lookupCode(groups);
+
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(0xCAFEBABE);
+			out.writeShort(0); // Minor version
+			out.writeShort(49); // Major version
+			out.writeShort(nextConstantIndex);
+			constantPool.writeTo(out);
+			out.writeShort(0x0001 | 0x0010 | 0x0020); // Public, final, super
+			out.writeShort(thisClass);
+			out.writeShort(superClass);
+			out.writeShort(1);
+			out.writeShort(dispatchInterface);
+			out.writeShort(0); // Fields
+			out.writeShort(2); // Methods
+			writeMethod(out, constructorName, constructorDescriptor, codeAttribute, 1, 1, constructorCode);
+			writeMethod(out, lookupName, lookupDescriptor, codeAttribute, 1, 4, lookupCode);
+			out.writeShort(0); // Attributes
+			return bytes.toByteArray();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** Generates the code of the lookup method */
+	private byte[] lookupCode(int[][][] groups) {
+		int numberOfStates = groups.length;
+		int numberOfStackSymbols = groups[0].length;
+		int numberOfInputColumns = groups[0][0].length;
+		int miss = newLabel();
+		Map<Integer, Integer> groupLabels = new HashMap<>();
+
+		// Switch over the states
+		int[] stateLabels = new int[numberOfStates];
+		for (int state = 0; state < numberOfStates; ++state) {
+			stateLabels[state] = hasAnyGroup(groups[state]) ? newLabel() : miss;
+		}
+		emit(ILOAD_1);
+		tableSwitch(stateLabels, miss);
+
+		for (int state = 0; state < numberOfStates; ++state) {
+			if (stateLabels[state] == miss) {
+				continue;
+			}
+			placeLabel(stateLabels[state]);
+
+			// Switch over the stack tops
+			int[] topLabels = new int[numberOfStackSymbols];
+			for (int top = 0; top < numberOfStackSymbols; ++top) {
+				topLabels[top] = hasAnyGroup(groups[state][top]) ? newLabel() : miss;
+			}
+			emit(ILOAD_1 + 1);
+			tableSwitch(topLabels, miss);
+
+			for (int top = 0; top < numberOfStackSymbols; ++top) {
+				if (topLabels[top] == miss) {
+					continue;
+				}
+				placeLabel(topLabels[top]);
+
+				// Switch over the input symbols
+				int[] inputLabels = new int[numberOfInputColumns];
+				for (int input = 0; input < numberOfInputColumns; ++input) {
+					int group = groups[state][top][input];
+					inputLabels[input] = group < 0 ? miss : groupLabels.computeIfAbsent(group, g -> newLabel());
+				}
+				emit(ILOAD_1 + 2);
+				tableSwitch(inputLabels, miss);
+			}
+		}
+
+		// Return of each group
+		for (Map.Entry<Integer, Integer> entry : groupLabels.entrySet()) {
+			placeLabel(entry.getValue());
+			pushConstant(entry.getKey());
+			emit(IRETURN);
+		}
+		placeLabel(miss);
+		emit(ICONST_M1);
+		emit(IRETURN);
+
+		if (code.size() > MAX_CODE_LENGTH) {
+			throw new IllegalStateException("Transition function too big to be compiled (" + code.size() + " bytes)");
+		}
+		byte[] bytes = code.toByteArray();
+		for (int[] fixup : fixups) {
+			int offset = labels.get(fixup[2]) - fixup[1];
+			bytes[fixup[0]] = (byte) (offset >> 24);
+			bytes[fixup[0] + 1] = (byte) (offset >> 16);
+			bytes[fixup[0] + 2] = (byte) (offset >> 8);
+			bytes[fixup[0] + 3] = (byte) offset;
+		}
+		return bytes;
+	}
+
+	/** Returns whether any entry of the given (nested) array is a group */
+	private static boolean hasAnyGroup(int[][] groups) {
+		for (int[] row : groups) {
+			if (hasAnyGroup(row)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Returns whether any entry of the given array is a group */
+	private static boolean hasAnyGroup(int[] groups) {
+		for (int group : groups) {
+			if (group >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Emits a tableswitch from 0 to targets.length - 1 */
+	private void tableSwitch(int[] targets, int defaultTarget) {
+		int instructionPosition = code.size();
+		emit(TABLESWITCH);
+		while (code.size() % 4 != 0) {
+			emit(0);
+		}
+		jumpOffset(instructionPosition, defaultTarget);
+		emitInt(0);
+		emitInt(targets.length - 1);
+		for (int target : targets) {
+			jumpOffset(instructionPosition, target);
+		}
+	}
+
+	/** Pushes the given non negative constant to the operand stack */
+	private void pushConstant(int value) {
+		if (value <= 5) {
+			emit(ICONST_0 + value);
+		} else if (value <= Byte.MAX_VALUE) {
+			emit(BIPUSH);
+			emit(value);
+		} else if (value <= Short.MAX_VALUE) {
+			emit(SIPUSH);
+			emit(value >> 8);
+			emit(value);
+		} else {
+			int index = integerConstant(value);
+			emit(LDC_W);
+			emit(index >> 8);
+			emit(index);
+		}
+	}
+
+	private int newLabel() {
+		labels.add(-1);
+		return labels.size() - 1;
+	}
+
+	private void placeLabel(int label) {
+		labels.set(label, code.size());
+	}
+
+	/** Emits a placeholder for the offset from the given instruction to the label */
+	private void jumpOffset(int instructionPosition, int label) {
+		fixups.add(new int[] { code.size(), instructionPosition, label });
+		emitInt(0);
+	}
+
+	private void emit(int value) {
+		code.write(value);
+	}
+
+	private void emitInt(int value) {
+		emit(value >> 24);
+		emit(value >> 16);
+		emit(value >> 8);
+		emit(value);
+	}
+
+	private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeAttribute, int maxStack,
+			int maxLocals, byte[] methodCode) throws IOException {
+		out.writeShort(0x0001); // Public
+		out.writeShort(name);
+		out.writeShort(descriptor);
+		out.writeShort(1);
+		out.writeShort(codeAttribute);
+		out.writeInt(12 + methodCode.length);
+		out.writeShort(maxStack);
+		out.writeShort(maxLocals);
+		out.writeInt(methodCode.length);
+		out.write(methodCode);
+		out.writeShort(0); // Exception table
+		out.writeShort(0); // Attributes
+	}
+
+	// Constant pool
+
+	private int utf8Constant(String value) {
+		return constant("Utf8:" + value, out -> {
+			out.writeByte(1);
+			out.writeUTF(value);
+		});
+	}
+
+	private int classConstant(String internalName) {
+		int name = utf8Constant(internalName);
+		return constant("Class:" + internalName, out -> {
+			out.writeByte(7);
+			out.writeShort(name);
+		});
+	}
+
+	private int methodConstant(int owner, String name, String descriptor) {
+		int nameIndex = utf8Constant(name);
+		int descriptorIndex = utf8Constant(descriptor);
+		int nameAndType = constant("NameAndType:" + name + descriptor, out -> {
+			out.writeByte(12);
+			out.writeShort(nameIndex);
+			out.writeShort(descriptorIndex);
+		});
+		return constant("Methodref:" + owner + name + descriptor, out -> {
+			out.writeByte(10);
+			out.writeShort(owner);
+			out.writeShort(nameAndType);
+		});
+	}
+
+	private int integerConstant(int value) {
+		return constant("Integer:" + value, out -> {
+			out.writeByte(3);
+			out.writeInt(value);
+		});
+	}
+
+	/** Adds the constant written by the given writer unless it already exists */
+	private int constant(String key, ConstantWriter writer) {
+		Integer index = constantIndexes.get(key);
+		if (index == null) {
+			try {
+				writer.write(new DataOutputStream(constantPool));
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			index = nextConstantIndex++;
+			constantIndexes.put(key, index);
+		}
+		return index;
+	}
+
+	/** Writer of a constant pool entry */
+	private interface ConstantWriter {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+}
@@ -0,0 +1,36 @@
+package me.carlosdg.pda.compiler;
+
+/**
+ * Transition dispatch implemented with a flat array. Used when the transition
+ * function cannot be compiled to bytecode
+ *
+ * @author Carlos Domínguez García
+ */
+class TableTransitionDispatch implements TransitionDispatch {
+
+	/** Group of each (state, stack top, input symbol), -1 if none */
+	private final int[] groups;
+	/** Number of stack symbols */
+	private final int numberOfStackSymbols;
+	/** Number of input symbols plus one for the epsilon moves */
+	private final int numberOfInputColumns;
+
+	TableTransitionDispatch(int[][][] groups) {
+		int numberOfStates = groups.length;
+		numberOfStackSymbols = groups[0].length;
+		numberOfInputColumns = groups[0][0].length;
+		this.groups = new int[numberOfStates * numberOfStackSymbols * numberOfInputColumns];
+		for (int state = 0; state < numberOfStates; ++state) {
+			for (int top = 0; top < numberOfStackSymbols; ++top) {
+				System.arraycopy(groups[state][top], 0, this.groups,
+						(state * numberOfStackSymbols + top) * numberOfInputColumns, numberOfInputColumns);
+			}
+		}
+	}
+
+	@Override
+	public int lookup(int state, int stackTop, int inputSymbol) {
+		return groups[(state * numberOfStackSymbols + stackTop) * numberOfInputColumns + inputSymbol];
+	}
+
+}
@@ -0,0 +1,16 @@
+package me.carlosdg.pda.compiler;
+
+/**
+ * Dispatch of a compiled transition function. States, stack symbols and input
+ * symbols are given by their position in their set, and the epsilon moves are
+ * asked for with the input symbol equal to the size of the input alphabet
+ *
+ * @author Carlos Domínguez García
+ */
+public interface TransitionDispatch {
+	/**
+	 * Returns the group of transitions of the given state, stack top and input
+	 * symbol, or -1 if there are no transitions
+	 */
+	public int lookup(int state, int stackTop, int inputSymbol);
+}
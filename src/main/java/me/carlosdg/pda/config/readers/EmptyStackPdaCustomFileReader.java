@@ -8,6 +8,7 @@ import java.util.Optional;
 import java.util.Scanner;
 import me.carlosdg.pda.config.PdaConfiguration;
 import me.carlosdg.pda.config.PdaConfigurationBuilder;
+import me.carlosdg.pda.jfr.DefinitionLoadingEvent;
 
 /**
  * Custom PDA file reader for Pushdown Automata with no accepting states. The
@@ -47,6 +48,8 @@ public class EmptyStackPdaCustomFileReader implements PdaReader {
 	 *                     reading the file
 	 */
 	public EmptyStackPdaCustomFileReader(String filePath) throws IOException {
+		DefinitionLoadingEvent event = new DefinitionLoadingEvent(DefinitionLoadingEvent.PARSE, filePath);
+		event.begin();
 		fileReader = new Scanner(new BufferedReader(new FileReader(filePath)));
 		configBuilder = new PdaConfigurationBuilder();
 
@@ -60,6 +63,8 @@ public class EmptyStackPdaCustomFileReader implements PdaReader {
 
 		// Build the configuration object
 		pdaConfiguration = configBuilder.build();
+		event.commit(pdaConfiguration.getStateNames().size(), pdaConfiguration.getInputAlphabetSymbolNames().size(),
+				pdaConfiguration.getStackAlphabetSymbolNames().size(), pdaConfiguration.getTransitions().size());
 	}
 
 	/**
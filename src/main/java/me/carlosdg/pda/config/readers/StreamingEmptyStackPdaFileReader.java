@@ -0,0 +1,277 @@
+package me.carlosdg.pda.config.readers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.jfr.DefinitionLoadingEvent;
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.sets.StateSet;
+import me.carlosdg.pda.sets.exceptions.DuplicatedStringInSetException;
+import me.carlosdg.pda.sets.exceptions.SymbolNotFoundInSetException;
+import me.carlosdg.pda.symbols.InputAlphabetSymbol;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.State;
+import me.carlosdg.pda.symbols.Symbol;
+import me.carlosdg.pda.transition_function.TransitionFunction;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Reader of the same files as {@link EmptyStackPdaCustomFileReader} for big
+ * automata. The file is read in a single pass over its bytes: the names of the
+ * transitions are looked up in the sets by their bytes (see
+ * {@link SymbolNameTable}) and each transition is put in the transition
+ * function as soon as its line is read, so no strings nor lists of strings are
+ * created for the transitions. The result is the PDA definition instead of a
+ * PdaConfiguration, because the configuration would hold every transition as
+ * strings
+ *
+ * @author Carlos Domínguez García
+ */
+public class StreamingEmptyStackPdaFileReader {
+
+	/** Single line comment delimiter */
+	private static final byte COMMENT_DELIMITER = '#';
+	/** Size of the chunks read from the file */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** File being read */
+	private InputStream input;
+	/** Chunk of the file being read */
+	private byte[] buffer = new byte[BUFFER_SIZE];
+	/** Position of the next byte of the chunk */
+	private int bufferPosition = 0;
+	/** Number of bytes of the chunk */
+	private int bufferLimit = 0;
+	/** Number of the last line read */
+	private int lineNumber = 0;
+
+	/** Bytes of the tokens of the current line, one after the other */
+	private byte[] line = new byte[256];
+	/** Start of each token of the current line in the line bytes */
+	private int[] tokenStarts = new int[16];
+	/** End of each token of the current line in the line bytes */
+	private int[] tokenEnds = new int[16];
+	/** Number of tokens of the current line */
+	private int numberOfTokens = 0;
+
+	/** PDA definition read */
+	private EmptyStackPdaDefinition pdaDefinition;
+
+	/**
+	 * Reads the given file into a PDA definition
+	 *
+	 * @param filePath The path of the file containing the PDA configuration
+	 * @throws IOException                    If the file cannot be read or if it
+	 *                                        is not well formed
+	 * @throws DuplicatedStringInSetException If there are duplicated elements in
+	 *                                        any set
+	 * @throws SymbolNotFoundInSetException   If any name doesn't represent a
+	 *                                        symbol of its set
+	 * @throws IllegalArgumentException       If any transition is not well formed
+	 */
+	public StreamingEmptyStackPdaFileReader(String filePath)
+			throws IOException, DuplicatedStringInSetException, SymbolNotFoundInSetException, IllegalArgumentException {
+		DefinitionLoadingEvent event = new DefinitionLoadingEvent(DefinitionLoadingEvent.PARSE, filePath);
+		event.begin();
+		try (InputStream fileInput = Files.newInputStream(Paths.get(filePath))) {
+			input = fileInput;
+
+			StateSet states = new StateSet(nextLineOrThrow("Found end of file before finding the set of states"));
+			InputAlphabet inputAlphabet = new InputAlphabet(
+					nextLineOrThrow("Found end of file before finding the input alphabet"));
+			StackAlphabet stackAlphabet = new StackAlphabet(
+					nextLineOrThrow("Found end of file before finding the stack alphabet"));
+
+			List<String> startingState = nextLineOrThrow("Found end of file before finding the starting state");
+			if (startingState.size() != 1) {
+				throw new IOException(
+						"Invalid number of starting states, expected 1 but found " + startingState.size());
+			}
+			List<String> initialStackTop = nextLineOrThrow("Found end of file before finding the initial stack top");
+			if (initialStackTop.size() != 1) {
+				throw new IOException(
+						"Invalid number of initial stack top, expected 1 but found " + initialStackTop.size());
+			}
+
+			TransitionFunction transitionFunction = new TransitionFunction();
+			long numberOfTransitions = parseTransitions(transitionFunction, states, inputAlphabet, stackAlphabet);
+			event.commit(states.size(), inputAlphabet.size(), stackAlphabet.size(), numberOfTransitions);
+
+			pdaDefinition = new EmptyStackPdaDefinition(states, inputAlphabet, stackAlphabet,
+					states.getSymbol(startingState.get(0)), stackAlphabet.getSymbol(initialStackTop.get(0)),
+					transitionFunction);
+		} finally {
+			input = null;
+			buffer = null;
+			line = null;
+		}
+	}
+
+	/** Returns the PDA definition read */
+	public EmptyStackPdaDefinition getDefinition() {
+		return pdaDefinition;
+	}
+
+	/**
+	 * Puts every transition of the rest of the file in the given transition
+	 * function and returns how many there were
+	 */
+	private long parseTransitions(TransitionFunction transitionFunction, StateSet states, InputAlphabet inputAlphabet,
+			StackAlphabet stackAlphabet) throws IOException, SymbolNotFoundInSetException, IllegalArgumentException {
+		SymbolNameTable<State> stateNames = new SymbolNameTable<>(states);
+		SymbolNameTable<InputAlphabetSymbol> inputNames = new SymbolNameTable<>(inputAlphabet);
+		SymbolNameTable<StackAlphabetSymbol> stackNames = new SymbolNameTable<>(stackAlphabet);
+
+		// The optional input symbols are created once
+		List<Optional<InputAlphabetSymbol>> inputSymbols = new ArrayList<>();
+		for (InputAlphabetSymbol symbol : inputAlphabet.getSymbols()) {
+			inputSymbols.add(Optional.of(symbol));
+		}
+
+		long numberOfTransitions = 0;
+		while (nextLine()) {
+			if (numberOfTokens < 4) {
+				throw new IllegalArgumentException("Not enough elements in the transition (" + lineAsString() + ")");
+			}
+			if (numberOfTokens == 4) {
+				throw new IllegalArgumentException(
+						"No stack symbols nor empty string found in transition (" + lineAsString() + ")");
+			}
+
+			State state = lookUp(stateNames, 0);
+			Optional<InputAlphabetSymbol> inputSymbol = isEmptyString(1) ? Optional.empty()
+					: inputSymbols.get(lookUp(inputNames, 1).getId());
+			StackAlphabetSymbol stackTop = lookUp(stackNames, 2);
+			State nextState = lookUp(stateNames, 3);
+
+			List<StackAlphabetSymbol> symbolsToPush;
+			if (numberOfTokens == 5 && isEmptyString(4)) {
+				symbolsToPush = Collections.emptyList();
+			} else {
+				symbolsToPush = new ArrayList<>(numberOfTokens - 4);
+				for (int token = 4; token < numberOfTokens; ++token) {
+					symbolsToPush.add(lookUp(stackNames, token));
+				}
+			}
+
+			transitionFunction.put(state, stackTop, inputSymbol, nextState, symbolsToPush);
+			numberOfTransitions += 1;
+		}
+		return numberOfTransitions;
+	}
+
+	/** Returns the symbol named by the given token of the current line, throws if none */
+	private <T extends Symbol> T lookUp(SymbolNameTable<T> names, int token) throws SymbolNotFoundInSetException {
+		T symbol = names.get(line, tokenStarts[token], tokenEnds[token]);
+		if (symbol == null) {
+			throw new SymbolNotFoundInSetException(tokenAsString(token) + " (line " + lineNumber + ")");
+		}
+		return symbol;
+	}
+
+	/** Returns whether the given token of the current line is the empty string representation */
+	private boolean isEmptyString(int token) {
+		return tokenEnds[token] - tokenStarts[token] == 1
+				&& line[tokenStarts[token]] == Word.EMPTY_STRING_REPR.charAt(0);
+	}
+
+	/**
+	 * Returns the tokens of the next line with tokens as strings, only used for
+	 * the few lines before the transitions
+	 */
+	private List<String> nextLineOrThrow(String exceptionMessage) throws IOException {
+		if (!nextLine()) {
+			throw new IOException(exceptionMessage);
+		}
+		List<String> tokens = new ArrayList<>(numberOfTokens);
+		for (int token = 0; token < numberOfTokens; ++token) {
+			tokens.add(tokenAsString(token));
+		}
+		return tokens;
+	}
+
+	private String tokenAsString(int token) {
+		return new String(line, tokenStarts[token], tokenEnds[token] - tokenStarts[token], StandardCharsets.UTF_8);
+	}
+
+	private String lineAsString() {
+		List<String> tokens = new ArrayList<>(numberOfTokens);
+		for (int token = 0; token < numberOfTokens; ++token) {
+			tokens.add(tokenAsString(token));
+		}
+		return String.join(", ", tokens);
+	}
+
+	/**
+	 * Reads the tokens of the next line that has at least one token, ignoring
+	 * white spaces and comments
+	 *
+	 * @return False if the end of the file was reached before finding any token
+	 */
+	private boolean nextLine() throws IOException {
+		numberOfTokens = 0;
+		int lineSize = 0;
+		boolean inComment = false;
+		boolean inToken = false;
+
+		int value;
+		while ((value = read()) != -1 && !(value == '\n' && numberOfTokens > 0)) {
+			if (value == '\n') {
+				lineNumber += 1;
+				inComment = false;
+				inToken = false;
+				continue;
+			}
+			inComment = inComment || value == COMMENT_DELIMITER;
+			if (inComment || isWhitespace(value)) {
+				inToken = false;
+				continue;
+			}
+
+			if (!inToken) {
+				if (numberOfTokens == tokenStarts.length) {
+					tokenStarts = Arrays.copyOf(tokenStarts, 2 * numberOfTokens);
+					tokenEnds = Arrays.copyOf(tokenEnds, 2 * numberOfTokens);
+				}
+				tokenStarts[numberOfTokens++] = lineSize;
+				inToken = true;
+			}
+			if (lineSize == line.length) {
+				line = Arrays.copyOf(line, 2 * lineSize);
+			}
+			line[lineSize++] = (byte) value;
+			tokenEnds[numberOfTokens - 1] = lineSize;
+		}
+		lineNumber += 1;
+
+		return numberOfTokens > 0;
+	}
+
+	/** Returns the next byte of the file, -1 at the end */
+	private int read() throws IOException {
+		if (bufferPosition == bufferLimit) {
+			bufferLimit = input.read(buffer);
+			bufferPosition = 0;
+			if (bufferLimit <= 0) {
+				bufferLimit = 0;
+				return -1;
+			}
+		}
+		return buffer[bufferPosition++] & 0xFF;
+	}
+
+	private static boolean isWhitespace(int value) {
+		return value == ' ' || value == '\t' || value == '\r' || value == '\f' || value == 0x0B;
+	}
+
+}
@@ -0,0 +1,80 @@
+package me.carlosdg.pda.config.readers;
+
+import java.nio.charset.StandardCharsets;
+
+import me.carlosdg.pda.sets.SymbolSet;
+import me.carlosdg.pda.symbols.Symbol;
+
+/**
+ * Lookup of the symbols of a set by the UTF-8 bytes of their names, so the
+ * names read from a file can be resolved without creating a String for each
+ * one. Open addressing hash table with linear probing
+ *
+ * @author Carlos Domínguez García
+ */
+class SymbolNameTable<T extends Symbol> {
+
+	/** UTF-8 names of the symbols of each slot, null if the slot is free */
+	private final byte[][] names;
+	/** Hash of the name of each slot */
+	private final int[] hashes;
+	/** Symbol of each slot */
+	private final Object[] symbols;
+	/** Mask to turn hashes into slots */
+	private final int mask;
+
+	/** Creates the table of the symbols of the given set */
+	SymbolNameTable(SymbolSet<T> set) {
+		int capacity = Integer.highestOneBit(Math.max(2, set.size()) * 2 - 1) << 1;
+		names = new byte[capacity][];
+		hashes = new int[capacity];
+		symbols = new Object[capacity];
+		mask = capacity - 1;
+
+		for (T symbol : set.getSymbols()) {
+			byte[] name = symbol.getRepresentation().getBytes(StandardCharsets.UTF_8);
+			int hash = hash(name, 0, name.length);
+			int slot = hash & mask;
+			while (names[slot] != null) {
+				slot = (slot + 1) & mask;
+			}
+			names[slot] = name;
+			hashes[slot] = hash;
+			symbols[slot] = symbol;
+		}
+	}
+
+	/** Returns the symbol named by the given bytes, null if there is none */
+	@SuppressWarnings("unchecked")
+	T get(byte[] bytes, int start, int end) {
+		int hash = hash(bytes, start, end);
+		for (int slot = hash & mask; names[slot] != null; slot = (slot + 1) & mask) {
+			if (hashes[slot] == hash && isName(names[slot], bytes, start, end)) {
+				return (T) symbols[slot];
+			}
+		}
+		return null;
+	}
+
+	/** Returns whether the given name is the same as the given bytes */
+	private static boolean isName(byte[] name, byte[] bytes, int start, int end) {
+		if (name.length != end - start) {
+			return false;
+		}
+		for (int i = 0; i < name.length; ++i) {
+			if (name[i] != bytes[start + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int hash(byte[] bytes, int start, int end) {
+		int hash = 1;
+		for (int i = start; i < end; ++i) {
+			hash = 31 * hash + bytes[i];
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+}
@@ -0,0 +1,273 @@
+package me.carlosdg.pda.definition;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import me.carlosdg.pda.jfr.DefinitionLoadingEvent;
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.sets.StateSet;
+import me.carlosdg.pda.sets.SymbolSet;
+import me.carlosdg.pda.sets.exceptions.DuplicatedStringInSetException;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.State;
+import me.carlosdg.pda.symbols.Symbol;
+import me.carlosdg.pda.transition_function.StateStackSymbolsPair;
+import me.carlosdg.pda.transition_function.TransitionTable;
+
+/**
+ * Compact binary file of a compiled PDA definition, so big automata don't have
+ * to be parsed and analyzed again each time they are used. The file holds the
+ * sets, the transition table and the analysis results. It is read through a
+ * memory mapping and the moves are rebuilt straight from the ids, without
+ * parsing any transition.
+ *
+ * All the numbers are big-endian ints and the names are length-prefixed UTF-8
+ * bytes. The layout is:
+ *
+ * <pre>
+ * magic, version
+ * states, input alphabet, stack alphabet: count and the names
+ * initial state id, initial stack top id
+ * deterministic (one byte), counter stack symbol id or -1
+ * push sequences: count, start of each one plus the end, stack symbol ids
+ * moves: count, (next state id, push sequence) of each one
+ * entries: start of the moves of each entry plus the end
+ * </pre>
+ *
+ * The entries are in the order of TransitionTable#getEntryIndex
+ *
+ * @author Carlos Domínguez García
+ */
+public final class BinaryDefinitionFile {
+
+	/** First bytes of the files, "PDAC" */
+	private static final int MAGIC = 0x50444143;
+	/** Version of the layout, to be increased on any change */
+	public static final int VERSION = 1;
+
+	private BinaryDefinitionFile() {
+	}
+
+	/**
+	 * Writes the given definition to the given file, replacing it if it exists
+	 *
+	 * @throws IOException If the file cannot be written
+	 */
+	public static void write(EmptyStackPdaDefinition pdaDefinition, Path filePath) throws IOException {
+		StateSet states = pdaDefinition.getSetOfStates();
+		InputAlphabet inputAlphabet = pdaDefinition.getInputAlphabet();
+		StackAlphabet stackAlphabet = pdaDefinition.getStackAlphabet();
+		TransitionTable transitionTable = pdaDefinition.getTransitionTable();
+
+		// Every distinct sequence of pushed symbols and every move are written once
+		Map<List<StackAlphabetSymbol>, Integer> sequenceIds = new HashMap<>();
+		List<List<StackAlphabetSymbol>> sequences = new ArrayList<>();
+		List<StateStackSymbolsPair> moves = new ArrayList<>();
+		int[] entryStarts = new int[transitionTable.getNumberOfEntries() + 1];
+		int entry = 0;
+		for (int state = 0; state < states.size(); ++state) {
+			for (int stackTop = 0; stackTop < stackAlphabet.size(); ++stackTop) {
+				for (int input = 0; input <= transitionTable.getEpsilonId(); ++input) {
+					entryStarts[entry++] = moves.size();
+					for (StateStackSymbolsPair pair : transitionTable.get(state, stackTop, input)) {
+						if (!sequenceIds.containsKey(pair.getSymbols())) {
+							sequenceIds.put(pair.getSymbols(), sequences.size());
+							sequences.add(pair.getSymbols());
+						}
+						moves.add(pair);
+					}
+				}
+			}
+		}
+		entryStarts[entry] = moves.size();
+
+		try (DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(filePath), 1 << 16))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+
+			writeNames(output, states);
+			writeNames(output, inputAlphabet);
+			writeNames(output, stackAlphabet);
+			output.writeInt(pdaDefinition.getInitialState().getId());
+			output.writeInt(pdaDefinition.getInitialStackTop().getId());
+
+			output.writeByte(pdaDefinition.isDeterministic() ? 1 : 0);
+			Optional<StackAlphabetSymbol> maybeCounterSymbol = pdaDefinition.getCounterStackSymbol();
+			output.writeInt(maybeCounterSymbol.isPresent() ? maybeCounterSymbol.get().getId() : -1);
+
+			output.writeInt(sequences.size());
+			int sequenceStart = 0;
+			for (List<StackAlphabetSymbol> sequence : sequences) {
+				output.writeInt(sequenceStart);
+				sequenceStart += sequence.size();
+			}
+			output.writeInt(sequenceStart);
+			for (List<StackAlphabetSymbol> sequence : sequences) {
+				for (StackAlphabetSymbol symbol : sequence) {
+					output.writeInt(symbol.getId());
+				}
+			}
+
+			output.writeInt(moves.size());
+			for (StateStackSymbolsPair pair : moves) {
+				output.writeInt(pair.getState().getId());
+				output.writeInt(sequenceIds.get(pair.getSymbols()));
+			}
+
+			for (int start : entryStarts) {
+				output.writeInt(start);
+			}
+		}
+	}
+
+	/**
+	 * Loads the definition of the given file
+	 *
+	 * @throws IOException If the file cannot be read, is not a compiled automaton
+	 *                     of this version or is corrupted
+	 */
+	public static EmptyStackPdaDefinition read(Path filePath) throws IOException {
+		DefinitionLoadingEvent event = new DefinitionLoadingEvent(DefinitionLoadingEvent.LOAD_COMPILED,
+				filePath.toString());
+		event.begin();
+		ByteBuffer contents;
+		try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Compiled automaton file too big (" + channel.size() + " bytes): " + filePath);
+			}
+			contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		try {
+			if (contents.remaining() < 8 || contents.getInt() != MAGIC) {
+				throw new IOException("Not a compiled automaton file: " + filePath);
+			}
+			int version = contents.getInt();
+			if (version != VERSION) {
+				throw new IOException(
+						"Unsupported compiled automaton version " + version + " (expected " + VERSION + "): " + filePath);
+			}
+			EmptyStackPdaDefinition pdaDefinition = readDefinition(contents);
+			event.commit(pdaDefinition.getSetOfStates().size(), pdaDefinition.getInputAlphabet().size(),
+					pdaDefinition.getStackAlphabet().size(), pdaDefinition.getTransitionTable().getNumberOfMoves());
+			return pdaDefinition;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+				| DuplicatedStringInSetException e) {
+			throw new IOException("Corrupted compiled automaton file: " + filePath, e);
+		}
+	}
+
+	/** Reads the definition after the magic and the version */
+	private static EmptyStackPdaDefinition readDefinition(ByteBuffer contents)
+			throws DuplicatedStringInSetException, IndexOutOfBoundsException, IllegalArgumentException {
+		StateSet states = new StateSet(readNames(contents));
+		InputAlphabet inputAlphabet = new InputAlphabet(readNames(contents));
+		StackAlphabet stackAlphabet = new StackAlphabet(readNames(contents));
+		State initialState = states.getSymbol(contents.getInt());
+		StackAlphabetSymbol initialStackTop = stackAlphabet.getSymbol(contents.getInt());
+
+		boolean deterministic = contents.get() != 0;
+		int counterSymbolId = contents.getInt();
+		Optional<StackAlphabetSymbol> maybeCounterSymbol = counterSymbolId == -1 ? Optional.empty()
+				: Optional.of(stackAlphabet.getSymbol(counterSymbolId));
+
+		// Push sequences
+		int numberOfSequences = readCount(contents);
+		int[] sequenceStarts = readInts(contents, numberOfSequences + 1);
+		int[] sequenceSymbols = readInts(contents, sequenceStarts[numberOfSequences]);
+		List<List<StackAlphabetSymbol>> sequences = new ArrayList<>(numberOfSequences);
+		for (int i = 0; i < numberOfSequences; ++i) {
+			int size = sequenceStarts[i + 1] - sequenceStarts[i];
+			if (size == 0) {
+				sequences.add(Collections.emptyList());
+				continue;
+			}
+			List<StackAlphabetSymbol> sequence = new ArrayList<>(size);
+			for (int j = sequenceStarts[i]; j < sequenceStarts[i + 1]; ++j) {
+				sequence.add(stackAlphabet.getSymbol(sequenceSymbols[j]));
+			}
+			sequences.add(sequence);
+		}
+
+		// Moves
+		int numberOfMoves = readCount(contents);
+		StateStackSymbolsPair[] moves = new StateStackSymbolsPair[numberOfMoves];
+		for (int i = 0; i < numberOfMoves; ++i) {
+			State nextState = states.getSymbol(contents.getInt());
+			moves[i] = new StateStackSymbolsPair(nextState, sequences.get(contents.getInt()));
+		}
+
+		// Entries
+		int numberOfEntries = TransitionTable.numberOfEntries(states, stackAlphabet, inputAlphabet);
+		int[] entryStarts = readInts(contents, numberOfEntries + 1);
+		StateStackSymbolsPair[][] entries = new StateStackSymbolsPair[numberOfEntries][];
+		for (int entry = 0; entry < numberOfEntries; ++entry) {
+			int size = entryStarts[entry + 1] - entryStarts[entry];
+			if (size < 0) {
+				throw new IllegalArgumentException("Invalid moves of entry " + entry);
+			}
+			entries[entry] = new StateStackSymbolsPair[size];
+			System.arraycopy(moves, entryStarts[entry], entries[entry], 0, size);
+		}
+
+		TransitionTable transitionTable = TransitionTable.of(states, stackAlphabet, inputAlphabet, entries);
+		return new EmptyStackPdaDefinition(states, inputAlphabet, stackAlphabet, initialState, initialStackTop,
+				transitionTable, deterministic, maybeCounterSymbol);
+	}
+
+	private static void writeNames(DataOutputStream output, SymbolSet<? extends Symbol> set) throws IOException {
+		output.writeInt(set.size());
+		for (Symbol symbol : set.getSymbols()) {
+			byte[] name = symbol.getRepresentation().getBytes(StandardCharsets.UTF_8);
+			output.writeInt(name.length);
+			output.write(name);
+		}
+	}
+
+	private static List<String> readNames(ByteBuffer contents) {
+		int count = readCount(contents);
+		List<String> names = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i) {
+			byte[] name = new byte[readCount(contents)];
+			contents.get(name);
+			names.add(new String(name, StandardCharsets.UTF_8));
+		}
+		return names;
+	}
+
+	private static int[] readInts(ByteBuffer contents, int count) {
+		if (count < 0 || count > contents.remaining() / 4) {
+			throw new BufferUnderflowException();
+		}
+		int[] values = new int[count];
+		contents.asIntBuffer().get(values);
+		contents.position(contents.position() + 4 * count);
+		return values;
+	}
+
+	/** Reads a count, which can't be bigger than the bytes left */
+	private static int readCount(ByteBuffer contents) {
+		int count = contents.getInt();
+		if (count < 0 || count > contents.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,167 @@
+package me.carlosdg.pda.definition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import me.carlosdg.pda.config.readers.StreamingEmptyStackPdaFileReader;
+
+/**
+ * Directory of compiled automata (see {@link BinaryDefinitionFile}) keyed by
+ * the SHA-256 of the contents of their configuration files. Loading a
+ * configuration file that was already compiled only hashes it and maps its
+ * compiled file, otherwise it is parsed and its compiled file is written for
+ * the next time. Editing the configuration file changes its hash, so stale
+ * compiled files are never used.
+ *
+ * The directory is created accessible only by its owner, and a directory owned
+ * by other user is not used at all (the configuration files are just parsed),
+ * so nobody else can plant compiled files
+ *
+ * @author Carlos Domínguez García
+ */
+public class CompiledDefinitionCache {
+
+	/** Environment variable with the directory of the cache */
+	public static final String DIRECTORY_ENVIRONMENT_VARIABLE = "PDA_CACHE_DIR";
+	/** Environment variable with the base directory of the caches of the user */
+	private static final String XDG_CACHE_HOME = "XDG_CACHE_HOME";
+	/** Name of the default directory inside the base directory of the caches */
+	private static final String DEFAULT_DIRECTORY_NAME = "pda-simulator";
+	/** Extension of the compiled files */
+	private static final String EXTENSION = ".pdac";
+
+	/** Directory of the compiled files */
+	private final Path directory;
+
+	/** Creates a cache on the given directory, which is created when needed */
+	public CompiledDefinitionCache(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Creates a cache on the directory of the PDA_CACHE_DIR environment variable,
+	 * or on pda-simulator in the caches of the user ($XDG_CACHE_HOME, or ~/.cache
+	 * if it is not set) otherwise
+	 */
+	public static CompiledDefinitionCache fromEnvironment() {
+		String directory = System.getenv(DIRECTORY_ENVIRONMENT_VARIABLE);
+		if (directory != null && !directory.isEmpty()) {
+			return new CompiledDefinitionCache(Paths.get(directory));
+		}
+		String cacheHome = System.getenv(XDG_CACHE_HOME);
+		if (cacheHome != null && Paths.get(cacheHome).isAbsolute()) {
+			return new CompiledDefinitionCache(Paths.get(cacheHome, DEFAULT_DIRECTORY_NAME));
+		}
+		return new CompiledDefinitionCache(Paths.get(System.getProperty("user.home"), ".cache", DEFAULT_DIRECTORY_NAME));
+	}
+
+	/**
+	 * Returns the definition of the given configuration file, from its compiled
+	 * file if there is one. Compiled files that cannot be read are replaced, and
+	 * failing to write a compiled file doesn't prevent the definition from being
+	 * returned. If the directory belongs to other user the configuration file is
+	 * parsed without using the cache
+	 *
+	 * @throws Exception Anything thrown by {@link StreamingEmptyStackPdaFileReader}
+	 */
+	public EmptyStackPdaDefinition load(String configurationFilePath) throws Exception {
+		if (!isOwnDirectory()) {
+			return new StreamingEmptyStackPdaFileReader(configurationFilePath).getDefinition();
+		}
+
+		Path compiledFile = getCompiledFile(configurationFilePath);
+		if (Files.isRegularFile(compiledFile)) {
+			try {
+				return BinaryDefinitionFile.read(compiledFile);
+			} catch (IOException e) {
+				// Corrupted or from other version, compiled again below
+			}
+		}
+
+		EmptyStackPdaDefinition pdaDefinition = new StreamingEmptyStackPdaFileReader(configurationFilePath)
+				.getDefinition();
+		try {
+			store(pdaDefinition, compiledFile);
+		} catch (IOException e) {
+			// The cache is only an optimization
+		}
+		return pdaDefinition;
+	}
+
+	/** Returns the compiled file of the given configuration file, it may not exist */
+	public Path getCompiledFile(String configurationFilePath) throws IOException {
+		return directory.resolve(hash(Paths.get(configurationFilePath)) + EXTENSION);
+	}
+
+	/**
+	 * Writes the compiled file through a temporary file that is moved at the end,
+	 * so other processes never see half-written files
+	 */
+	private void store(EmptyStackPdaDefinition pdaDefinition, Path compiledFile) throws IOException {
+		Path temporaryFile = Files.createTempFile(directory, "compiling", EXTENSION);
+		try {
+			BinaryDefinitionFile.write(pdaDefinition, temporaryFile);
+			Files.move(temporaryFile, compiledFile, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	/**
+	 * Returns whether the directory belongs to the current user, creating it
+	 * accessible only by its owner (where the file system supports POSIX
+	 * permissions) if it doesn't exist
+	 */
+	private boolean isOwnDirectory() {
+		try {
+			if (!Files.exists(directory)) {
+				if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+					Files.createDirectories(directory,
+							PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+				} else {
+					Files.createDirectories(directory);
+				}
+			}
+			UserPrincipal currentUser = directory.getFileSystem().getUserPrincipalLookupService()
+					.lookupPrincipalByName(System.getProperty("user.name"));
+			return Files.isDirectory(directory) && Files.getOwner(directory).equals(currentUser);
+		} catch (IOException | UnsupportedOperationException e) {
+			// Unknown owner, not trusted
+			return false;
+		}
+	}
+
+	/** Returns the SHA-256 of the contents of the given file in hexadecimal */
+	private static String hash(Path filePath) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+
+		byte[] buffer = new byte[1 << 16];
+		try (InputStream input = Files.newInputStream(filePath)) {
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+
+		StringBuilder hex = new StringBuilder();
+		for (byte value : digest.digest()) {
+			hex.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 
 import me.carlosdg.pda.config.PdaConfiguration;
+import me.carlosdg.pda.jfr.DefinitionLoadingEvent;
 import me.carlosdg.pda.sets.InputAlphabet;
 import me.carlosdg.pda.sets.StackAlphabet;
 import me.carlosdg.pda.sets.StateSet;
@@ -13,8 +14,11 @@ import me.carlosdg.pda.sets.exceptions.SymbolNotFoundInSetException;
 import me.carlosdg.pda.symbols.InputAlphabetSymbol;
 import me.carlosdg.pda.symbols.StackAlphabetSymbol;
 import me.carlosdg.pda.symbols.State;
+import me.carlosdg.pda.transition_function.TransitionDescriptions;
 import me.carlosdg.pda.transition_function.TransitionFunction;
+import me.carlosdg.pda.transition_function.TransitionTable;
 import me.carlosdg.pda.word.Word;
+import me.carlosdg.pda.word.WordEncoder;
 
 /**
  * Class representing an Empty Stack PDA definition, that is the PDA raw
@@ -37,6 +41,16 @@ public class EmptyStackPdaDefinition {
 	private StackAlphabetSymbol initialStackTop;
 	/** Transition function of the PDA */
 	private TransitionFunction transitionFunction;
+	/** Transition function compiled into a table indexed by ids */
+	private TransitionTable transitionTable;
+	/** Whether the PDA is deterministic, analyzed once the transitions are parsed */
+	private boolean deterministic;
+	/** Symbol that the stack counts, if the stack is a counter */
+	private Optional<StackAlphabetSymbol> maybeCounterStackSymbol;
+	/** Encoder of the words of the input alphabet */
+	private WordEncoder wordEncoder;
+	/** Text of the transitions, created when first needed */
+	private TransitionDescriptions transitionDescriptions;
 
 	/**
 	 * Parses the given raw PDA configuration to initialize all the elements that an
@@ -46,6 +60,9 @@ public class EmptyStackPdaDefinition {
 	 */
 	public EmptyStackPdaDefinition(PdaConfiguration configuration)
 			throws DuplicatedStringInSetException, SymbolNotFoundInSetException {
+		DefinitionLoadingEvent event = new DefinitionLoadingEvent(DefinitionLoadingEvent.VALIDATE, null);
+		event.begin();
+
 		// Parse the sets making sure that there are no duplicates. And
 		// check that the starting state and stack top belong to their respective set
 		stateSet = new StateSet(configuration.getStateNames());
@@ -59,6 +76,64 @@ public class EmptyStackPdaDefinition {
 		for (List<String> rawTransition : configuration.getTransitions()) {
 			parseAndAddTransition(transitionFunction, rawTransition);
 		}
+		event.commit(stateSet.size(), inputAlphabet.size(), stackAlphabet.size(), configuration.getTransitions().size());
+
+		analyzeAndCompile();
+	}
+
+	/**
+	 * Creates the definition from already parsed elements, used by readers that
+	 * parse the transitions themselves. Throws if the initial state, the stack
+	 * top or any state or symbol of the transitions don't belong to their
+	 * respective set
+	 */
+	public EmptyStackPdaDefinition(StateSet stateSet, InputAlphabet inputAlphabet, StackAlphabet stackAlphabet,
+			State initialState, StackAlphabetSymbol initialStackTop, TransitionFunction transitionFunction)
+			throws IllegalArgumentException {
+		if (initialState.getSet() != stateSet || initialStackTop.getSet() != stackAlphabet) {
+			throw new IllegalArgumentException("The initial state and stack top must belong to the given sets");
+		}
+		if (!transitionFunction.isDefinedOver(stateSet, stackAlphabet, inputAlphabet)) {
+			throw new IllegalArgumentException("The transitions must only use states and symbols of the given sets");
+		}
+		this.stateSet = stateSet;
+		this.inputAlphabet = inputAlphabet;
+		this.stackAlphabet = stackAlphabet;
+		this.initialState = initialState;
+		this.initialStackTop = initialStackTop;
+		this.transitionFunction = transitionFunction;
+
+		analyzeAndCompile();
+	}
+
+	/**
+	 * Creates the definition from an already compiled transition table and its
+	 * analysis, used to load compiled automata (see {@link BinaryDefinitionFile}).
+	 * The transition function is only rebuilt from the table if it is asked for
+	 */
+	EmptyStackPdaDefinition(StateSet stateSet, InputAlphabet inputAlphabet, StackAlphabet stackAlphabet,
+			State initialState, StackAlphabetSymbol initialStackTop, TransitionTable transitionTable,
+			boolean deterministic, Optional<StackAlphabetSymbol> maybeCounterStackSymbol) {
+		this.stateSet = stateSet;
+		this.inputAlphabet = inputAlphabet;
+		this.stackAlphabet = stackAlphabet;
+		this.initialState = initialState;
+		this.initialStackTop = initialStackTop;
+		this.transitionTable = transitionTable;
+		this.deterministic = deterministic;
+		this.maybeCounterStackSymbol = maybeCounterStackSymbol;
+		this.wordEncoder = new WordEncoder(inputAlphabet);
+	}
+
+	/** Analyzes and compiles the transitions */
+	private void analyzeAndCompile() {
+		DefinitionLoadingEvent event = new DefinitionLoadingEvent(DefinitionLoadingEvent.COMPILE, null);
+		event.begin();
+		deterministic = transitionFunction.isDeterministic();
+		maybeCounterStackSymbol = transitionFunction.findCounterSymbol(initialStackTop);
+		transitionTable = transitionFunction.compile(stateSet, stackAlphabet, inputAlphabet);
+		wordEncoder = new WordEncoder(inputAlphabet);
+		event.commit(stateSet.size(), inputAlphabet.size(), stackAlphabet.size(), transitionTable.getNumberOfMoves());
 	}
 
 	/**
@@ -150,8 +225,49 @@ public class EmptyStackPdaDefinition {
 		return initialStackTop;
 	}
 
-	public TransitionFunction getTransitionFunction() {
+	/**
+	 * Returns the transition function, for loaded definitions it is rebuilt from
+	 * the transition table the first time it is asked for
+	 */
+	public synchronized TransitionFunction getTransitionFunction() {
+		if (transitionFunction == null) {
+			transitionFunction = transitionTable.toTransitionFunction(stateSet, stackAlphabet, inputAlphabet);
+		}
 		return transitionFunction;
 	}
 
+	public TransitionTable getTransitionTable() {
+		return transitionTable;
+	}
+
+	/** Returns the text of the transitions of the transition table, shared by every run */
+	public synchronized TransitionDescriptions getTransitionDescriptions() {
+		if (transitionDescriptions == null) {
+			transitionDescriptions = new TransitionDescriptions(stateSet, stackAlphabet, inputAlphabet,
+					transitionTable);
+		}
+		return transitionDescriptions;
+	}
+
+	/** Returns the encoder of words into ids of the input alphabet */
+	public WordEncoder getWordEncoder() {
+		return wordEncoder;
+	}
+
+	/**
+	 * Returns whether the PDA is deterministic, that is, whether at most one
+	 * transition can be applied in any configuration
+	 */
+	public boolean isDeterministic() {
+		return deterministic;
+	}
+
+	/**
+	 * Returns the symbol counted by the stack if the stack can only hold copies of
+	 * it above the initial stack top, see TransitionFunction#findCounterSymbol
+	 */
+	public Optional<StackAlphabetSymbol> getCounterStackSymbol() {
+		return maybeCounterStackSymbol;
+	}
+
 }
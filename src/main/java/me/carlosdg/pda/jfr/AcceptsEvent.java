@@ -0,0 +1,43 @@
+package me.carlosdg.pda.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event of a word being checked by a simulator. Only the
+ * words that take at least a millisecond are recorded by default, the
+ * threshold can be changed in the recording settings
+ *
+ * @author Carlos Domínguez García
+ */
+@Name("me.carlosdg.pda.Accepts")
+@Label("Word Checked")
+@Category({ "PDA Simulator", "Simulation" })
+@Description("A word checked by a simulator")
+@Threshold("1 ms")
+public final class AcceptsEvent extends Event {
+
+	@Label("Simulator")
+	public String simulator;
+
+	@Label("Word Length")
+	public long wordLength;
+
+	@Label("Accepted")
+	public boolean accepted;
+
+	@Label("Steps")
+	@Description("Configurations explored")
+	public long steps;
+
+	@Label("Backtracks")
+	public long backtracks;
+
+	@Label("Peak Stack Height")
+	public int peakStackHeight;
+
+}
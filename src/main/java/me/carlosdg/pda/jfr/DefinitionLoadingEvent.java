@@ -0,0 +1,67 @@
+package me.carlosdg.pda.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event of a phase of the loading of an automaton: parsing
+ * its file, validating its configuration, compiling its transitions or loading
+ * its compiled file
+ *
+ * @author Carlos Domínguez García
+ */
+@Name("me.carlosdg.pda.DefinitionLoading")
+@Label("Automaton Loading")
+@Category({ "PDA Simulator", "Loading" })
+@Description("A phase of the loading of an automaton")
+public final class DefinitionLoadingEvent extends Event {
+
+	/** Reading the configuration file */
+	public static final String PARSE = "parse";
+	/** Checking the configuration and building the transition function */
+	public static final String VALIDATE = "validate";
+	/** Analyzing the transition function and compiling it into a table */
+	public static final String COMPILE = "compile";
+	/** Reading a compiled automaton file */
+	public static final String LOAD_COMPILED = "load compiled";
+
+	@Label("Phase")
+	public String phase;
+
+	@Label("Source")
+	@Description("File being loaded, if any")
+	public String source;
+
+	@Label("States")
+	public int states;
+
+	@Label("Input Symbols")
+	public int inputSymbols;
+
+	@Label("Stack Symbols")
+	public int stackSymbols;
+
+	@Label("Transitions")
+	public long transitions;
+
+	/** Creates the event of the given phase of the given file, null if none */
+	public DefinitionLoadingEvent(String phase, String source) {
+		this.phase = phase;
+		this.source = source;
+	}
+
+	/** Commits the event with the sizes of the loaded automaton, if it is enabled */
+	public void commit(int states, int inputSymbols, int stackSymbols, long transitions) {
+		if (shouldCommit()) {
+			this.states = states;
+			this.inputSymbols = inputSymbols;
+			this.stackSymbols = stackSymbols;
+			this.transitions = transitions;
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,46 @@
+package me.carlosdg.pda.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event of a configuration explored by a simulator. Only
+ * one of every {@link #SAMPLING} steps is recorded, and the event is disabled
+ * unless the recording settings enable it
+ *
+ * @author Carlos Domínguez García
+ */
+@Name("me.carlosdg.pda.StepSample")
+@Label("Simulation Step Sample")
+@Category({ "PDA Simulator", "Simulation" })
+@Description("A sampled configuration explored by a simulator")
+@Enabled(false)
+@StackTrace(false)
+public final class StepSampleEvent extends Event {
+
+	/**
+	 * Number of steps of each sample, from the me.carlosdg.pda.jfr.stepSampling
+	 * system property, 1024 by default
+	 */
+	public static final int SAMPLING = Math.max(1, Integer.getInteger("me.carlosdg.pda.jfr.stepSampling", 1024));
+
+	@Label("Step")
+	@Description("Number of the step in its run")
+	public long step;
+
+	@Label("State")
+	@Description("Id of the state")
+	public int state;
+
+	@Label("Tape Position")
+	public long tapePosition;
+
+	@Label("Stack Height")
+	public int stackHeight;
+
+}
@@ -17,8 +17,8 @@ public class InputAlphabet extends SymbolSet<InputAlphabetSymbol> {
 	}
 
 	@Override
-	protected InputAlphabetSymbol newSymbol(String representation) {
-		return new InputAlphabetSymbol(representation);
+	protected InputAlphabetSymbol newSymbol(String representation, int id) {
+		return new InputAlphabetSymbol(representation, id, this);
 	}
 
 }
@@ -17,8 +17,8 @@ public class StackAlphabet extends SymbolSet<StackAlphabetSymbol> {
 	}
 
 	@Override
-	protected StackAlphabetSymbol newSymbol(String representation) {
-		return new StackAlphabetSymbol(representation);
+	protected StackAlphabetSymbol newSymbol(String representation, int id) {
+		return new StackAlphabetSymbol(representation, id, this);
 	}
 
 }
@@ -17,8 +17,8 @@ public class StateSet extends SymbolSet<State> {
 	}
 
 	@Override
-	protected State newSymbol(String representation) {
-		return new State(representation);
+	protected State newSymbol(String representation, int id) {
+		return new State(representation, id, this);
 	}
 
 }
@@ -1,7 +1,10 @@
 package me.carlosdg.pda.sets;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import me.carlosdg.pda.sets.exceptions.DuplicatedStringInSetException;
@@ -10,14 +13,22 @@ import me.carlosdg.pda.symbols.Symbol;
 
 /**
  * Base class for symbol sets. It is used as a set of symbols and a verifier to
- * know if a given string represents a symbol in the set or not
+ * know if a given string represents a symbol in the set or not. The set creates
+ * a single instance per representation and gives each one a dense id (its
+ * position in the set), so symbols of the set can be compared by identity and
+ * used to index arrays
  *
  * @author Carlos Domínguez García
  */
 public abstract class SymbolSet<T extends Symbol> {
 
-	/** Map from string representation to symbols represented by the string */
-	protected Map<String, T> mapReprToSymbol = new HashMap<>();
+	/**
+	 * Map from string representation to symbols represented by the string. The
+	 * map keeps the order in which the symbols were given
+	 */
+	protected Map<String, T> mapReprToSymbol = new LinkedHashMap<>();
+	/** Symbols of the set indexed by their id */
+	private List<T> symbolsById = new ArrayList<>();
 
 	/**
 	 * Creates a set of symbols from the given collection of strings that represent
@@ -32,8 +43,11 @@ public abstract class SymbolSet<T extends Symbol> {
 				throw new DuplicatedStringInSetException(repr);
 			}
 
-			mapReprToSymbol.put(repr, newSymbol(repr));
+			T symbol = newSymbol(repr, symbolsById.size());
+			mapReprToSymbol.put(repr, symbol);
+			symbolsById.add(symbol);
 		}
+		symbolsById = Collections.unmodifiableList(symbolsById);
 	}
 
 	/**
@@ -53,12 +67,53 @@ public abstract class SymbolSet<T extends Symbol> {
 		return symbol;
 	}
 
+	/**
+	 * Returns the symbol with the given id
+	 *
+	 * @throws IndexOutOfBoundsException If there is no symbol with the given id
+	 */
+	public T getSymbol(int id) throws IndexOutOfBoundsException {
+		return symbolsById.get(id);
+	}
+
+	/**
+	 * Returns the id in this set of the given symbol (that may have been created
+	 * outside of the set) or Symbol.NO_ID if it is not in the set
+	 */
+	public int getId(Symbol symbol) {
+		if (symbol.getSet() == this) {
+			return symbol.getId();
+		}
+
+		T symbolOfSet = mapReprToSymbol.get(symbol.getRepresentation());
+		return symbolOfSet == null || !symbolOfSet.equals(symbol) ? Symbol.NO_ID : symbolOfSet.getId();
+	}
+
+	/**
+	 * Returns the id of the symbol represented by the given string or
+	 * Symbol.NO_ID if it doesn't represent any symbol in this set
+	 */
+	public int getId(String repr) {
+		T symbol = mapReprToSymbol.get(repr);
+		return symbol == null ? Symbol.NO_ID : symbol.getId();
+	}
+
 	/** Returns whether the given symbol is in the set or not */
 	public boolean has(Symbol symbol) {
-		return mapReprToSymbol.get(symbol.getRepresentation()) != null;
+		return symbol.getSet() == this || mapReprToSymbol.get(symbol.getRepresentation()) != null;
+	}
+
+	/** Returns the number of symbols in the set */
+	public int size() {
+		return mapReprToSymbol.size();
+	}
+
+	/** Returns the symbols of the set indexed by their id */
+	public List<T> getSymbols() {
+		return symbolsById;
 	}
 
-	/** Returns an instance of the symbols of this alphabet */
-	abstract protected T newSymbol(String representation);
+	/** Returns the instance of the symbols of this alphabet with the given id */
+	abstract protected T newSymbol(String representation, int id);
 
 }
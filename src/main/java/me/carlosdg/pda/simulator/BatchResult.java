@@ -0,0 +1,117 @@
+package me.carlosdg.pda.simulator;
+
+import java.util.BitSet;
+
+/**
+ * Results of checking a batch of words, in the order of the words: whether
+ * each one is accepted and, if requested, the time it took to check it and the
+ * statistics of its run
+ *
+ * @author Carlos Domínguez García
+ */
+public final class BatchResult {
+
+	/** Bit i is set if the word i is accepted */
+	private final BitSet accepted;
+	/** Number of words of the batch */
+	private final int size;
+	/** Nanoseconds spent on each word, null if they were not recorded */
+	private final long[] nanos;
+	/** Statistics of the run of each word, null if they were not collected */
+	private final RunStatistics[] statistics;
+
+	BatchResult(BitSet accepted, int size, long[] nanos, RunStatistics[] statistics) {
+		this.accepted = accepted;
+		this.size = size;
+		this.nanos = nanos;
+		this.statistics = statistics;
+	}
+
+	/** Returns the number of words of the batch */
+	public int size() {
+		return size;
+	}
+
+	/** Returns whether the word at the given position was accepted */
+	public boolean isAccepted(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		return accepted.get(index);
+	}
+
+	/** Returns a bitset with the bit i set if the word i was accepted */
+	public BitSet getAccepted() {
+		return (BitSet) accepted.clone();
+	}
+
+	/** Returns the number of accepted words */
+	public int getAcceptedCount() {
+		return accepted.cardinality();
+	}
+
+	/** Returns whether the time spent on each word was recorded */
+	public boolean hasTimings() {
+		return nanos != null;
+	}
+
+	/**
+	 * Returns the nanoseconds spent checking the word at the given position
+	 *
+	 * @throws IllegalStateException If the timings were not recorded
+	 */
+	public long getNanos(int index) throws IllegalStateException, IndexOutOfBoundsException {
+		if (nanos == null) {
+			throw new IllegalStateException("The timings of the batch were not recorded");
+		}
+		checkIndex(index);
+		return nanos[index];
+	}
+
+	/** Returns whether the statistics of the run of each word were collected */
+	public boolean hasStatistics() {
+		return statistics != null;
+	}
+
+	/**
+	 * Returns the statistics of the run of the word at the given position
+	 *
+	 * @throws IllegalStateException If the statistics were not collected
+	 */
+	public RunStatistics getStatistics(int index) throws IllegalStateException, IndexOutOfBoundsException {
+		checkStatistics();
+		checkIndex(index);
+		return statistics[index];
+	}
+
+	/**
+	 * Returns the statistics of all the runs of the batch, the times are the sum
+	 * of the times of the runs
+	 *
+	 * @throws IllegalStateException If the statistics were not collected
+	 */
+	public RunStatistics getTotalStatistics() throws IllegalStateException {
+		checkStatistics();
+		RunStatistics total = RunStatistics.NONE;
+		for (RunStatistics runStatistics : statistics) {
+			total = total.plus(runStatistics);
+		}
+		return total;
+	}
+
+	private void checkStatistics() throws IllegalStateException {
+		if (statistics == null) {
+			throw new IllegalStateException("The statistics of the batch were not collected");
+		}
+	}
+
+	private void checkIndex(int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Invalid index " + index + " for a batch of " + size + " words");
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getAcceptedCount() + " of " + size + " words accepted";
+	}
+
+}
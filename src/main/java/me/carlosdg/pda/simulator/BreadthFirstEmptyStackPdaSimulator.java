@@ -0,0 +1,288 @@
+package me.carlosdg.pda.simulator;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.State;
+import me.carlosdg.pda.transition_function.StateStackSymbolsPair;
+import me.carlosdg.pda.transition_function.TransitionTable;
+import me.carlosdg.pda.word.EncodedWord;
+import me.carlosdg.pda.word.Word;
+import me.carlosdg.pda.word.WordEncoder;
+
+/**
+ * Pushdown Automaton Simulator that, instead of backtracking, moves all the
+ * live configurations forward together one input symbol at a time. The stacks
+ * are kept in a graph-structured stack whose nodes are (state, stack top,
+ * position of the tape): what happens from a node until its stack top is
+ * popped does not depend on the symbols below it, so the node is explored once
+ * and the states and positions at which it pops (its summary) are handed to
+ * every configuration waiting for it, which are the edges to the nodes below.
+ *
+ * There are at most states * stack symbols nodes at each position of the tape,
+ * so the run takes polynomial time on the length of the word even when the
+ * number of distinct stacks grows exponentially, and epsilon moves that keep
+ * growing the stack (like p . S p S S) end up waiting on a node that already
+ * exists instead of looping forever.
+ *
+ * The input stops being read as soon as there are no live nodes left. Note that
+ * the spies are only notified of finished paths (the accepting one, or the
+ * death of the last configurations) because there is no single stack and input
+ * tape to show at each iteration
+ *
+ * @author Carlos Domínguez García
+ */
+public class BreadthFirstEmptyStackPdaSimulator implements PdaSimulator {
+
+	/** Transition table */
+	private TransitionTable transitionTable;
+	/** Initial state */
+	private State initialState;
+	/** Initial stack top */
+	private StackAlphabetSymbol initialStackTop;
+	/** Encoder of the input words into ids of the input alphabet */
+	private WordEncoder wordEncoder;
+	/** Number of nodes of the busiest position of the tape of the last run */
+	private int maxFrontierSize = 0;
+
+	/** Create the simulator from the PDA definition elements */
+	public BreadthFirstEmptyStackPdaSimulator(EmptyStackPdaDefinition pdaDefinition) {
+		transitionTable = pdaDefinition.getTransitionTable();
+		initialState = pdaDefinition.getInitialState();
+		initialStackTop = pdaDefinition.getInitialStackTop();
+		wordEncoder = pdaDefinition.getWordEncoder();
+	}
+
+	/** @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, Optional) */
+	@Override
+	public boolean accepts(Word inputWord, Optional<PdaExecutionSpy> maybeSpy) {
+		EncodedWord encodedWord = wordEncoder.encode(inputWord);
+
+		maxFrontierSize = 0;
+		boolean isInputAccepted = new Run(encodedWord).accepts();
+		maybeSpy.ifPresent(spy -> spy.pathFinished(isInputAccepted));
+		return isInputAccepted;
+	}
+
+	/**
+	 * Returns the number of nodes of the graph-structured stack of the busiest
+	 * position of the tape of the last run
+	 */
+	public int getMaxFrontierSize() {
+		return maxFrontierSize;
+	}
+
+	/** Packs two ids in a key */
+	private static long key(int high, int low) {
+		return ((long) high << 32) | (low & 0xFFFFFFFFL);
+	}
+
+	/** Exploration of a word over the graph-structured stack */
+	private class Run {
+		/** Word being checked */
+		final EncodedWord word;
+		/** Node of the initial configuration, the word is accepted if it pops at the end of the tape */
+		final Node root;
+		/** Nodes of the current position of the tape by state and stack top */
+		Map<Long, Node> nodes = new HashMap<>();
+		/** Nodes of the next position of the tape by state and stack top */
+		Map<Long, Node> nextNodes = new HashMap<>();
+		/** Work of the current position of the tape */
+		Worklist work = new Worklist();
+		/** Work of the next position of the tape */
+		Worklist nextWork = new Worklist();
+		/** Current position of the tape */
+		int position = 0;
+		/** Whether the root has popped at the end of the tape */
+		boolean accepted = false;
+
+		Run(EncodedWord word) {
+			this.word = word;
+			this.root = node(initialState.getId(), initialStackTop.getId(), 0);
+		}
+
+		boolean accepts() {
+			while (true) {
+				while (!work.isEmpty() && !accepted) {
+					if (!work.nodesToExpand.isEmpty()) {
+						expand(work.nodesToExpand.poll());
+					} else {
+						PendingPop pending = work.pops.poll();
+						resume(pending.continuation, pending.state, pending.position);
+					}
+				}
+				maxFrontierSize = Math.max(maxFrontierSize, nodes.size());
+				if (accepted || nextWork.isEmpty()) {
+					return accepted;
+				}
+
+				position += 1;
+				nodes = nextNodes;
+				nextNodes = new HashMap<>();
+				Worklist done = work;
+				work = nextWork;
+				nextWork = done;
+			}
+		}
+
+		/** Returns the node of the given configuration, which has to be at the current or next position */
+		Node node(int state, int stackTop, int nodePosition) {
+			Map<Long, Node> nodesAtPosition = nodePosition == position ? nodes : nextNodes;
+			long key = key(state, stackTop);
+			Node node = nodesAtPosition.get(key);
+			if (node == null) {
+				node = new Node(state, stackTop, nodePosition);
+				nodesAtPosition.put(key, node);
+				worklist(nodePosition).nodesToExpand.add(node);
+			}
+			return node;
+		}
+
+		Worklist worklist(int workPosition) {
+			return workPosition == position ? work : nextWork;
+		}
+
+		/** Applies the transitions of the configuration of the node */
+		void expand(Node node) {
+			for (StateStackSymbolsPair pair : transitionTable.getEpsilonMoves(node.state, node.stackTop)) {
+				push(node, pair, node.position);
+			}
+			if (node.position < word.size()) {
+				for (StateStackSymbolsPair pair : transitionTable.get(node.state, node.stackTop,
+						word.getId(node.position))) {
+					push(node, pair, node.position + 1);
+				}
+			}
+		}
+
+		/** Replaces the stack top of the node with the symbols of the transition */
+		void push(Node node, StateStackSymbolsPair pair, int nextPosition) {
+			int[] symbols = pair.getReversedSymbolIds();
+			if (symbols.length == 0) {
+				popped(node, pair.getState().getId(), nextPosition);
+			} else {
+				waitFor(node(pair.getState().getId(), symbols[symbols.length - 1], nextPosition),
+						new Continuation(node, symbols, symbols.length - 2));
+			}
+		}
+
+		/**
+		 * Continues the transition of the continuation after the symbol above the
+		 * next one to expose has been popped
+		 */
+		void resume(Continuation continuation, int state, int popPosition) {
+			if (continuation.nextSymbol < 0) {
+				popped(continuation.node, state, popPosition);
+			} else {
+				waitFor(node(state, continuation.symbols[continuation.nextSymbol], popPosition),
+						new Continuation(continuation.node, continuation.symbols, continuation.nextSymbol - 1));
+			}
+		}
+
+		/** Adds the edge from the node to the continuation, which gets the known pops of the node */
+		void waitFor(Node node, Continuation continuation) {
+			if (node.continuations.add(continuation)) {
+				for (long pop : node.pops) {
+					int popPosition = (int) (pop >>> 32);
+					worklist(popPosition).pops.add(new PendingPop(continuation, (int) pop, popPosition));
+				}
+			}
+		}
+
+		/** Records that the node pops its stack top reaching the given state and position */
+		void popped(Node node, int state, int popPosition) {
+			if (node.pops.add(key(popPosition, state))) {
+				if (node == root && popPosition == word.size()) {
+					accepted = true;
+				}
+				for (Continuation continuation : node.continuations) {
+					worklist(popPosition).pops.add(new PendingPop(continuation, state, popPosition));
+				}
+			}
+		}
+	}
+
+	/** Node of the graph-structured stack */
+	private static class Node {
+		/** State of the configuration */
+		final int state;
+		/** Stack top of the configuration */
+		final int stackTop;
+		/** Position of the tape of the configuration */
+		final int position;
+		/** States and positions reached when the stack top is popped (summary) */
+		final Set<Long> pops = new LinkedHashSet<>();
+		/** Transitions of the nodes below waiting for the stack top to be popped */
+		final Set<Continuation> continuations = new LinkedHashSet<>();
+
+		Node(int state, int stackTop, int position) {
+			this.state = state;
+			this.stackTop = stackTop;
+			this.position = position;
+		}
+	}
+
+	/** Transition of a node that has pushed some symbols and waits for them to be popped */
+	private static class Continuation {
+		/** Node whose stack top was replaced */
+		final Node node;
+		/** Pushed symbols in reverse order */
+		final int[] symbols;
+		/** Index of the symbol exposed by the next pop, -1 if the node pops */
+		final int nextSymbol;
+
+		Continuation(Node node, int[] symbols, int nextSymbol) {
+			this.node = node;
+			this.symbols = symbols;
+			this.nextSymbol = nextSymbol;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * System.identityHashCode(node) + System.identityHashCode(symbols)) + nextSymbol;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			Continuation other = (Continuation) obj;
+			return node == other.node && symbols == other.symbols && nextSymbol == other.nextSymbol;
+		}
+	}
+
+	/** Pop of a node to hand to one of its continuations */
+	private static class PendingPop {
+		final Continuation continuation;
+		final int state;
+		final int position;
+
+		PendingPop(Continuation continuation, int state, int position) {
+			this.continuation = continuation;
+			this.state = state;
+			this.position = position;
+		}
+	}
+
+	/** Pending work of a position of the tape */
+	private static class Worklist {
+		final ArrayDeque<Node> nodesToExpand = new ArrayDeque<>();
+		final ArrayDeque<PendingPop> pops = new ArrayDeque<>();
+
+		boolean isEmpty() {
+			return nodesToExpand.isEmpty() && pops.isEmpty();
+		}
+	}
+
+}
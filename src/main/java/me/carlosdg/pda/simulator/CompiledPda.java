@@ -0,0 +1,237 @@
+package me.carlosdg.pda.simulator;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.input_tape.InputTape;
+import me.carlosdg.pda.simulator.spies.PdaExecutionListener;
+import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.simulator.stack.StackImplementation;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Immutable Pushdown Automaton that can be shared by several threads. All the
+ * mutable state of a run (stack, input tape and choice points) lives in a
+ * {@link RunContext}, so any number of threads can check words at the same
+ * time without locks as long as each uses its own context.
+ *
+ * Contexts can be created with {@link #newRunContext()} and reused for any
+ * number of runs. When no context is given one is taken from an internal pool
+ * and given back at the end of the run. Batches of words are split in chunks
+ * among the workers of the common fork/join pool, each chunk with a context of
+ * the pool
+ *
+ * @author Carlos Domínguez García
+ */
+public final class CompiledPda implements PdaSimulator {
+
+	/** Definition of the PDA */
+	private final EmptyStackPdaDefinition pdaDefinition;
+	/** Transitions of the configurations */
+	private final TransitionSource transitions;
+	/** Implementation of the stacks of the contexts */
+	private final StackImplementation stackImplementation;
+	/** Contexts not being used by any run */
+	private final Queue<RunContext> idleContexts = new ConcurrentLinkedQueue<>();
+
+	/** Create the automaton from the PDA definition elements */
+	public CompiledPda(EmptyStackPdaDefinition pdaDefinition) {
+		this(pdaDefinition, StackImplementation.ARRAY);
+	}
+
+	/** Create the automaton from the PDA definition elements running on the given stack */
+	public CompiledPda(EmptyStackPdaDefinition pdaDefinition, StackImplementation stackImplementation) {
+		this(pdaDefinition, stackImplementation, pdaDefinition.getTransitionTable()::get);
+	}
+
+	/**
+	 * Create the automaton from the PDA definition elements running on the given
+	 * stack, looking the transitions up with the given source instead of the
+	 * transition table
+	 */
+	public CompiledPda(EmptyStackPdaDefinition pdaDefinition, StackImplementation stackImplementation,
+			TransitionSource transitions) {
+		this.pdaDefinition = pdaDefinition;
+		this.stackImplementation = stackImplementation;
+		this.transitions = transitions;
+	}
+
+	/** Creates a context to run this automaton, it must only be used by one thread at a time */
+	public RunContext newRunContext() {
+		return new RunContext(this, stackImplementation.create(pdaDefinition),
+				new InputTape(pdaDefinition.getWordEncoder()));
+	}
+
+	/**
+	 * Returns whether the given input word is accepted, using a context of the
+	 * internal pool
+	 *
+	 * @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, Optional)
+	 */
+	@Override
+	public boolean accepts(Word inputWord, Optional<PdaExecutionSpy> maybeSpy) {
+		RunContext context = takeIdleContext();
+		try {
+			return accepts(inputWord, context, maybeSpy);
+		} finally {
+			idleContexts.offer(context);
+		}
+	}
+
+	/**
+	 * Returns whether the given input word is accepted, notifying the given
+	 * listener, using a context of the internal pool
+	 *
+	 * @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, PdaExecutionListener)
+	 */
+	@Override
+	public boolean accepts(Word inputWord, PdaExecutionListener listener) {
+		RunContext context = takeIdleContext();
+		try {
+			return context.run(inputWord, listener);
+		} finally {
+			idleContexts.offer(context);
+		}
+	}
+
+	/**
+	 * Returns whether the given input word is accepted using the given context
+	 *
+	 * @throws IllegalArgumentException If the context was created by other
+	 *                                  automaton
+	 */
+	public boolean accepts(Word inputWord, RunContext context, Optional<PdaExecutionSpy> maybeSpy)
+			throws IllegalArgumentException {
+		if (context.getPda() != this) {
+			throw new IllegalArgumentException("The run context belongs to other automaton");
+		}
+		return context.run(inputWord, maybeSpy);
+	}
+
+	/**
+	 * Returns whether the word of the given tape is accepted, reading it from its
+	 * start. Useful for tapes that don't hold a {@link Word}, like
+	 * {@link me.carlosdg.pda.simulator.input_tape.MappedInputTape}. The context
+	 * keeps a frame per configuration of the current path (see
+	 * {@link RunContext}), for deterministic automata
+	 * {@link DeterministicEmptyStackPdaSimulator#accepts(InputTape, Optional)}
+	 * needs no memory besides the stack
+	 *
+	 * @throws IllegalArgumentException If the tape has other input alphabet
+	 */
+	public boolean accepts(InputTape inputTape, Optional<PdaExecutionSpy> maybeSpy) throws IllegalArgumentException {
+		if (inputTape.getAlphabet() != pdaDefinition.getInputAlphabet()) {
+			throw new IllegalArgumentException("The input tape has other input alphabet");
+		}
+
+		RunContext context = takeIdleContext();
+		try {
+			return context.run(inputTape, maybeSpy);
+		} finally {
+			idleContexts.offer(context);
+		}
+	}
+
+	/**
+	 * Checks all the given words in parallel
+	 *
+	 * @return A bitset with the bit i set if the word i is accepted
+	 */
+	public BitSet acceptsAll(List<Word> words) {
+		return acceptsAll(words, false).getAccepted();
+	}
+
+	/**
+	 * Checks all the words of the given stream in parallel
+	 *
+	 * @return A bitset with the bit i set if the word i of the stream is accepted
+	 */
+	public BitSet acceptsAll(Stream<Word> words) {
+		return acceptsAll(words.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Checks all the given words in parallel
+	 *
+	 * @param words         Words to check
+	 * @param recordTimings Whether to measure the time spent on each word
+	 * @return The results in the order of the words
+	 */
+	public BatchResult acceptsAll(List<Word> words, boolean recordTimings) {
+		return acceptsAll(words, recordTimings, false);
+	}
+
+	/**
+	 * Checks all the given words in parallel
+	 *
+	 * @param words             Words to check
+	 * @param recordTimings     Whether to measure the time spent on each word
+	 * @param collectStatistics Whether to collect the statistics of each run, see
+	 *                          {@link BatchResult#getStatistics(int)}
+	 * @return The results in the order of the words
+	 */
+	public BatchResult acceptsAll(List<Word> words, boolean recordTimings, boolean collectStatistics) {
+		// Bits are written by several threads so they are collected in an array first
+		boolean[] accepted = new boolean[words.size()];
+		long[] nanos = recordTimings ? new long[words.size()] : null;
+		RunStatistics[] statistics = collectStatistics ? new RunStatistics[words.size()] : null;
+		int chunkSize = Math.max(1, words.size() / (4 * ForkJoinPool.getCommonPoolParallelism()));
+		int numberOfChunks = (words.size() + chunkSize - 1) / chunkSize;
+
+		IntStream.range(0, numberOfChunks).parallel().forEach(chunk -> {
+			RunContext context = takeIdleContext();
+			if (collectStatistics) {
+				context.setCollectingStatistics(true);
+			}
+			try {
+				int end = Math.min(words.size(), (chunk + 1) * chunkSize);
+				for (int i = chunk * chunkSize; i < end; ++i) {
+					long startTime = recordTimings ? System.nanoTime() : 0;
+					accepted[i] = context.run(words.get(i), (PdaExecutionListener) null);
+					if (recordTimings) {
+						nanos[i] = System.nanoTime() - startTime;
+					}
+					if (collectStatistics) {
+						statistics[i] = context.getLastRunStatistics();
+					}
+				}
+			} finally {
+				if (collectStatistics) {
+					context.setCollectingStatistics(false);
+				}
+				idleContexts.offer(context);
+			}
+		});
+
+		BitSet acceptedBits = new BitSet(words.size());
+		for (int i = 0; i < accepted.length; ++i) {
+			acceptedBits.set(i, accepted[i]);
+		}
+		return new BatchResult(acceptedBits, words.size(), nanos, statistics);
+	}
+
+	/** Takes a context of the pool, or creates one if there are none */
+	private RunContext takeIdleContext() {
+		RunContext context = idleContexts.poll();
+		return context != null ? context : newRunContext();
+	}
+
+	// Read only elements used by the contexts
+
+	EmptyStackPdaDefinition getDefinition() {
+		return pdaDefinition;
+	}
+
+	TransitionSource getTransitionSource() {
+		return transitions;
+	}
+
+}
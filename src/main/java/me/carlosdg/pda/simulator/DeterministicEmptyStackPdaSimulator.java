@@ -0,0 +1,209 @@
+package me.carlosdg.pda.simulator;
+
+import java.util.Optional;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.input_tape.InputTape;
+import me.carlosdg.pda.simulator.spies.PdaExecutionListener;
+import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.simulator.stack.ArrayPdaStack;
+import me.carlosdg.pda.simulator.stack.PdaStack;
+import me.carlosdg.pda.symbols.State;
+import me.carlosdg.pda.transition_function.StateStackSymbolsPair;
+import me.carlosdg.pda.transition_function.TransitionTable;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Simulator for deterministic Pushdown Automata. Because at most one transition
+ * can be applied in any configuration, there is a single path to follow, so the
+ * simulation is a flat loop with no choice points and nothing to undo
+ *
+ * @author Carlos Domínguez García
+ */
+public class DeterministicEmptyStackPdaSimulator implements PdaSimulator {
+
+	/** Transition table */
+	private TransitionTable transitionTable;
+	/** Initial state */
+	private State initialState;
+	/** Stack */
+	private PdaStack stack;
+	/** Input tape */
+	private InputTape inputTape;
+	/** Definition of the PDA, to describe the runs to the spies */
+	private EmptyStackPdaDefinition pdaDefinition;
+	/** Counters of the statistics, null if they are disabled */
+	private RunCounters statisticsCounters;
+	/** Counters of the current run, null if it has no statistics nor JFR events */
+	private RunCounters counters;
+	/** Statistics of the last run, null if the statistics are disabled */
+	private RunStatistics lastRunStatistics;
+
+	/**
+	 * Create the simulator from the PDA definition elements
+	 *
+	 * @throws IllegalArgumentException If the definition is not deterministic
+	 */
+	public DeterministicEmptyStackPdaSimulator(EmptyStackPdaDefinition pdaDefinition)
+			throws IllegalArgumentException {
+		if (!pdaDefinition.isDeterministic()) {
+			throw new IllegalArgumentException("The PDA definition is not deterministic");
+		}
+		this.pdaDefinition = pdaDefinition;
+		transitionTable = pdaDefinition.getTransitionTable();
+		initialState = pdaDefinition.getInitialState();
+		stack = new ArrayPdaStack(pdaDefinition.getStackAlphabet(), pdaDefinition.getInitialStackTop());
+		inputTape = new InputTape(pdaDefinition.getWordEncoder());
+	}
+
+	/** @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, Optional) */
+	@Override
+	public boolean accepts(Word inputWord, Optional<PdaExecutionSpy> maybeSpy) {
+		return run(inputWord,
+				maybeSpy.isPresent() ? new SpyListener(maybeSpy.get(), pdaDefinition, inputTape, stack) : null);
+	}
+
+	/**
+	 * Returns whether the given word is accepted. There are no backtracks, the
+	 * only path finishes either accepting or at a configuration without
+	 * transitions
+	 *
+	 * @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, PdaExecutionListener)
+	 */
+	@Override
+	public boolean accepts(Word inputWord, PdaExecutionListener listener) {
+		return run(inputWord, listener);
+	}
+
+	/**
+	 * Returns whether the word of the given tape is accepted, reading it from its
+	 * start. Useful for tapes that don't hold a {@link Word}, like
+	 * {@link me.carlosdg.pda.simulator.input_tape.MappedInputTape}: nothing is
+	 * kept per configuration, so the run only needs room for the stack
+	 *
+	 * @throws IllegalArgumentException If the tape has other input alphabet
+	 */
+	public boolean accepts(InputTape tape, Optional<PdaExecutionSpy> maybeSpy) throws IllegalArgumentException {
+		return accepts(tape, maybeSpy.isPresent() ? new SpyListener(maybeSpy.get(), pdaDefinition, tape, stack) : null);
+	}
+
+	/**
+	 * Returns whether the word of the given tape is accepted, reading it from its
+	 * start and notifying the given listener if not null
+	 *
+	 * @see #accepts(InputTape, Optional)
+	 * @throws IllegalArgumentException If the tape has other input alphabet
+	 */
+	public boolean accepts(InputTape tape, PdaExecutionListener listener) throws IllegalArgumentException {
+		if (tape.getAlphabet() != pdaDefinition.getInputAlphabet()) {
+			throw new IllegalArgumentException("The input tape has other input alphabet");
+		}
+		tape.rewind();
+		return run(tape, listener);
+	}
+
+	/**
+	 * Enables or disables the statistics of the runs, see
+	 * {@link #getLastRunStatistics()}. They are disabled by default
+	 */
+	public void setCollectingStatistics(boolean collectingStatistics) {
+		statisticsCounters = collectingStatistics ? new RunCounters() : null;
+		lastRunStatistics = null;
+	}
+
+	/** Returns the statistics of the last run, null if they were not being collected */
+	public RunStatistics getLastRunStatistics() {
+		return lastRunStatistics;
+	}
+
+	/** Follows the only path notifying the given listener, if not null */
+	private boolean run(Word inputWord, PdaExecutionListener listener) {
+		inputTape.setInput(inputWord);
+		return run(inputTape, listener);
+	}
+
+	/** Follows the only path over the given tape notifying the given listener, if not null */
+	private boolean run(InputTape tape, PdaExecutionListener listener) {
+		stack.reset();
+
+		counters = RunCounters.forRun(statisticsCounters);
+		if (counters == null) {
+			return follow(tape, listener);
+		}
+		counters.start();
+		boolean isInputAccepted = follow(tape, listener);
+		RunStatistics statistics = counters.finish(isInputAccepted, getClass().getSimpleName(), tape.size());
+		if (statisticsCounters != null) {
+			lastRunStatistics = statistics;
+		}
+		return isInputAccepted;
+	}
+
+	/** Loop of the run, from the initial configuration to the end of the path */
+	private boolean follow(InputTape tape, PdaExecutionListener listener) {
+		State currentState = initialState;
+		int events = listener == null ? 0 : listener.getSubscribedEvents();
+
+		while (true) {
+			// Notify the listener of the new iteration
+			if ((events & PdaExecutionListener.ITERATIONS) != 0) {
+				listener.iteration(currentState.getId(), tape.getPosition(), stack.size());
+			}
+			if (counters != null) {
+				counters.step(currentState.getId(), stack.size(), tape.getPosition());
+			}
+
+			// If the stack is empty -> no more transitions
+			if (stack.isEmpty()) {
+				boolean isInputAccepted = tape.isEmpty();
+				if ((events & PdaExecutionListener.PATHS) != 0) {
+					listener.pathFinished(isInputAccepted);
+				}
+				if (counters != null) {
+					counters.leafPaths += 1;
+				}
+				return isInputAccepted;
+			}
+
+			// Either there is a transition consuming input or an epsilon move, never both
+			int stackTop = stack.popId();
+			StateStackSymbolsPair transition = null;
+			int inputSymbol = transitionTable.getEpsilonId();
+			if (!tape.isEmpty()) {
+				transition = single(transitionTable.get(currentState.getId(), stackTop, tape.peekId()));
+				if (transition != null) {
+					inputSymbol = tape.consumeInputId();
+				}
+			}
+			if (transition == null) {
+				transition = single(transitionTable.getEpsilonMoves(currentState.getId(), stackTop));
+			}
+
+			if (transition == null) {
+				if ((events & PdaExecutionListener.PATHS) != 0) {
+					listener.pathFinished(false);
+				}
+				if (counters != null) {
+					counters.leafPaths += 1;
+				}
+				return false;
+			}
+
+			if ((events & PdaExecutionListener.MOVES) != 0) {
+				listener.move(currentState.getId(), stackTop, inputSymbol, 0);
+			}
+			if (counters != null) {
+				counters.move(inputSymbol == transitionTable.getEpsilonId());
+			}
+
+			stack.pushReversed(transition.getReversedSymbolIds());
+			currentState = transition.getState();
+		}
+	}
+
+	/** Returns the only element of the given array or null if it is empty */
+	private static StateStackSymbolsPair single(StateStackSymbolsPair[] transitions) {
+		return transitions.length == 0 ? null : transitions[0];
+	}
+
+}
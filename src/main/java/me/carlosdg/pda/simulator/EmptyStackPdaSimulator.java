@@ -1,18 +1,15 @@
 package me.carlosdg.pda.simulator;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
 import me.carlosdg.pda.simulator.input_tape.InputTape;
+import me.carlosdg.pda.simulator.spies.PdaExecutionListener;
 import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
 import me.carlosdg.pda.simulator.stack.PdaStack;
-import me.carlosdg.pda.symbols.InputAlphabetSymbol;
-import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.simulator.stack.StackImplementation;
 import me.carlosdg.pda.symbols.State;
 import me.carlosdg.pda.transition_function.StateStackSymbolsPair;
-import me.carlosdg.pda.transition_function.TransitionFunction;
+import me.carlosdg.pda.transition_function.TransitionTable;
 import me.carlosdg.pda.word.Word;
 
 /**
@@ -20,34 +17,93 @@ import me.carlosdg.pda.word.Word;
  *
  * @author Carlos Domínguez García
  */
-public class EmptyStackPdaSimulator {
+public class EmptyStackPdaSimulator implements PdaSimulator {
 
-	/** Transition function */
-	private TransitionFunction transitionFunction;
+	/** Transition table */
+	private TransitionTable transitionTable;
 	/** Current state */
 	private State initialState;
 	/** Stack */
 	private PdaStack stack;
 	/** Input tape */
 	private InputTape inputTape;
-	/** Object used to log to the caller the progress of the algorithm */
-	private Optional<PdaExecutionSpy> maybeSpy;
+	/** Definition of the PDA, to describe the runs to the spies */
+	private EmptyStackPdaDefinition pdaDefinition;
+	/** Object notified of the progress of the algorithm, null if none */
+	private PdaExecutionListener listener;
+	/** Events the listener subscribes to, 0 if there is no listener */
+	private int events;
+	/** Counters of the statistics, null if they are disabled */
+	private RunCounters statisticsCounters;
+	/** Counters of the current run, null if it has no statistics nor JFR events */
+	private RunCounters counters;
+	/** Statistics of the last run, null if the statistics are disabled */
+	private RunStatistics lastRunStatistics;
 
 	/** Create the simulator from the PDA definition elements */
 	public EmptyStackPdaSimulator(EmptyStackPdaDefinition pdaDefinition) {
-		transitionFunction = pdaDefinition.getTransitionFunction();
+		this(pdaDefinition, StackImplementation.ARRAY);
+	}
+
+	/** Create the simulator from the PDA definition elements running on the given stack */
+	public EmptyStackPdaSimulator(EmptyStackPdaDefinition pdaDefinition, StackImplementation stackImplementation) {
+		this.pdaDefinition = pdaDefinition;
+		transitionTable = pdaDefinition.getTransitionTable();
 		initialState = pdaDefinition.getInitialState();
-		stack = new PdaStack(pdaDefinition.getStackAlphabet(), pdaDefinition.getInitialStackTop());
-		inputTape = new InputTape(pdaDefinition.getInputAlphabet());
+		stack = stackImplementation.create(pdaDefinition);
+		inputTape = new InputTape(pdaDefinition.getWordEncoder());
 	}
 
-	/** Returns whether the given input word is accepted by the automaton or not */
+	/** @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, Optional) */
+	@Override
 	public boolean accepts(Word inputWord, Optional<PdaExecutionSpy> maybeSpy) {
+		return run(inputWord,
+				maybeSpy.isPresent() ? new SpyListener(maybeSpy.get(), pdaDefinition, inputTape, stack) : null);
+	}
+
+	/** @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, PdaExecutionListener) */
+	@Override
+	public boolean accepts(Word inputWord, PdaExecutionListener listener) {
+		return run(inputWord, listener);
+	}
+
+	/**
+	 * Enables or disables the statistics of the runs, see
+	 * {@link #getLastRunStatistics()}. They are disabled by default
+	 */
+	public void setCollectingStatistics(boolean collectingStatistics) {
+		statisticsCounters = collectingStatistics ? new RunCounters() : null;
+		lastRunStatistics = null;
+	}
+
+	/** Returns the statistics of the last run, null if they were not being collected */
+	public RunStatistics getLastRunStatistics() {
+		return lastRunStatistics;
+	}
+
+	/** Runs the search notifying the given listener, if not null */
+	private boolean run(Word inputWord, PdaExecutionListener listener) {
 		stack.reset();
 		inputTape.setInput(inputWord);
-		this.maybeSpy = maybeSpy;
+		this.listener = listener;
+		events = listener == null ? 0 : listener.getSubscribedEvents();
 
-		return recursiveAccepts(initialState, new ArrayList<>());
+		try {
+			counters = RunCounters.forRun(statisticsCounters);
+			if (counters == null) {
+				return recursiveAccepts(initialState, new int[0]);
+			}
+			counters.start();
+			boolean isInputAccepted = recursiveAccepts(initialState, new int[0]);
+			RunStatistics statistics = counters.finish(isInputAccepted, getClass().getSimpleName(), inputTape.size());
+			if (statisticsCounters != null) {
+				lastRunStatistics = statistics;
+			}
+			return isInputAccepted;
+		} finally {
+			this.listener = null;
+			events = 0;
+		}
 	}
 
 	/**
@@ -55,62 +111,81 @@ public class EmptyStackPdaSimulator {
 	 * automaton or not
 	 *
 	 * @param currentState       Current state of the automaton
-	 * @param stackSymbolsToPush List of stack symbols to push in the current
-	 *                           iteration. This is needed so the function handles
-	 *                           the push of these symbols and at the end, before
-	 *                           returning, it makes sure that the stack is in the
-	 *                           same state as before calling the function
+	 * @param stackSymbolsToPush Ids of the stack symbols to push in the current
+	 *                           iteration, in push order. This is needed so the
+	 *                           function handles the push of these symbols and at
+	 *                           the end, before returning, it makes sure that the
+	 *                           stack is in the same state as before calling the
+	 *                           function
 	 * @return Whether the string in the input tape is accepted or not
 	 */
-	private boolean recursiveAccepts(State currentState, List<StackAlphabetSymbol> stackSymbolsToPush) {
+	private boolean recursiveAccepts(State currentState, int[] stackSymbolsToPush) {
 		boolean isInputAccepted = false;
-		stack.push(stackSymbolsToPush);
+		stack.pushReversed(stackSymbolsToPush);
 
-		// Notify spy of the new iteration
-		maybeSpy.ifPresent(
-				spy -> spy.newIteration(currentState, inputTape, stack, transitionsRepresentation(currentState)));
+		// Notify the listener of the new iteration
+		if ((events & PdaExecutionListener.ITERATIONS) != 0) {
+			listener.iteration(currentState.getId(), inputTape.getPosition(), stack.size());
+		}
+		if (counters != null) {
+			counters.step(currentState.getId(), stack.size(), inputTape.getPosition());
+		}
 
 		// If the stack is empty -> no more transitions
 		if (stack.isEmpty()) {
 			// Input is accepted if the tape is all consumed
 			isInputAccepted = inputTape.isEmpty();
-			// Notify the spy that we reached a "leaf node", a point with no transitions
-			if (maybeSpy.isPresent()) {
-				maybeSpy.get().pathFinished(isInputAccepted);
+			// Notify the listener that we reached a "leaf node", a point with no transitions
+			if ((events & PdaExecutionListener.PATHS) != 0) {
+				listener.pathFinished(isInputAccepted);
+			}
+			if (counters != null) {
+				counters.leafPaths += 1;
 			}
 		} else {
 			// Pop the top of the stack to perform the transitions
-			StackAlphabetSymbol stackTop = stack.pop();
-			Set<StateStackSymbolsPair> transitionResults;
+			int stackTop = stack.popId();
+			StateStackSymbolsPair[] transitionResults;
 			boolean noTransitions = true; // Flag to know if there are no transitions
 
 			// Transitions consuming the input symbol
 			if (!inputTape.isEmpty()) {
-				Optional<InputAlphabetSymbol> maybeInputSymbol = Optional.of(inputTape.consumeInput());
-				transitionResults = transitionFunction.get(currentState, stackTop, maybeInputSymbol);
-				noTransitions = noTransitions && transitionResults.size() == 0;
-				isInputAccepted = exploreTransitions(transitionResults);
+				int inputSymbol = inputTape.consumeInputId();
+				transitionResults = transitionTable.get(currentState.getId(), stackTop, inputSymbol);
+				noTransitions = noTransitions && transitionResults.length == 0;
+				isInputAccepted = exploreTransitions(transitionResults, currentState, stackTop, inputSymbol);
 				inputTape.revertConsumption(); // Restore the taken input symbol for the following transitions
 			}
 
 			// Epsilon moves (transitions consuming no input)
 			if (!isInputAccepted) {
-				transitionResults = transitionFunction.getEpsilonMoves(currentState, stackTop);
-				noTransitions = noTransitions && transitionResults.size() == 0;
-				isInputAccepted = exploreTransitions(transitionResults);
+				transitionResults = transitionTable.getEpsilonMoves(currentState.getId(), stackTop);
+				noTransitions = noTransitions && transitionResults.length == 0;
+				isInputAccepted = exploreTransitions(transitionResults, currentState, stackTop,
+						transitionTable.getEpsilonId());
 			}
 
-			// If there were no transitions notify the spy that we reached a "leaf node"
-			if (noTransitions && maybeSpy.isPresent()) {
-				maybeSpy.get().pathFinished(isInputAccepted);
+			// If there were no transitions notify the listener that we reached a "leaf node"
+			if (noTransitions && (events & PdaExecutionListener.PATHS) != 0) {
+				listener.pathFinished(isInputAccepted);
+			}
+			if (noTransitions && counters != null) {
+				counters.leafPaths += 1;
 			}
 
 			// Restore the stack top to leave the stack as the caller gave it to us
-			stack.push(stackTop);
+			stack.pushId(stackTop);
+
+			if (!isInputAccepted && (events & PdaExecutionListener.BACKTRACKS) != 0) {
+				listener.backtrack(currentState.getId(), inputTape.getPosition(), stack.size());
+			}
+			if (!isInputAccepted && counters != null) {
+				counters.backtracks += 1;
+			}
 		}
 
 		// Remove the pushed elements to leave the stack as the caller expects
-		stack.pop(stackSymbolsToPush.size());
+		stack.pop(stackSymbolsToPush.length);
 		return isInputAccepted;
 	}
 
@@ -119,13 +194,23 @@ public class EmptyStackPdaSimulator {
 	 * input. Returns true if any path accepted the string, false otherwise
 	 *
 	 * @param transitionResults Transition results to be run
+	 * @param currentState      State, stack top and input symbol (or epsilon id)
+	 *                          of the transitions, for the listener
 	 * @return Whether the input string is accepted by any of the paths or not
 	 */
-	private boolean exploreTransitions(Set<StateStackSymbolsPair> transitionResults) {
+	private boolean exploreTransitions(StateStackSymbolsPair[] transitionResults, State currentState, int stackTop,
+			int inputSymbol) {
 		boolean isInputAccepted = false;
 
-		for (StateStackSymbolsPair pair : transitionResults) {
-			if (recursiveAccepts(pair.getState(), pair.getSymbols())) {
+		for (int i = 0; i < transitionResults.length; ++i) {
+			if ((events & PdaExecutionListener.MOVES) != 0) {
+				listener.move(currentState.getId(), stackTop, inputSymbol, i);
+			}
+			if (counters != null) {
+				counters.move(inputSymbol == transitionTable.getEpsilonId());
+			}
+			StateStackSymbolsPair pair = transitionResults[i];
+			if (recursiveAccepts(pair.getState(), pair.getReversedSymbolIds())) {
 				isInputAccepted = true;
 				break;
 			}
@@ -134,60 +219,4 @@ public class EmptyStackPdaSimulator {
 		return isInputAccepted;
 	}
 
-	// TODO: remove this method and instead give an object representing the
-	// transitions to the spies
-	/**
-	 * Returns the string representation of all the transitions for the current
-	 * state, top of the stack and input symbol (including epsilon moves)
-	 */
-	private String transitionsRepresentation(State currentState) {
-		StringBuilder builder = new StringBuilder();
-		StackAlphabetSymbol stackTop = stack.peek();
-		String stackTopRepr = stackTop == null ? Word.EMPTY_STRING_REPR : stackTop.getRepresentation();
-		Optional<InputAlphabetSymbol> maybeInputSymbol;
-		if (inputTape.isEmpty()) {
-			maybeInputSymbol = Optional.empty();
-		} else {
-			maybeInputSymbol = Optional.of(inputTape.peek());
-		}
-
-		if (maybeInputSymbol.isPresent()) {
-			Set<StateStackSymbolsPair> transitionsConsumingInput = transitionFunction.get(currentState, stackTop,
-					maybeInputSymbol);
-
-			builder.append("𝛿(" + currentState + ", " + maybeInputSymbol.get() + ", " + stackTopRepr + ") = { ");
-			for (StateStackSymbolsPair pair : transitionsConsumingInput) {
-				builder.append("(" + pair.getState() + ", ");
-				if (pair.getSymbols().isEmpty()) {
-					builder.append(Word.EMPTY_STRING_REPR + " ");
-				}
-				for (StackAlphabetSymbol stackSymbol : pair.getSymbols()) {
-					builder.append(stackSymbol + " ");
-				}
-				builder.deleteCharAt(builder.length() - 1);
-				builder.append("),");
-			}
-			builder.deleteCharAt(builder.length() - 1);
-			builder.append(" }\t");
-		}
-
-		Set<StateStackSymbolsPair> emptyMoves = transitionFunction.getEpsilonMoves(currentState, stackTop);
-		builder.append("𝛿(" + currentState + ", " + Word.EMPTY_STRING_REPR + ", " + stackTopRepr + ") = { ");
-		for (StateStackSymbolsPair pair : emptyMoves) {
-			builder.append("(" + pair.getState() + ", ");
-			if (pair.getSymbols().isEmpty()) {
-				builder.append(Word.EMPTY_STRING_REPR + " ");
-			}
-			for (StackAlphabetSymbol stackSymbol : pair.getSymbols()) {
-				builder.append(stackSymbol + " ");
-			}
-			builder.deleteCharAt(builder.length() - 1);
-			builder.append("),");
-		}
-		builder.deleteCharAt(builder.length() - 1);
-		builder.append(" } ");
-
-		return builder.toString();
-	}
-
 }
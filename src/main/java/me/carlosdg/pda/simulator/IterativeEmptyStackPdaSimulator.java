@@ -0,0 +1,87 @@
+package me.carlosdg.pda.simulator;
+
+import java.util.Optional;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.memo.FailedConfigurationsMemo;
+import me.carlosdg.pda.simulator.spies.PdaExecutionListener;
+import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.simulator.stack.StackImplementation;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Pushdown Automaton Simulator that runs the same depth first search as
+ * {@link EmptyStackPdaSimulator} but keeping the choice points in an explicit
+ * stack of frames allocated in the heap instead of in the Java call stack. This
+ * way the size of the words that can be checked is not limited by the size of
+ * the thread stack. The search is the one of {@link RunContext}, the simulator
+ * owns a context of its own.
+ *
+ * Optionally the simulator can be given a memo of failed configurations. Then
+ * configurations that are already known to fail, or that are already being
+ * explored deeper in the current path (cycles of epsilon moves), are pruned
+ * instead of explored again. Pruned configurations are not notified to the spy
+ *
+ * @author Carlos Domínguez García
+ */
+public class IterativeEmptyStackPdaSimulator implements PdaSimulator {
+
+	/** Stack, input tape and choice points of the search */
+	private RunContext context;
+
+	/** Create the simulator from the PDA definition elements */
+	public IterativeEmptyStackPdaSimulator(EmptyStackPdaDefinition pdaDefinition) {
+		this(pdaDefinition, Optional.empty());
+	}
+
+	/**
+	 * Create the simulator from the PDA definition elements and an optional memo
+	 * of failed configurations. The memo is cleared at the start of every run
+	 */
+	public IterativeEmptyStackPdaSimulator(EmptyStackPdaDefinition pdaDefinition,
+			Optional<FailedConfigurationsMemo> maybeMemo) {
+		this(pdaDefinition, maybeMemo, StackImplementation.ARRAY);
+	}
+
+	/**
+	 * Create the simulator from the PDA definition elements and an optional memo
+	 * of failed configurations, running on the given stack implementation. The
+	 * hash-consed stack gives the fingerprints of the memo in constant time
+	 */
+	public IterativeEmptyStackPdaSimulator(EmptyStackPdaDefinition pdaDefinition,
+			Optional<FailedConfigurationsMemo> maybeMemo, StackImplementation stackImplementation) {
+		context = new RunContext(pdaDefinition, stackImplementation.create(pdaDefinition), maybeMemo.orElse(null),
+				getClass().getSimpleName());
+	}
+
+	/** @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, Optional) */
+	@Override
+	public boolean accepts(Word inputWord, Optional<PdaExecutionSpy> maybeSpy) {
+		return context.run(inputWord, maybeSpy);
+	}
+
+	/** @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, PdaExecutionListener) */
+	@Override
+	public boolean accepts(Word inputWord, PdaExecutionListener listener) {
+		return context.run(inputWord, listener);
+	}
+
+	/**
+	 * Enables or disables the statistics of the runs, see
+	 * {@link #getLastRunStatistics()}. They are disabled by default
+	 */
+	public void setCollectingStatistics(boolean collectingStatistics) {
+		context.setCollectingStatistics(collectingStatistics);
+	}
+
+	/** Returns the statistics of the last run, null if they were not being collected */
+	public RunStatistics getLastRunStatistics() {
+		return context.getLastRunStatistics();
+	}
+
+	/** Returns the number of epsilon cycles pruned in the last run with memoization */
+	public long getDetectedCycles() {
+		return context.getDetectedCycles();
+	}
+
+}
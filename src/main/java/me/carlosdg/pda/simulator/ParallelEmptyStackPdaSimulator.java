@@ -0,0 +1,366 @@
+package me.carlosdg.pda.simulator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.spies.PdaExecutionListener;
+import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.simulator.stack.PdaStack;
+import me.carlosdg.pda.simulator.stack.StackImplementation;
+import me.carlosdg.pda.symbols.State;
+import me.carlosdg.pda.transition_function.StateStackSymbolsPair;
+import me.carlosdg.pda.transition_function.TransitionTable;
+import me.carlosdg.pda.word.Word;
+import me.carlosdg.pda.word.WordEncoder;
+
+/**
+ * Pushdown Automaton Simulator that explores the nondeterministic branches of
+ * the search in parallel with a fork/join pool. Each worker runs a depth first
+ * search on its own copy of the stack and tape cursor, and gives the
+ * alternative branches of its choice points to other workers while it is close
+ * enough to the root of the search tree and there is enough input left. The
+ * first worker that accepts the input makes the rest stop, and every task
+ * waits for the subtrees it forked, so a run returns once all of its tasks have
+ * stopped and its statistics are complete.
+ *
+ * The spies are not thread safe, so when a spy is given the word is checked
+ * sequentially with an {@link IterativeEmptyStackPdaSimulator}
+ *
+ * @author Carlos Domínguez García
+ */
+public class ParallelEmptyStackPdaSimulator implements PdaSimulator, AutoCloseable {
+
+	/** Default maximum depth of the search tree at which branches are forked */
+	public static final int DEFAULT_SPLIT_DEPTH = 64;
+	/** Default minimum number of input symbols left needed to fork a branch */
+	public static final int DEFAULT_MIN_TASK_SIZE = 16;
+
+	/** Definition of the PDA */
+	private EmptyStackPdaDefinition pdaDefinition;
+	/** Transition table */
+	private TransitionTable transitionTable;
+	/** Encoder of the input words into ids of the input alphabet */
+	private WordEncoder wordEncoder;
+	/** Pool of workers */
+	private ForkJoinPool pool;
+	/** Maximum depth of the search tree at which branches are forked */
+	private int splitDepth;
+	/** Minimum number of input symbols left needed to fork a branch */
+	private int minTaskSize;
+	/** Implementation of the stacks of the tasks */
+	private StackImplementation stackImplementation;
+	/** Counters of the last run */
+	private ParallelSearchStatistics lastRunStatistics;
+
+	/**
+	 * Create the simulator from the PDA definition elements using as many workers
+	 * as available processors and the default split parameters
+	 */
+	public ParallelEmptyStackPdaSimulator(EmptyStackPdaDefinition pdaDefinition) {
+		this(pdaDefinition, Runtime.getRuntime().availableProcessors(), DEFAULT_SPLIT_DEPTH, DEFAULT_MIN_TASK_SIZE);
+	}
+
+	/**
+	 * Create the simulator from the PDA definition elements
+	 *
+	 * @param pdaDefinition Definition of the PDA
+	 * @param parallelism   Number of workers
+	 * @param splitDepth    Maximum depth of the search tree at which the
+	 *                      alternatives of a choice point are given to other
+	 *                      workers
+	 * @param minTaskSize   Minimum number of input symbols left for an
+	 *                      alternative to be given to other worker
+	 * @throws IllegalArgumentException If any parameter is not valid
+	 */
+	public ParallelEmptyStackPdaSimulator(EmptyStackPdaDefinition pdaDefinition, int parallelism, int splitDepth,
+			int minTaskSize) throws IllegalArgumentException {
+		this(pdaDefinition, parallelism, splitDepth, minTaskSize, StackImplementation.ARRAY);
+	}
+
+	/**
+	 * Create the simulator from the PDA definition elements running on the given
+	 * stack implementation. Every forked branch gets a copy of the stack, which
+	 * takes constant time with the hash-consed stack
+	 *
+	 * @see #ParallelEmptyStackPdaSimulator(EmptyStackPdaDefinition, int, int, int)
+	 */
+	public ParallelEmptyStackPdaSimulator(EmptyStackPdaDefinition pdaDefinition, int parallelism, int splitDepth,
+			int minTaskSize, StackImplementation stackImplementation) throws IllegalArgumentException {
+		if (parallelism <= 0 || splitDepth < 0 || minTaskSize < 0) {
+			throw new IllegalArgumentException("Invalid parallel parameters: parallelism=" + parallelism
+					+ " splitDepth=" + splitDepth + " minTaskSize=" + minTaskSize);
+		}
+		this.pdaDefinition = pdaDefinition;
+		this.transitionTable = pdaDefinition.getTransitionTable();
+		this.wordEncoder = pdaDefinition.getWordEncoder();
+		this.pool = new ForkJoinPool(parallelism);
+		this.splitDepth = splitDepth;
+		this.minTaskSize = minTaskSize;
+		this.stackImplementation = stackImplementation;
+	}
+
+	/**
+	 * Checks the word with the interpreter, like when a spy is given
+	 *
+	 * @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, PdaExecutionListener)
+	 */
+	@Override
+	public boolean accepts(Word inputWord, PdaExecutionListener listener) {
+		return new IterativeEmptyStackPdaSimulator(pdaDefinition).accepts(inputWord, listener);
+	}
+
+	/** @see me.carlosdg.pda.simulator.PdaSimulator#accepts(Word, Optional) */
+	@Override
+	public boolean accepts(Word inputWord, Optional<PdaExecutionSpy> maybeSpy) {
+		if (maybeSpy.isPresent()) {
+			return new IterativeEmptyStackPdaSimulator(pdaDefinition).accepts(inputWord, maybeSpy);
+		}
+		int[] symbolIds = wordEncoder.encode(inputWord).getIds();
+
+		long startTime = System.nanoTime();
+		long startStealCount = pool.getStealCount();
+		Run run = new Run(symbolIds);
+		PdaStack emptyStack = stackImplementation.create(pdaDefinition);
+		emptyStack.truncate(0);
+
+		boolean isInputAccepted = pool.invoke(new SearchTask(run, pdaDefinition.getInitialState(),
+				new int[] { pdaDefinition.getInitialStackTop().getId() }, emptyStack, 0, 0));
+
+		long busiestWorkerSteps = 0;
+		for (AtomicLong workerSteps : run.stepsPerWorker.values()) {
+			busiestWorkerSteps = Math.max(busiestWorkerSteps, workerSteps.get());
+		}
+		lastRunStatistics = new ParallelSearchStatistics(run.forkedTasks.sum(), run.cancelledTasks.sum(),
+				pool.getStealCount() - startStealCount, run.totalSteps.sum(), busiestWorkerSteps,
+				run.stepsPerWorker.size(), System.nanoTime() - startTime);
+
+		return isInputAccepted;
+	}
+
+	/** Returns the counters of the last run without spy, null if there was none */
+	public ParallelSearchStatistics getLastRunStatistics() {
+		return lastRunStatistics;
+	}
+
+	/** Stops the workers of the pool */
+	@Override
+	public void close() {
+		pool.shutdown();
+	}
+
+	/** State shared by all the tasks of a run */
+	private static class Run {
+		/** Ids of the symbols of the word being checked (read only) */
+		final int[] word;
+		/** Set by the first task that accepts the word, makes the rest stop */
+		final AtomicBoolean accepted = new AtomicBoolean(false);
+		// Counters
+		final LongAdder forkedTasks = new LongAdder();
+		final LongAdder cancelledTasks = new LongAdder();
+		final LongAdder totalSteps = new LongAdder();
+		final Map<Thread, AtomicLong> stepsPerWorker = new ConcurrentHashMap<>();
+
+		Run(int[] word) {
+			this.word = word;
+		}
+	}
+
+	/** Transition result together with whether it consumes the input symbol */
+	private static class Move {
+		final StateStackSymbolsPair pair;
+		final boolean consumesInput;
+
+		Move(StateStackSymbolsPair pair, boolean consumesInput) {
+			this.pair = pair;
+			this.consumesInput = consumesInput;
+		}
+	}
+
+	/** Choice point of the depth first search of a task */
+	private static class Frame {
+		/** Position of the tape of the configuration */
+		final int tapeIndex;
+		/** Number of symbols pushed by the transition that lead to this configuration */
+		final int numberOfPushedSymbols;
+		/** Id of the stack top popped to perform the transitions */
+		final int stackTop;
+		/** Transitions of the configuration */
+		final List<Move> moves;
+		/** Next transition to try */
+		int nextMove = 0;
+
+		Frame(int tapeIndex, int numberOfPushedSymbols, int stackTop, List<Move> moves) {
+			this.tapeIndex = tapeIndex;
+			this.numberOfPushedSymbols = numberOfPushedSymbols;
+			this.stackTop = stackTop;
+			this.moves = moves;
+		}
+	}
+
+	/**
+	 * Depth first search of the subtree rooted at the configuration reached by
+	 * pushing some symbols on a given stack
+	 */
+	private class SearchTask extends RecursiveTask<Boolean> {
+		private static final long serialVersionUID = 3079533386434346520L;
+
+		/** State shared by all the tasks of the run */
+		private final Run run;
+		/** State of the root configuration */
+		private final State initialState;
+		/** Ids of the symbols to push to get the stack of the root configuration */
+		private final int[] symbolsToPush;
+		/** Own copy of the stack */
+		private final PdaStack stack;
+		/** Position of the tape of the root configuration */
+		private final int initialTapeIndex;
+		/** Depth of the root configuration in the search tree */
+		private final int initialDepth;
+		/** Subtrees given to other workers */
+		private final List<SearchTask> forkedTasks = new ArrayList<>();
+		/** Choice points of the search */
+		private final Deque<Frame> frames = new ArrayDeque<>();
+		/** Number of configurations explored by this task */
+		private long steps = 0;
+
+		SearchTask(Run run, State initialState, int[] symbolsToPush, PdaStack stack,
+				int initialTapeIndex, int initialDepth) {
+			this.run = run;
+			this.initialState = initialState;
+			this.symbolsToPush = symbolsToPush;
+			this.stack = stack;
+			this.initialTapeIndex = initialTapeIndex;
+			this.initialDepth = initialDepth;
+		}
+
+		@Override
+		protected Boolean compute() {
+			try {
+				boolean isInputAccepted = search();
+				if (isInputAccepted) {
+					run.accepted.set(true);
+				}
+
+				// Wait for the forked subtrees even after accepting, they stop at their next
+				// step (or before starting) once a task has accepted
+				for (SearchTask task : forkedTasks) {
+					isInputAccepted = task.join() || isInputAccepted;
+				}
+				// The search may have been stopped because a task of other subtree accepted
+				return isInputAccepted || run.accepted.get();
+			} finally {
+				run.totalSteps.add(steps);
+				run.stepsPerWorker.computeIfAbsent(Thread.currentThread(), thread -> new AtomicLong())
+						.addAndGet(steps);
+			}
+		}
+
+		/** Iterative depth first search, stops if another task accepts */
+		private boolean search() {
+			// Another task may have accepted while this one was waiting to start
+			if (shouldStop()) {
+				return false;
+			}
+			if (enter(initialState, symbolsToPush, initialTapeIndex)) {
+				return true;
+			}
+
+			while (!frames.isEmpty()) {
+				if (shouldStop()) {
+					return false;
+				}
+
+				Frame frame = frames.peek();
+				if (frame.nextMove == 0) {
+					forkAlternatives(frame);
+				}
+
+				if (frame.nextMove < frame.moves.size()) {
+					Move move = frame.moves.get(frame.nextMove++);
+					int tapeIndex = frame.tapeIndex + (move.consumesInput ? 1 : 0);
+					if (enter(move.pair.getState(), move.pair.getReversedSymbolIds(), tapeIndex)) {
+						return true;
+					}
+				} else {
+					stack.pushId(frame.stackTop);
+					stack.pop(frame.numberOfPushedSymbols);
+					frames.pop();
+				}
+			}
+
+			return false;
+		}
+
+		/** Returns whether another task has accepted, counting this one as cancelled if so */
+		private boolean shouldStop() {
+			if (run.accepted.get()) {
+				run.cancelledTasks.increment();
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Gives every transition of the frame but the first one to other workers if
+		 * the frame is shallow enough and there is enough input left
+		 */
+		private void forkAlternatives(Frame frame) {
+			int depth = initialDepth + frames.size();
+			if (frame.moves.size() < 2 || depth > splitDepth || run.word.length - frame.tapeIndex < minTaskSize) {
+				return;
+			}
+
+			for (int i = frame.moves.size() - 1; i >= 1; --i) {
+				Move move = frame.moves.get(i);
+				SearchTask task = new SearchTask(run, move.pair.getState(), move.pair.getReversedSymbolIds(),
+						stack.copy(), frame.tapeIndex + (move.consumesInput ? 1 : 0), depth);
+				task.fork();
+				forkedTasks.add(task);
+				run.forkedTasks.increment();
+			}
+			frame.moves.subList(1, frame.moves.size()).clear();
+		}
+
+		/**
+		 * Pushes the given symbols and starts the exploration of the resulting
+		 * configuration
+		 *
+		 * @return Whether the configuration is a leaf that accepts the input
+		 */
+		private boolean enter(State state, int[] stackSymbolsToPush, int tapeIndex) {
+			steps += 1;
+			stack.pushReversed(stackSymbolsToPush);
+
+			if (stack.isEmpty()) {
+				stack.pop(stackSymbolsToPush.length);
+				return tapeIndex >= run.word.length;
+			}
+
+			int stackTop = stack.popId();
+			List<Move> moves = new ArrayList<>();
+			if (tapeIndex < run.word.length) {
+				for (StateStackSymbolsPair pair : transitionTable.get(state.getId(), stackTop, run.word[tapeIndex])) {
+					moves.add(new Move(pair, true));
+				}
+			}
+			for (StateStackSymbolsPair pair : transitionTable.getEpsilonMoves(state.getId(), stackTop)) {
+				moves.add(new Move(pair, false));
+			}
+			frames.push(new Frame(tapeIndex, stackSymbolsToPush.length, stackTop, moves));
+
+			return false;
+		}
+	}
+
+}
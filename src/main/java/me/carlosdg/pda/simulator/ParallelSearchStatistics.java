@@ -0,0 +1,82 @@
+package me.carlosdg.pda.simulator;
+
+/**
+ * Counters of a run of the {@link ParallelEmptyStackPdaSimulator}, used to know
+ * how well the search was spread among the workers
+ *
+ * @author Carlos Domínguez García
+ */
+public class ParallelSearchStatistics {
+
+	/** Number of subtrees given to other workers */
+	private final long forkedTasks;
+	/** Number of tasks that stopped early, or before starting, because another one accepted */
+	private final long cancelledTasks;
+	/** Number of tasks taken by a worker from the queue of another worker */
+	private final long stolenTasks;
+	/** Number of configurations explored by all the workers */
+	private final long totalSteps;
+	/** Number of configurations explored by the busiest worker */
+	private final long busiestWorkerSteps;
+	/** Number of workers that explored at least one configuration */
+	private final int activeWorkers;
+	/** Wall clock time of the run */
+	private final long elapsedNanos;
+
+	public ParallelSearchStatistics(long forkedTasks, long cancelledTasks, long stolenTasks, long totalSteps,
+			long busiestWorkerSteps, int activeWorkers, long elapsedNanos) {
+		this.forkedTasks = forkedTasks;
+		this.cancelledTasks = cancelledTasks;
+		this.stolenTasks = stolenTasks;
+		this.totalSteps = totalSteps;
+		this.busiestWorkerSteps = busiestWorkerSteps;
+		this.activeWorkers = activeWorkers;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	// Getters
+
+	public long getForkedTasks() {
+		return forkedTasks;
+	}
+
+	public long getCancelledTasks() {
+		return cancelledTasks;
+	}
+
+	public long getStolenTasks() {
+		return stolenTasks;
+	}
+
+	public long getTotalSteps() {
+		return totalSteps;
+	}
+
+	public long getBusiestWorkerSteps() {
+		return busiestWorkerSteps;
+	}
+
+	public int getActiveWorkers() {
+		return activeWorkers;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Returns an estimation of the speedup over a single worker: the total work
+	 * divided by the work of the busiest worker
+	 */
+	public double getEstimatedSpeedup() {
+		return busiestWorkerSteps == 0 ? 1.0 : (double) totalSteps / busiestWorkerSteps;
+	}
+
+	@Override
+	public String toString() {
+		return "forked=" + forkedTasks + " cancelled=" + cancelledTasks + " stolen=" + stolenTasks + " steps="
+				+ totalSteps + " workers=" + activeWorkers + " speedup~" + String.format("%.2f", getEstimatedSpeedup())
+				+ " time=" + elapsedNanos / 1_000_000 + "ms";
+	}
+
+}
@@ -0,0 +1,33 @@
+package me.carlosdg.pda.simulator;
+
+import java.util.Optional;
+
+import me.carlosdg.pda.simulator.spies.PdaExecutionListener;
+import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Interface for the different strategies used to know whether a PDA accepts an
+ * input word or not. All the strategies must give the same answer for the same
+ * definition and word, they only differ in how the search is done
+ *
+ * @author Carlos Domínguez García
+ */
+public interface PdaSimulator {
+	/** Returns whether the given input word is accepted by the automaton or not */
+	public boolean accepts(Word inputWord, Optional<PdaExecutionSpy> maybeSpy);
+
+	/**
+	 * Returns whether the given input word is accepted by the automaton or not,
+	 * notifying the given listener of the events it subscribes to. Strategies
+	 * that don't follow single paths (all but the depth first searches) only
+	 * notify the end of the run as one finished path
+	 */
+	public default boolean accepts(Word inputWord, PdaExecutionListener listener) {
+		boolean isInputAccepted = accepts(inputWord, Optional.empty());
+		if ((listener.getSubscribedEvents() & PdaExecutionListener.PATHS) != 0) {
+			listener.pathFinished(isInputAccepted);
+		}
+		return isInputAccepted;
+	}
+}
@@ -0,0 +1,375 @@
+package me.carlosdg.pda.simulator;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.input_tape.InputTape;
+import me.carlosdg.pda.simulator.memo.ConfigurationFingerprint;
+import me.carlosdg.pda.simulator.memo.FailedConfigurationsMemo;
+import me.carlosdg.pda.simulator.spies.PdaExecutionListener;
+import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.simulator.stack.PdaStack;
+import me.carlosdg.pda.transition_function.StateStackSymbolsPair;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Mutable state of the runs of a {@link CompiledPda}: the stack, the input tape
+ * and the choice points of the depth first search. This is the iterative depth
+ * first search shared by {@link CompiledPda},
+ * {@link IterativeEmptyStackPdaSimulator} (which owns a context with an
+ * optional memo of failed configurations) and
+ * {@link me.carlosdg.pda.compiler.CompiledRecognizer} (through a
+ * {@link CompiledPda} with a generated {@link TransitionSource}). The choice
+ * points are kept in arrays that are reused from run to run. A context must
+ * only be used by one thread at a time.
+ *
+ * There is a frame (about 26 bytes of the arrays) for each configuration of
+ * the current path, also for the ones with a single transition, so the memory
+ * grows with the length of the path even when the input tape is not in the
+ * heap. Deterministic automata can check such tapes without frames with
+ * {@link DeterministicEmptyStackPdaSimulator#accepts(InputTape, Optional)}
+ *
+ * @author Carlos Domínguez García
+ */
+public final class RunContext {
+
+	/** Symbols pushed to enter the initial configuration, the stack already has them */
+	private static final int[] NO_SYMBOLS = new int[0];
+
+	/** Automaton this context runs, null if the context belongs to a simulator */
+	private final CompiledPda pda;
+	/** Definition of the automaton */
+	private final EmptyStackPdaDefinition pdaDefinition;
+	/** Transitions of the configurations */
+	private final TransitionSource transitions;
+	/** Id used to ask for the epsilon moves */
+	private final int epsilonId;
+	/** Id of the initial state */
+	private final int initialState;
+	/** Name of the simulator of the runs, for the JFR events */
+	private final String simulatorName;
+	/** Stack */
+	private final PdaStack stack;
+	/** Input tape of the words given to the context */
+	private final InputTape wordTape;
+	/** Input tape of the current run */
+	private InputTape inputTape;
+	/** Object notified of the progress of the algorithm, null if none */
+	private PdaExecutionListener listener;
+	/** Events the listener subscribes to, 0 if there is no listener */
+	private int events;
+
+	/** Counters of the statistics, null if they are disabled */
+	private RunCounters statisticsCounters;
+	/** Counters of the current run, null if it has no statistics nor JFR events */
+	private RunCounters counters;
+	/** Statistics of the last run, null if the statistics are disabled */
+	private RunStatistics lastRunStatistics;
+
+	/** Configurations known to fail, null if memoization is disabled */
+	private final FailedConfigurationsMemo memo;
+	/** Configurations of the frames, used to detect cycles if memoization is enabled */
+	private final Set<ConfigurationFingerprint> configurationsInPath = new HashSet<>();
+	/** Number of cycles detected in the last run */
+	private long detectedCycles = 0;
+
+	// Choice points, one entry of each array per frame
+	/** State of the configuration */
+	private int[] frameState = new int[64];
+	/** Number of symbols pushed by the transition that lead to the configuration */
+	private int[] framePushed = new int[64];
+	/** Id of the stack top popped to perform the transitions */
+	private int[] frameTop = new int[64];
+	/** Transitions being tried */
+	private StateStackSymbolsPair[][] frameMoves = new StateStackSymbolsPair[64][];
+	/** Position of the next transition to try */
+	private int[] frameNext = new int[64];
+	/** Id of the input symbol of the transitions being tried, the epsilon id for epsilon moves */
+	private int[] frameInput = new int[64];
+	/** Whether the transitions being tried are the ones consuming input */
+	private boolean[] frameConsuming = new boolean[64];
+	/** Whether the configuration has no transitions at all */
+	private boolean[] frameNoTransitions = new boolean[64];
+	/** Fingerprint of the configuration, null if memoization is disabled */
+	private ConfigurationFingerprint[] frameFingerprint;
+	/** Number of frames */
+	private int frames = 0;
+
+	/** Creates a context, use {@link CompiledPda#newRunContext()} */
+	RunContext(CompiledPda pda, PdaStack stack, InputTape inputTape) {
+		this(pda, pda.getDefinition(), pda.getTransitionSource(), stack, inputTape, null, "CompiledPda");
+	}
+
+	/**
+	 * Creates a context owned by a simulator, with the transitions of the table
+	 * of the definition
+	 *
+	 * @param memo          Memo of failed configurations, cleared at the start of
+	 *                      every run. Null to disable memoization
+	 * @param simulatorName Name of the simulator, for the JFR events
+	 */
+	RunContext(EmptyStackPdaDefinition pdaDefinition, PdaStack stack, FailedConfigurationsMemo memo,
+			String simulatorName) {
+		this(null, pdaDefinition, pdaDefinition.getTransitionTable()::get, stack,
+				new InputTape(pdaDefinition.getWordEncoder()), memo, simulatorName);
+	}
+
+	private RunContext(CompiledPda pda, EmptyStackPdaDefinition pdaDefinition, TransitionSource transitions,
+			PdaStack stack, InputTape inputTape, FailedConfigurationsMemo memo, String simulatorName) {
+		this.pda = pda;
+		this.pdaDefinition = pdaDefinition;
+		this.transitions = transitions;
+		this.epsilonId = pdaDefinition.getTransitionTable().getEpsilonId();
+		this.initialState = pdaDefinition.getInitialState().getId();
+		this.stack = stack;
+		this.wordTape = inputTape;
+		this.memo = memo;
+		this.frameFingerprint = memo == null ? null : new ConfigurationFingerprint[frameState.length];
+		this.simulatorName = simulatorName;
+	}
+
+	/** Returns the automaton this context runs */
+	public CompiledPda getPda() {
+		return pda;
+	}
+
+	/** Returns the number of epsilon cycles pruned in the last run with memoization */
+	long getDetectedCycles() {
+		return detectedCycles;
+	}
+
+	/**
+	 * Enables or disables the statistics of the runs of this context, see
+	 * {@link #getLastRunStatistics()}. They are disabled by default
+	 */
+	public void setCollectingStatistics(boolean collectingStatistics) {
+		statisticsCounters = collectingStatistics ? new RunCounters() : null;
+		lastRunStatistics = null;
+	}
+
+	/** Returns the statistics of the last run, null if they were not being collected */
+	public RunStatistics getLastRunStatistics() {
+		return lastRunStatistics;
+	}
+
+	/** Returns whether the automaton accepts the given word */
+	boolean run(Word inputWord, Optional<PdaExecutionSpy> maybeSpy) {
+		wordTape.setInput(inputWord);
+		return run(wordTape, maybeSpy);
+	}
+
+	/** Returns whether the automaton accepts the given word, notifying the given listener if not null */
+	boolean run(Word inputWord, PdaExecutionListener listener) {
+		wordTape.setInput(inputWord);
+		return run(wordTape, listener);
+	}
+
+	/** Returns whether the automaton accepts the word of the given tape, read from its start */
+	boolean run(InputTape tape, Optional<PdaExecutionSpy> maybeSpy) {
+		return run(tape,
+				maybeSpy.isPresent() ? new SpyListener(maybeSpy.get(), pdaDefinition, tape, stack) : null);
+	}
+
+	/**
+	 * Returns whether the automaton accepts the word of the given tape, read from
+	 * its start, notifying the given listener if not null
+	 */
+	boolean run(InputTape tape, PdaExecutionListener listener) {
+		stack.reset();
+		tape.rewind();
+		inputTape = tape;
+		this.listener = listener;
+		events = listener == null ? 0 : listener.getSubscribedEvents();
+		frames = 0;
+		detectedCycles = 0;
+		if (memo != null) {
+			memo.clear();
+		}
+
+		try {
+			counters = RunCounters.forRun(statisticsCounters);
+			if (counters == null) {
+				return search();
+			}
+			counters.start();
+			boolean isInputAccepted = search();
+			RunStatistics statistics = counters.finish(isInputAccepted, simulatorName, inputTape.size());
+			if (statisticsCounters != null) {
+				lastRunStatistics = statistics;
+			}
+			return isInputAccepted;
+		} finally {
+			// Release the moves of the last run
+			Arrays.fill(frameMoves, 0, frames, null);
+			if (memo != null) {
+				Arrays.fill(frameFingerprint, 0, frames, null);
+				configurationsInPath.clear();
+			}
+			frames = 0;
+			this.listener = null;
+			events = 0;
+			inputTape = null;
+		}
+	}
+
+	/**
+	 * Iterative depth first search. Every loop either enters the next
+	 * configuration of the frame at the top (the equivalent of a recursive call)
+	 * or, if the frame has no more transitions to try, removes it (the equivalent
+	 * of returning false to the caller)
+	 *
+	 * @return Whether the string in the input tape is accepted or not
+	 */
+	private boolean search() {
+		if (enter(initialState, NO_SYMBOLS)) {
+			return true;
+		}
+
+		while (frames > 0) {
+			int frame = frames - 1;
+
+			if (frameNext[frame] < frameMoves[frame].length) {
+				if ((events & PdaExecutionListener.MOVES) != 0) {
+					listener.move(frameState[frame], frameTop[frame], frameInput[frame], frameNext[frame]);
+				}
+				if (counters != null) {
+					counters.move(!frameConsuming[frame]);
+				}
+				StateStackSymbolsPair pair = frameMoves[frame][frameNext[frame]++];
+				if (enter(pair.getState().getId(), pair.getReversedSymbolIds())) {
+					// The stack and tape do not need to be restored, the next run resets them
+					return true;
+				}
+			} else if (frameConsuming[frame]) {
+				// Restore the taken input symbol and continue with the epsilon moves
+				inputTape.revertConsumption();
+				frameConsuming[frame] = false;
+				frameInput[frame] = epsilonId;
+				setMoves(frame, transitions.get(frameState[frame], frameTop[frame], epsilonId));
+			} else {
+				leave(frame);
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Pushes the given symbols and starts the exploration of the resulting
+	 * configuration. If the configuration is a leaf it is finished right away,
+	 * otherwise a new frame is pushed to explore its transitions
+	 *
+	 * @return Whether the configuration is a leaf that accepts the input
+	 */
+	private boolean enter(int state, int[] stackSymbolsToPush) {
+		stack.pushReversed(stackSymbolsToPush);
+
+		// Prune the configurations known to fail or already in the current path
+		ConfigurationFingerprint fingerprint = null;
+		if (memo != null && !stack.isEmpty()) {
+			fingerprint = ConfigurationFingerprint.of(pdaDefinition.getSetOfStates().getSymbol(state),
+					inputTape.getCurrentSymbolIndex(), stack);
+			boolean isInPath = configurationsInPath.contains(fingerprint);
+			if (isInPath || memo.contains(fingerprint)) {
+				detectedCycles += isInPath ? 1 : 0;
+				stack.pop(stackSymbolsToPush.length);
+				return false;
+			}
+			configurationsInPath.add(fingerprint);
+		}
+
+		// Notify the listener of the new iteration
+		if ((events & PdaExecutionListener.ITERATIONS) != 0) {
+			listener.iteration(state, inputTape.getPosition(), stack.size());
+		}
+		if (counters != null) {
+			counters.step(state, stack.size(), inputTape.getPosition());
+		}
+
+		// If the stack is empty -> no more transitions
+		if (stack.isEmpty()) {
+			boolean isInputAccepted = inputTape.isEmpty();
+			if ((events & PdaExecutionListener.PATHS) != 0) {
+				listener.pathFinished(isInputAccepted);
+			}
+			if (counters != null) {
+				counters.leafPaths += 1;
+			}
+			stack.pop(stackSymbolsToPush.length);
+			return isInputAccepted;
+		}
+
+		if (frames == frameState.length) {
+			growFrames();
+		}
+		int frame = frames++;
+		frameState[frame] = state;
+		framePushed[frame] = stackSymbolsToPush.length;
+		frameTop[frame] = stack.popId();
+		frameNoTransitions[frame] = true;
+		if (memo != null) {
+			frameFingerprint[frame] = fingerprint;
+		}
+		frameConsuming[frame] = !inputTape.isEmpty();
+		frameInput[frame] = frameConsuming[frame] ? inputTape.consumeInputId() : epsilonId;
+		setMoves(frame, transitions.get(state, frameTop[frame], frameInput[frame]));
+
+		return false;
+	}
+
+	/**
+	 * Finishes the exploration of the given frame (which must be at the top),
+	 * leaving the stack as it was before entering its configuration
+	 */
+	private void leave(int frame) {
+		// If there were no transitions notify the listener that we reached a "leaf node"
+		if (frameNoTransitions[frame] && (events & PdaExecutionListener.PATHS) != 0) {
+			listener.pathFinished(false);
+		}
+		if (counters != null) {
+			counters.leafPaths += frameNoTransitions[frame] ? 1 : 0;
+			counters.backtracks += 1;
+		}
+
+		// Every configuration reachable from this one has been explored, it fails
+		if (memo != null && frameFingerprint[frame] != null) {
+			configurationsInPath.remove(frameFingerprint[frame]);
+			memo.add(frameFingerprint[frame]);
+			frameFingerprint[frame] = null;
+		}
+
+		stack.pushId(frameTop[frame]);
+		if ((events & PdaExecutionListener.BACKTRACKS) != 0) {
+			listener.backtrack(frameState[frame], inputTape.getPosition(), stack.size());
+		}
+		stack.pop(framePushed[frame]);
+		frameMoves[frame] = null;
+		frames -= 1;
+	}
+
+	/** Sets the given transitions as the ones left to be tried by the frame */
+	private void setMoves(int frame, StateStackSymbolsPair[] moves) {
+		frameMoves[frame] = moves;
+		frameNext[frame] = 0;
+		frameNoTransitions[frame] = frameNoTransitions[frame] && moves.length == 0;
+	}
+
+	private void growFrames() {
+		int size = 2 * frameState.length;
+		frameState = Arrays.copyOf(frameState, size);
+		framePushed = Arrays.copyOf(framePushed, size);
+		frameTop = Arrays.copyOf(frameTop, size);
+		frameInput = Arrays.copyOf(frameInput, size);
+		frameMoves = Arrays.copyOf(frameMoves, size);
+		frameNext = Arrays.copyOf(frameNext, size);
+		frameConsuming = Arrays.copyOf(frameConsuming, size);
+		frameNoTransitions = Arrays.copyOf(frameNoTransitions, size);
+		if (frameFingerprint != null) {
+			frameFingerprint = Arrays.copyOf(frameFingerprint, size);
+		}
+	}
+
+}
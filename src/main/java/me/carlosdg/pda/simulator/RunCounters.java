@@ -0,0 +1,130 @@
+package me.carlosdg.pda.simulator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import jdk.jfr.EventType;
+import me.carlosdg.pda.jfr.AcceptsEvent;
+import me.carlosdg.pda.jfr.StepSampleEvent;
+
+/**
+ * Mutable counters of a run, the simulators that collect statistics increment
+ * its fields directly. They also feed the Java Flight Recorder events of the
+ * runs ({@link AcceptsEvent} and {@link StepSampleEvent}). A simulator holds
+ * null instead of an instance when the statistics are disabled and there is no
+ * recording of those events, so the only cost then is a null check
+ *
+ * @author Carlos Domínguez García
+ */
+final class RunCounters {
+
+	/** Used to measure the CPU time, null if the JVM can't */
+	private static final ThreadMXBean THREADS = cpuTimeThreads();
+	private static final EventType ACCEPTS_EVENT = EventType.getEventType(AcceptsEvent.class);
+	private static final EventType STEP_SAMPLE_EVENT = EventType.getEventType(StepSampleEvent.class);
+
+	long steps;
+	long consumingMoves;
+	long epsilonMoves;
+	long backtracks;
+	long leafPaths;
+	int peakStackHeight;
+	long peakTapePosition;
+	private long startNanos;
+	private long startCpuNanos;
+	/** Event of the current run, null if it is not recorded */
+	private AcceptsEvent event;
+	/** Whether the steps of the current run are sampled */
+	private boolean samplingSteps;
+
+	/**
+	 * Returns the counters to use in the next run: the given ones of the
+	 * statistics if they are enabled, new ones if the run will be recorded or
+	 * null otherwise
+	 */
+	static RunCounters forRun(RunCounters statisticsCounters) {
+		if (statisticsCounters != null) {
+			return statisticsCounters;
+		}
+		return ACCEPTS_EVENT.isEnabled() || STEP_SAMPLE_EVENT.isEnabled() ? new RunCounters() : null;
+	}
+
+	/** Resets the counters and starts measuring the time of a run */
+	void start() {
+		steps = 0;
+		consumingMoves = 0;
+		epsilonMoves = 0;
+		backtracks = 0;
+		leafPaths = 0;
+		peakStackHeight = 0;
+		peakTapePosition = 0;
+		startCpuNanos = THREADS == null ? -1 : THREADS.getCurrentThreadCpuTime();
+		samplingSteps = STEP_SAMPLE_EVENT.isEnabled();
+		event = ACCEPTS_EVENT.isEnabled() ? new AcceptsEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		startNanos = System.nanoTime();
+	}
+
+	/** Records a configuration being explored */
+	void step(int state, int stackHeight, long tapePosition) {
+		steps += 1;
+		peakStackHeight = Math.max(peakStackHeight, stackHeight);
+		peakTapePosition = Math.max(peakTapePosition, tapePosition);
+		if (samplingSteps && steps % StepSampleEvent.SAMPLING == 0) {
+			StepSampleEvent sample = new StepSampleEvent();
+			sample.step = steps;
+			sample.state = state;
+			sample.tapePosition = tapePosition;
+			sample.stackHeight = stackHeight;
+			sample.commit();
+		}
+	}
+
+	/** Records a transition being taken */
+	void move(boolean isEpsilonMove) {
+		if (isEpsilonMove) {
+			epsilonMoves += 1;
+		} else {
+			consumingMoves += 1;
+		}
+	}
+
+	/**
+	 * Stops measuring the time, records the event of the run if needed and returns
+	 * the statistics of the run
+	 *
+	 * @param simulator  Name of the simulator, for the event
+	 * @param wordLength Length of the checked word, for the event
+	 */
+	RunStatistics finish(boolean accepted, String simulator, long wordLength) {
+		long wallNanos = System.nanoTime() - startNanos;
+		long cpuNanos = startCpuNanos < 0 ? -1 : THREADS.getCurrentThreadCpuTime() - startCpuNanos;
+		if (event != null) {
+			event.end();
+			if (event.shouldCommit()) {
+				event.simulator = simulator;
+				event.wordLength = wordLength;
+				event.accepted = accepted;
+				event.steps = steps;
+				event.backtracks = backtracks;
+				event.peakStackHeight = peakStackHeight;
+				event.commit();
+			}
+			event = null;
+		}
+		return new RunStatistics(1, accepted ? 1 : 0, steps, consumingMoves, epsilonMoves, backtracks, leafPaths,
+				peakStackHeight, peakTapePosition, wallNanos, cpuNanos);
+	}
+
+	private static ThreadMXBean cpuTimeThreads() {
+		try {
+			ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+			return threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled() ? threads : null;
+		} catch (UnsupportedOperationException | SecurityException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+package me.carlosdg.pda.simulator;
+
+/**
+ * Counters of one or more runs of a simulator, used to know why a word takes
+ * long to check: how many configurations were explored, how many transitions
+ * were taken and undone and how deep the search went. Statistics of several
+ * runs (e.g. of a batch) are combined with {@link #plus(RunStatistics)}
+ *
+ * @author Carlos Domínguez García
+ */
+public final class RunStatistics {
+
+	/** Statistics of no runs, the identity of {@link #plus(RunStatistics)} */
+	public static final RunStatistics NONE = new RunStatistics(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+	/** Number of runs */
+	private final long runs;
+	/** Number of runs that accepted their word */
+	private final long acceptedRuns;
+	/** Number of configurations explored */
+	private final long steps;
+	/** Number of transitions taken that consume an input symbol */
+	private final long consumingMoves;
+	/** Number of epsilon moves taken */
+	private final long epsilonMoves;
+	/** Number of configurations left without accepting after trying their transitions */
+	private final long backtracks;
+	/** Number of paths that reached a configuration without transitions */
+	private final long leafPaths;
+	/** Biggest number of symbols of the stack */
+	private final int peakStackHeight;
+	/** Biggest number of input symbols consumed */
+	private final long peakTapePosition;
+	/** Wall clock time */
+	private final long wallNanos;
+	/** CPU time of the threads of the runs, -1 if it could not be measured */
+	private final long cpuNanos;
+
+	public RunStatistics(long runs, long acceptedRuns, long steps, long consumingMoves, long epsilonMoves,
+			long backtracks, long leafPaths, int peakStackHeight, long peakTapePosition, long wallNanos,
+			long cpuNanos) {
+		this.runs = runs;
+		this.acceptedRuns = acceptedRuns;
+		this.steps = steps;
+		this.consumingMoves = consumingMoves;
+		this.epsilonMoves = epsilonMoves;
+		this.backtracks = backtracks;
+		this.leafPaths = leafPaths;
+		this.peakStackHeight = peakStackHeight;
+		this.peakTapePosition = peakTapePosition;
+		this.wallNanos = wallNanos;
+		this.cpuNanos = cpuNanos;
+	}
+
+	/**
+	 * Returns the statistics of the runs of both: the counters and times are
+	 * added and the peaks are the biggest ones. The CPU time is unknown (-1) if
+	 * it is unknown for any of them
+	 */
+	public RunStatistics plus(RunStatistics other) {
+		return new RunStatistics(runs + other.runs, acceptedRuns + other.acceptedRuns, steps + other.steps,
+				consumingMoves + other.consumingMoves, epsilonMoves + other.epsilonMoves,
+				backtracks + other.backtracks, leafPaths + other.leafPaths,
+				Math.max(peakStackHeight, other.peakStackHeight), Math.max(peakTapePosition, other.peakTapePosition),
+				wallNanos + other.wallNanos,
+				cpuNanos < 0 || other.cpuNanos < 0 ? -1 : cpuNanos + other.cpuNanos);
+	}
+
+	// Getters
+
+	public long getRuns() {
+		return runs;
+	}
+
+	public long getAcceptedRuns() {
+		return acceptedRuns;
+	}
+
+	public long getSteps() {
+		return steps;
+	}
+
+	public long getConsumingMoves() {
+		return consumingMoves;
+	}
+
+	public long getEpsilonMoves() {
+		return epsilonMoves;
+	}
+
+	public long getBacktracks() {
+		return backtracks;
+	}
+
+	public long getLeafPaths() {
+		return leafPaths;
+	}
+
+	public int getPeakStackHeight() {
+		return peakStackHeight;
+	}
+
+	public long getPeakTapePosition() {
+		return peakTapePosition;
+	}
+
+	public long getWallNanos() {
+		return wallNanos;
+	}
+
+	public long getCpuNanos() {
+		return cpuNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "runs=" + runs + " accepted=" + acceptedRuns + " steps=" + steps + " consuming=" + consumingMoves
+				+ " epsilon=" + epsilonMoves + " backtracks=" + backtracks + " leaves=" + leafPaths + " peakStack="
+				+ peakStackHeight + " peakTape=" + peakTapePosition + " time=" + wallNanos / 1_000_000 + "ms"
+				+ (cpuNanos < 0 ? "" : " cpu=" + cpuNanos / 1_000_000 + "ms");
+	}
+
+}
@@ -0,0 +1,71 @@
+package me.carlosdg.pda.simulator;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.sets.StateSet;
+import me.carlosdg.pda.simulator.input_tape.InputTape;
+import me.carlosdg.pda.simulator.spies.PdaExecutionListener;
+import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.simulator.stack.PdaStack;
+import me.carlosdg.pda.transition_function.TransitionDescriptions;
+
+/**
+ * Listener that gives the events of a run to a {@link PdaExecutionSpy}, with
+ * the tape and stack of the run and the text of the transitions available at
+ * each iteration. Used by the simulators to support the spies, it is created
+ * for each run with a spy.
+ *
+ * The spies deliberately keep their string API: the text of the transitions
+ * is what the existing spies print, and new tools that need the ids of the
+ * moves subscribe to the {@link PdaExecutionListener} events instead
+ *
+ * @author Carlos Domínguez García
+ */
+final class SpyListener implements PdaExecutionListener {
+
+	private final PdaExecutionSpy spy;
+	private final StateSet states;
+	private final TransitionDescriptions transitionDescriptions;
+	private final InputTape inputTape;
+	private final PdaStack stack;
+
+	SpyListener(PdaExecutionSpy spy, EmptyStackPdaDefinition pdaDefinition, InputTape inputTape, PdaStack stack) {
+		this.spy = spy;
+		this.states = pdaDefinition.getSetOfStates();
+		this.transitionDescriptions = pdaDefinition.getTransitionDescriptions();
+		this.inputTape = inputTape;
+		this.stack = stack;
+	}
+
+	@Override
+	public int getSubscribedEvents() {
+		return ITERATIONS | PATHS;
+	}
+
+	@Override
+	public void iteration(int state, long tapePosition, int stackHeight) {
+		spy.newIteration(states.getSymbol(state), inputTape, stack, transitionsRepresentation(state));
+	}
+
+	@Override
+	public void pathFinished(boolean accepted) {
+		spy.pathFinished(accepted);
+	}
+
+	/**
+	 * Returns the string representation of all the transitions for the given
+	 * state and the current top of the stack and input symbol (including epsilon
+	 * moves)
+	 */
+	private String transitionsRepresentation(int state) {
+		int epsilon = inputTape.getAlphabet().size();
+		if (stack.isEmpty()) {
+			return (inputTape.isEmpty() ? ""
+					: transitionDescriptions.describeEmptyStack(state, inputTape.peekId()) + "\t")
+					+ transitionDescriptions.describeEmptyStack(state, epsilon) + " ";
+		}
+		int stackTop = stack.peekId();
+		return (inputTape.isEmpty() ? "" : transitionDescriptions.describe(state, stackTop, inputTape.peekId()) + "\t")
+				+ transitionDescriptions.describe(state, stackTop, epsilon) + " ";
+	}
+
+}
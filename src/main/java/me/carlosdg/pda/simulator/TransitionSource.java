@@ -0,0 +1,21 @@
+package me.carlosdg.pda.simulator;
+
+import me.carlosdg.pda.transition_function.StateStackSymbolsPair;
+
+/**
+ * Lookup of the transitions explored by the depth first search of a
+ * {@link RunContext}. The transition table of the definition is the default
+ * one, recognizers can give a faster dispatch as long as it returns the same
+ * transitions in the same order
+ *
+ * @author Carlos Domínguez García
+ */
+@FunctionalInterface
+public interface TransitionSource {
+	/**
+	 * Returns the transitions of the given state, stack top and input symbol, the
+	 * epsilon id of the transition table for the epsilon moves. The array must
+	 * not be modified
+	 */
+	public StateStackSymbolsPair[] get(int state, int stackTop, int inputSymbol);
+}
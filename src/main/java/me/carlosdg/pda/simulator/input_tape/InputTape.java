@@ -2,37 +2,53 @@ package me.carlosdg.pda.simulator.input_tape;
 
 import me.carlosdg.pda.sets.InputAlphabet;
 import me.carlosdg.pda.symbols.InputAlphabetSymbol;
+import me.carlosdg.pda.word.EncodedWord;
 import me.carlosdg.pda.word.Word;
+import me.carlosdg.pda.word.WordEncoder;
 
 /**
- * Input tape class that holds an input word to be processed by the PDA
+ * Input tape class that holds an input word to be processed by the PDA. The
+ * symbols are read by their position, so subclasses can keep the word
+ * somewhere else (see {@link MappedInputTape})
  *
  * @author Carlos Domínguez García
  */
 public class InputTape {
 
-	/** Input alphabet */
-	InputAlphabet alphabet;
-	/** Current word in the tape */
-	Word word;
+	/** Encoder of the words of the input alphabet */
+	WordEncoder encoder;
+	/** Current word in the tape, encoded with the input alphabet */
+	EncodedWord word;
 	/** Position of the next symbol to return */
 	int currentSymbolIndex = 0;
 
 	/** Instantiates an InputTape object with the given input alphabet */
 	public InputTape(InputAlphabet alphabet) {
-		this.alphabet = alphabet;
+		this(new WordEncoder(alphabet));
+	}
+
+	/** Instantiates an InputTape object with the given encoder of the input alphabet */
+	public InputTape(WordEncoder encoder) {
+		this.encoder = encoder;
 	}
 
 	/**
 	 * Sets the word in the input tape to the given one. Throws if there is a symbol
-	 * that doesn't belong to the alphabet
+	 * that doesn't belong to the alphabet. Words already encoded with the alphabet
+	 * are not checked again
 	 */
 	public void setInput(Word newWord) {
-		if (!newWord.areAllSymbolsPartOfAlphabet(alphabet)) {
-			throw new IllegalArgumentException(
-					"Invalid word, it has a symbol that does not belong to the input alphabet:'" + newWord + "'");
-		}
-		word = newWord;
+		word = encoder.encode(newWord);
+		currentSymbolIndex = 0;
+	}
+
+	/** Returns the input alphabet of the tape */
+	public InputAlphabet getAlphabet() {
+		return encoder.getAlphabet();
+	}
+
+	/** Moves back to the first symbol of the word */
+	public void rewind() {
 		currentSymbolIndex = 0;
 	}
 
@@ -60,6 +76,29 @@ public class InputTape {
 		return symbol;
 	}
 
+	/**
+	 * Returns the id of the next symbol from the tape in the input alphabet but it
+	 * doesn't consume it. Throws if there are no more symbols to be read
+	 */
+	public int peekId() throws IndexOutOfBoundsException {
+		if (currentSymbolIndex >= word.size()) {
+			throw new IndexOutOfBoundsException("There are no more symbols in the input string");
+		}
+
+		return word.getId(currentSymbolIndex);
+	}
+
+	/**
+	 * Returns the id of the next symbol from the tape in the input alphabet. Throws
+	 * if there are no more symbols to be read
+	 */
+	public int consumeInputId() throws IndexOutOfBoundsException {
+		int symbolId = peekId();
+		currentSymbolIndex += 1;
+
+		return symbolId;
+	}
+
 	public void revertConsumption() {
 		if (currentSymbolIndex <= 0) {
 			throw new IndexOutOfBoundsException("There are no more symbols in the input string");
@@ -67,6 +106,24 @@ public class InputTape {
 		currentSymbolIndex -= 1;
 	}
 
+	/** Returns the position of the next symbol to read */
+	public int getCurrentSymbolIndex() {
+		return currentSymbolIndex;
+	}
+
+	/**
+	 * Returns the position of the next symbol to read, which may not fit in an int
+	 * in subclasses. The simulators report this one to the listeners
+	 */
+	public long getPosition() {
+		return currentSymbolIndex;
+	}
+
+	/** Returns the number of symbols of the word */
+	public long size() {
+		return word.size();
+	}
+
 	/** Returns whether all the input symbols have been read or not */
 	public boolean isEmpty() {
 		return currentSymbolIndex >= word.size();
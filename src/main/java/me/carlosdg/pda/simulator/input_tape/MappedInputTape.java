@@ -0,0 +1,191 @@
+package me.carlosdg.pda.simulator.input_tape;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import me.carlosdg.pda.symbols.InputAlphabetSymbol;
+import me.carlosdg.pda.symbols.Symbol;
+import me.carlosdg.pda.word.Word;
+import me.carlosdg.pda.word.WordEncoder;
+
+/**
+ * Input tape whose word is a memory-mapped file with one byte per symbol, the
+ * character of the symbol. Only alphabets whose symbols are single ASCII
+ * characters can be used. The word is not loaded in the heap, reading and
+ * reverting are arithmetic on the position in the mapping, so words bigger
+ * than the memory (or than 2^31 symbols) can be checked. A line terminator at
+ * the end of the file is not part of the word
+ *
+ * @author Carlos Domínguez García
+ */
+public class MappedInputTape extends InputTape {
+
+	/** Number of bits of the positions inside a chunk of the mapping */
+	private static final int CHUNK_BITS = 30;
+	/** Mask of the position inside a chunk of the mapping */
+	private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+	/** Maximum number of symbols of the tape shown by toString() */
+	private static final int SHOWN_SYMBOLS = 64;
+
+	/** Chunks of the mapping of the file, a single mapping can't exceed 2GB */
+	private final MappedByteBuffer[] chunks;
+	/** Id of the symbol of each byte, Symbol.NO_ID if none */
+	private final int[] byteIds = new int[256];
+	/** Number of symbols of the word */
+	private final long size;
+	/** Position of the next symbol to return */
+	private long position = 0;
+
+	/**
+	 * Maps the given file and checks that every byte is the character of a symbol
+	 * of the alphabet
+	 *
+	 * @throws IOException              If the file cannot be read
+	 * @throws IllegalArgumentException If any symbol of the alphabet is not a
+	 *                                  single ASCII character or if the file has
+	 *                                  a byte that doesn't represent any symbol
+	 */
+	public MappedInputTape(WordEncoder encoder, String filePath) throws IOException, IllegalArgumentException {
+		super(encoder);
+		Arrays.fill(byteIds, Symbol.NO_ID);
+		for (InputAlphabetSymbol symbol : encoder.getAlphabet().getSymbols()) {
+			String representation = symbol.getRepresentation();
+			if (representation.length() != 1 || representation.charAt(0) > 127) {
+				throw new IllegalArgumentException(
+						"Cannot map the input tape, the symbol '" + representation + "' is not a single ASCII character");
+			}
+			byteIds[representation.charAt(0)] = symbol.getId();
+		}
+
+		try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			chunks = new MappedByteBuffer[(int) ((fileSize + CHUNK_MASK) >>> CHUNK_BITS)];
+			for (int i = 0; i < chunks.length; ++i) {
+				long start = (long) i << CHUNK_BITS;
+				chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(fileSize - start, 1L << CHUNK_BITS));
+			}
+			size = wordSize(fileSize);
+		}
+
+		// Validate the word once so reading the tape doesn't have to
+		for (long i = 0; i < size; ++i) {
+			if (byteIds[byteAt(i) & 0xFF] == Symbol.NO_ID) {
+				throw new IllegalArgumentException("Invalid word, the byte " + (byteAt(i) & 0xFF) + " at position " + i
+						+ " doesn't represent a symbol of the input alphabet");
+			}
+		}
+	}
+
+	/** Returns the size of the word, without the line terminator of the file */
+	private long wordSize(long fileSize) {
+		long wordSize = fileSize;
+		if (wordSize > 0 && byteAt(wordSize - 1) == '\n') {
+			wordSize -= 1;
+		}
+		if (wordSize > 0 && byteAt(wordSize - 1) == '\r') {
+			wordSize -= 1;
+		}
+		if (wordSize == 1 && byteAt(0) == Word.EMPTY_STRING_REPR.charAt(0)) {
+			wordSize = 0;
+		}
+		return wordSize;
+	}
+
+	private byte byteAt(long index) {
+		return chunks[(int) (index >>> CHUNK_BITS)].get((int) (index & CHUNK_MASK));
+	}
+
+	/** Returns the number of symbols of the word */
+	@Override
+	public long size() {
+		return size;
+	}
+
+	/** The word of the tape is the file, it can't be changed */
+	@Override
+	public void setInput(Word newWord) throws UnsupportedOperationException {
+		throw new UnsupportedOperationException("The word of a mapped input tape is the contents of its file");
+	}
+
+	@Override
+	public void rewind() {
+		position = 0;
+	}
+
+	@Override
+	public InputAlphabetSymbol peek() throws IndexOutOfBoundsException {
+		return getAlphabet().getSymbol(peekId());
+	}
+
+	@Override
+	public InputAlphabetSymbol consumeInput() throws IndexOutOfBoundsException {
+		return getAlphabet().getSymbol(consumeInputId());
+	}
+
+	@Override
+	public int peekId() throws IndexOutOfBoundsException {
+		if (position >= size) {
+			throw new IndexOutOfBoundsException("There are no more symbols in the input string");
+		}
+
+		return byteIds[byteAt(position) & 0xFF];
+	}
+
+	@Override
+	public int consumeInputId() throws IndexOutOfBoundsException {
+		int symbolId = peekId();
+		position += 1;
+
+		return symbolId;
+	}
+
+	@Override
+	public void revertConsumption() {
+		if (position <= 0) {
+			throw new IndexOutOfBoundsException("There are no more symbols in the input string");
+		}
+		position -= 1;
+	}
+
+	/**
+	 * Returns the position of the next symbol to read
+	 *
+	 * @throws ArithmeticException If the position doesn't fit in an int, use
+	 *                             {@link #getPosition()}
+	 */
+	@Override
+	public int getCurrentSymbolIndex() throws ArithmeticException {
+		return Math.toIntExact(position);
+	}
+
+	@Override
+	public long getPosition() {
+		return position;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return position >= size;
+	}
+
+	/** Shows the next symbols of the tape, the rest are left out */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		long end = Math.min(size, position + SHOWN_SYMBOLS);
+		for (long i = position; i < end; ++i) {
+			builder.append(getAlphabet().getSymbol(byteIds[byteAt(i) & 0xFF]));
+			builder.append(" ");
+		}
+		if (end < size) {
+			builder.append("... ");
+		}
+
+		return builder.toString();
+	}
+
+}
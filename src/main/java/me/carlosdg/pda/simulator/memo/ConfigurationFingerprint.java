@@ -0,0 +1,80 @@
+package me.carlosdg.pda.simulator.memo;
+
+import me.carlosdg.pda.simulator.stack.PdaStack;
+import me.carlosdg.pda.symbols.State;
+
+/**
+ * Compact 128 bit fingerprint of a PDA configuration (state, position in the
+ * input tape and stack contents). Equal configurations always have equal
+ * fingerprints and different configurations have different ones with
+ * overwhelming probability
+ *
+ * @author Carlos Domínguez García
+ */
+public class ConfigurationFingerprint {
+
+	/** First half of the fingerprint */
+	private final long high;
+	/** Second half of the fingerprint */
+	private final long low;
+
+	/** Creates a fingerprint from its two halves */
+	public ConfigurationFingerprint(long high, long low) {
+		this.high = high;
+		this.low = low;
+	}
+
+	/**
+	 * Returns the fingerprint of the given configuration
+	 *
+	 * @param state     Current state
+	 * @param tapeIndex Position of the next symbol to read from the input tape
+	 * @param stack     Current stack
+	 * @return Fingerprint of the configuration
+	 */
+	public static ConfigurationFingerprint of(State state, int tapeIndex, PdaStack stack) {
+		long stateHash = state.hashCode();
+		long high = mix(stack.fingerprintHigh() ^ (stateHash * 0x9E3779B97F4A7C15L) ^ tapeIndex);
+		long low = mix(stack.fingerprintLow() + stateHash + ((long) tapeIndex << 32));
+
+		return new ConfigurationFingerprint(high, low);
+	}
+
+	/** @return the first half of the fingerprint */
+	public long getHigh() {
+		return high;
+	}
+
+	/** @return the second half of the fingerprint */
+	public long getLow() {
+		return low;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (high ^ (high >>> 32));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		ConfigurationFingerprint other = (ConfigurationFingerprint) obj;
+		return high == other.high && low == other.low;
+	}
+
+	/** Bit mixer of SplitMix64, spreads every bit of the input over the output */
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+
+}
@@ -0,0 +1,149 @@
+package me.carlosdg.pda.simulator.memo;
+
+import java.util.Arrays;
+
+/**
+ * Bounded table of configurations that are already known not to lead to the
+ * acceptance of the input. The table is set associative: every fingerprint can
+ * only be stored in one bucket of {@value #BUCKET_SIZE} slots, and when the
+ * bucket is full one of its entries is evicted in round robin order. Forgetting
+ * a configuration is always safe, it only means that it may be explored again
+ *
+ * @author Carlos Domínguez García
+ */
+public class FailedConfigurationsMemo {
+
+	/** Number of slots of each bucket */
+	public static final int BUCKET_SIZE = 4;
+	/** Bytes of memory used by each slot of the table */
+	public static final int BYTES_PER_ENTRY = 2 * Long.BYTES + Integer.BYTES;
+
+	/** First half of the stored fingerprints */
+	private final long[] highs;
+	/** Second half of the stored fingerprints */
+	private final long[] lows;
+	/**
+	 * Run in which each slot was written. Slots written in previous runs are
+	 * considered empty so the table is cleared in constant time
+	 */
+	private final int[] epochs;
+	/** Mask to get the bucket of a fingerprint */
+	private final int bucketMask;
+	/** Current run */
+	private int currentEpoch = 1;
+	/** Next slot of a full bucket to be evicted */
+	private int nextVictim = 0;
+
+	// Counters of the current run
+	private long hits = 0;
+	private long insertions = 0;
+	private long evictions = 0;
+
+	/**
+	 * Creates a memo that stores at most the given number of configurations
+	 * (rounded down to a power of two, with a minimum of {@value #BUCKET_SIZE})
+	 *
+	 * @param maxEntries Maximum number of configurations to remember
+	 * @throws IllegalArgumentException If the given number is not positive
+	 */
+	public FailedConfigurationsMemo(int maxEntries) throws IllegalArgumentException {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("Invalid memo size " + maxEntries + ", it must be positive");
+		}
+
+		int capacity = Math.max(BUCKET_SIZE, Integer.highestOneBit(maxEntries));
+		highs = new long[capacity];
+		lows = new long[capacity];
+		epochs = new int[capacity];
+		bucketMask = capacity / BUCKET_SIZE - 1;
+	}
+
+	/**
+	 * Creates a memo whose table takes at most the given number of bytes
+	 *
+	 * @throws IllegalArgumentException If the limit is too small for a single
+	 *                                  bucket
+	 */
+	public static FailedConfigurationsMemo withMemoryLimit(long maxBytes) throws IllegalArgumentException {
+		long maxEntries = Math.min(maxBytes / BYTES_PER_ENTRY, 1 << 30);
+		if (maxEntries < BUCKET_SIZE) {
+			throw new IllegalArgumentException("Memory limit of " + maxBytes + " bytes too small for the memo");
+		}
+		return new FailedConfigurationsMemo((int) maxEntries);
+	}
+
+	/** Forgets every configuration and resets the counters */
+	public void clear() {
+		currentEpoch += 1;
+		if (currentEpoch == 0) {
+			// The epoch wrapped around, old slots could look current
+			Arrays.fill(epochs, 0);
+			currentEpoch = 1;
+		}
+		hits = 0;
+		insertions = 0;
+		evictions = 0;
+	}
+
+	/** Returns whether the given configuration is known to fail */
+	public boolean contains(ConfigurationFingerprint fingerprint) {
+		int start = bucketStart(fingerprint);
+		for (int slot = start; slot < start + BUCKET_SIZE; ++slot) {
+			if (epochs[slot] == currentEpoch && highs[slot] == fingerprint.getHigh()
+					&& lows[slot] == fingerprint.getLow()) {
+				hits += 1;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/** Remembers that the given configuration fails, evicting another if needed */
+	public void add(ConfigurationFingerprint fingerprint) {
+		int start = bucketStart(fingerprint);
+		int target = -1;
+		for (int slot = start; slot < start + BUCKET_SIZE && target < 0; ++slot) {
+			if (epochs[slot] != currentEpoch) {
+				target = slot;
+			}
+		}
+
+		if (target < 0) {
+			target = start + nextVictim;
+			nextVictim = (nextVictim + 1) % BUCKET_SIZE;
+			evictions += 1;
+		}
+
+		highs[target] = fingerprint.getHigh();
+		lows[target] = fingerprint.getLow();
+		epochs[target] = currentEpoch;
+		insertions += 1;
+	}
+
+	/** Returns the maximum number of configurations that can be remembered */
+	public int getCapacity() {
+		return highs.length;
+	}
+
+	/** Returns the number of lookups that found the configuration since the last clear */
+	public long getHits() {
+		return hits;
+	}
+
+	/** Returns the number of configurations added since the last clear */
+	public long getInsertions() {
+		return insertions;
+	}
+
+	/** Returns the number of configurations forgotten since the last clear */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/** Returns the first slot of the bucket of the given fingerprint */
+	private int bucketStart(ConfigurationFingerprint fingerprint) {
+		return ((int) fingerprint.getLow() & bucketMask) * BUCKET_SIZE;
+	}
+
+}
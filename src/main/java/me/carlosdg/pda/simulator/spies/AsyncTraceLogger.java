@@ -0,0 +1,358 @@
+package me.carlosdg.pda.simulator.spies;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.sets.StateSet;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.transition_function.StateStackSymbolsPair;
+import me.carlosdg.pda.transition_function.TransitionTable;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Listener that logs the trace of the runs without slowing them down. Each
+ * event is written as a fixed-size record of ints (tape positions take two)
+ * into a ring buffer, which is all the simulator thread does; a background
+ * thread drains the records, turns them into text with the names of the
+ * definition and writes them to a buffered writer. The trace has a line per event:
+ *
+ * <pre>
+ * p	0	1                 iteration: state, tape position and stack height
+ * 	𝛿(p, a, S) → (p, A S)   move about to be taken
+ * ~~~ rejected              end of a path
+ * 	← q	2	3               backtrack: state, tape position and stack height
+ * </pre>
+ *
+ * The buffer has a single producer and a single consumer and needs no locks:
+ * the positions of both are published with ordered writes. So runs must be
+ * notified one at a time, from one thread at a time. When the buffer is full
+ * the event is either dropped (and counted) or the simulator waits for the
+ * drain, see {@link OverflowPolicy}. Long traces can be sampled, logging 1 of
+ * every N events.
+ *
+ * The logger must be closed at the end to write the events left and stop the
+ * background thread
+ *
+ * @author Carlos Domínguez García
+ */
+public class AsyncTraceLogger implements PdaExecutionListener, AutoCloseable {
+
+	/** What to do with an event when the buffer is full */
+	public enum OverflowPolicy {
+		/** Drop the event, see {@link AsyncTraceLogger#getDroppedEvents()} */
+		DROP,
+		/** Wait until the background thread makes room, no event is lost */
+		BLOCK
+	}
+
+	/** Default number of records of the buffer */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+
+	/** Number of ints of a record: the kind of event and up to 4 arguments */
+	private static final int RECORD_SIZE = 5;
+	/** Time to sleep when the buffer is full or empty */
+	private static final long WAIT_NANOS = 50_000;
+
+	/** Records, RECORD_SIZE ints each */
+	private final int[] buffer;
+	/** Number of records minus one, the capacity is a power of two */
+	private final int mask;
+	/** Number of records written, only increased by the producer */
+	private final AtomicLong writeSequence = new AtomicLong();
+	/** Number of records drained, only increased by the consumer */
+	private final AtomicLong readSequence = new AtomicLong();
+	/** Producer copy of readSequence, refreshed only when the buffer looks full */
+	private long cachedReadSequence = 0;
+	/** Number of events dropped because the buffer was full */
+	private final AtomicLong droppedEvents = new AtomicLong();
+
+	private final OverflowPolicy overflowPolicy;
+	/** Only 1 of every sampling events is logged */
+	private final int sampling;
+	/** Events notified since the last one logged */
+	private int skippedEvents = 0;
+	private final int subscribedEvents;
+
+	// Used by the background thread to write the records as text
+	private final StateSet states;
+	private final InputAlphabet inputAlphabet;
+	private final StackAlphabet stackAlphabet;
+	private final TransitionTable transitionTable;
+	private final Writer output;
+	/** Whether closing the logger closes the writer too */
+	private final boolean closeOutput;
+	private final Thread drainThread;
+	private volatile boolean closed = false;
+	/** Error of the background thread writing the trace, if any */
+	private volatile IOException writeError;
+
+	/**
+	 * Creates a logger that writes the trace of the runs of the given automaton
+	 * to the given writer, which is closed with the logger
+	 *
+	 * @param capacity         Number of events of the buffer, rounded up to a
+	 *                         power of two
+	 * @param overflowPolicy   What to do with the events when the buffer is full
+	 * @param sampling         Logs 1 of every sampling events, 1 to log them all
+	 * @param subscribedEvents Kinds of events to log, see
+	 *                         {@link PdaExecutionListener}
+	 * @throws IllegalArgumentException If the capacity or the sampling are not
+	 *                                  positive
+	 */
+	public AsyncTraceLogger(EmptyStackPdaDefinition pdaDefinition, Writer output, int capacity,
+			OverflowPolicy overflowPolicy, int sampling, int subscribedEvents) throws IllegalArgumentException {
+		this(pdaDefinition, output, true, capacity, overflowPolicy, sampling, subscribedEvents);
+	}
+
+	private AsyncTraceLogger(EmptyStackPdaDefinition pdaDefinition, Writer output, boolean closeOutput, int capacity,
+			OverflowPolicy overflowPolicy, int sampling, int subscribedEvents) throws IllegalArgumentException {
+		if (capacity <= 0 || capacity > 1 << 28) {
+			throw new IllegalArgumentException("Invalid capacity of the trace buffer: " + capacity);
+		}
+		if (sampling <= 0) {
+			throw new IllegalArgumentException("Invalid sampling of the trace, it must be positive: " + sampling);
+		}
+		int records = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+		this.buffer = new int[records * RECORD_SIZE];
+		this.mask = records - 1;
+		this.overflowPolicy = overflowPolicy;
+		this.sampling = sampling;
+		this.subscribedEvents = subscribedEvents;
+		this.states = pdaDefinition.getSetOfStates();
+		this.inputAlphabet = pdaDefinition.getInputAlphabet();
+		this.stackAlphabet = pdaDefinition.getStackAlphabet();
+		this.transitionTable = pdaDefinition.getTransitionTable();
+		this.output = output instanceof BufferedWriter ? output : new BufferedWriter(output, 1 << 16);
+		this.closeOutput = closeOutput;
+
+		drainThread = new Thread(this::drain, "pda-trace-logger");
+		drainThread.setDaemon(true);
+		drainThread.start();
+	}
+
+	/**
+	 * Creates a logger of every event to the standard output that never drops
+	 * events. Closing it flushes the standard output but doesn't close it
+	 */
+	public static AsyncTraceLogger toStandardOutput(EmptyStackPdaDefinition pdaDefinition) {
+		return toStream(pdaDefinition, System.out, false);
+	}
+
+	/**
+	 * Creates a logger of every event to the given stream, with the default
+	 * capacity, that never drops events
+	 *
+	 * @param closeStream Whether closing the logger closes the stream
+	 */
+	public static AsyncTraceLogger toStream(EmptyStackPdaDefinition pdaDefinition, OutputStream stream,
+			boolean closeStream) {
+		return new AsyncTraceLogger(pdaDefinition, new OutputStreamWriter(stream, StandardCharsets.UTF_8), closeStream,
+				DEFAULT_CAPACITY, OverflowPolicy.BLOCK, 1, ALL_EVENTS);
+	}
+
+	@Override
+	public int getSubscribedEvents() {
+		return subscribedEvents;
+	}
+
+	@Override
+	public void iteration(int state, long tapePosition, int stackHeight) {
+		record(ITERATIONS, state, (int) (tapePosition >>> 32), (int) tapePosition, stackHeight);
+	}
+
+	@Override
+	public void move(int state, int stackTop, int inputSymbol, int moveIndex) {
+		record(MOVES, state, stackTop, inputSymbol, moveIndex);
+	}
+
+	@Override
+	public void pathFinished(boolean accepted) {
+		record(PATHS, accepted ? 1 : 0, 0, 0, 0);
+	}
+
+	@Override
+	public void backtrack(int state, long tapePosition, int stackHeight) {
+		record(BACKTRACKS, state, (int) (tapePosition >>> 32), (int) tapePosition, stackHeight);
+	}
+
+	/** Returns the number of events dropped because the buffer was full */
+	public long getDroppedEvents() {
+		return droppedEvents.get();
+	}
+
+	/**
+	 * Writes the events left, stops the background thread and closes (or, for
+	 * the standard output, flushes) the output
+	 *
+	 * @throws UncheckedIOException If the trace could not be written
+	 */
+	@Override
+	public void close() throws UncheckedIOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		LockSupport.unpark(drainThread);
+		boolean interrupted = false;
+		while (drainThread.isAlive()) {
+			try {
+				drainThread.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+
+		try {
+			if (closeOutput) {
+				output.close();
+			} else {
+				output.flush();
+			}
+		} catch (IOException e) {
+			writeError = writeError == null ? e : writeError;
+		}
+		if (writeError != null) {
+			throw new UncheckedIOException("Could not write the trace", writeError);
+		}
+	}
+
+	/** Writes an event into the buffer, called by the simulator thread */
+	private void record(int kind, int first, int second, int third, int fourth) {
+		if (sampling > 1) {
+			if (skippedEvents != 0) {
+				skippedEvents = skippedEvents + 1 == sampling ? 0 : skippedEvents + 1;
+				return;
+			}
+			skippedEvents = 1;
+		}
+
+		long sequence = writeSequence.get();
+		if (sequence - cachedReadSequence > mask) {
+			cachedReadSequence = readSequence.get();
+			while (sequence - cachedReadSequence > mask) {
+				if (overflowPolicy == OverflowPolicy.DROP || closed || !drainThread.isAlive()) {
+					droppedEvents.incrementAndGet();
+					return;
+				}
+				LockSupport.parkNanos(WAIT_NANOS);
+				cachedReadSequence = readSequence.get();
+			}
+		}
+
+		int position = (int) (sequence & mask) * RECORD_SIZE;
+		buffer[position] = kind;
+		buffer[position + 1] = first;
+		buffer[position + 2] = second;
+		buffer[position + 3] = third;
+		buffer[position + 4] = fourth;
+		// Ordered write, the record is visible to the consumer before the sequence
+		writeSequence.lazySet(sequence + 1);
+	}
+
+	/** Loop of the background thread, writes the records until the logger is closed */
+	private void drain() {
+		StringBuilder line = new StringBuilder();
+		long sequence = readSequence.get();
+		while (true) {
+			// Read the flag before the sequence, so nothing written before closing is missed
+			boolean isClosing = closed;
+			long available = writeSequence.get();
+			if (sequence == available) {
+				if (isClosing) {
+					return;
+				}
+				flush();
+				LockSupport.parkNanos(WAIT_NANOS);
+				continue;
+			}
+
+			for (; sequence < available; ++sequence) {
+				int position = (int) (sequence & mask) * RECORD_SIZE;
+				line.setLength(0);
+				format(line, buffer[position], buffer[position + 1], buffer[position + 2], buffer[position + 3],
+						buffer[position + 4]);
+				write(line);
+				// Give the slot back to the producer
+				readSequence.lazySet(sequence + 1);
+			}
+		}
+	}
+
+	/** Appends the text of a record to the given line */
+	private void format(StringBuilder line, int kind, int first, int second, int third, int fourth) {
+		switch (kind) {
+		case ITERATIONS:
+			line.append(states.getSymbol(first)).append('\t').append(tapePosition(second, third)).append('\t')
+					.append(fourth);
+			break;
+		case MOVES:
+			line.append("\t𝛿(").append(states.getSymbol(first)).append(", ")
+					.append(third == transitionTable.getEpsilonId() ? Word.EMPTY_STRING_REPR
+							: inputAlphabet.getSymbol(third).getRepresentation())
+					.append(", ").append(stackAlphabet.getSymbol(second)).append(") → (");
+			StateStackSymbolsPair pair = transitionTable.get(first, second, third)[fourth];
+			line.append(pair.getState()).append(", ");
+			if (pair.getSymbols().isEmpty()) {
+				line.append(Word.EMPTY_STRING_REPR);
+			}
+			for (StackAlphabetSymbol symbol : pair.getSymbols()) {
+				line.append(symbol).append(' ');
+			}
+			if (!pair.getSymbols().isEmpty()) {
+				line.setLength(line.length() - 1);
+			}
+			line.append(')');
+			break;
+		case PATHS:
+			line.append(first == 1 ? "~~~ accepted" : "~~~ rejected");
+			break;
+		case BACKTRACKS:
+			line.append("\t← ").append(states.getSymbol(first)).append('\t').append(tapePosition(second, third))
+					.append('\t').append(fourth);
+			break;
+		default:
+			line.append("? ").append(kind);
+		}
+	}
+
+	/** Joins the halves of a tape position, records only have ints */
+	private static long tapePosition(int high, int low) {
+		return ((long) high << 32) | (low & 0xFFFFFFFFL);
+	}
+
+	private void write(CharSequence line) {
+		if (writeError != null) {
+			return;
+		}
+		try {
+			output.append(line).append('\n');
+		} catch (IOException e) {
+			writeError = e;
+		}
+	}
+
+	private void flush() {
+		if (writeError != null) {
+			return;
+		}
+		try {
+			output.flush();
+		} catch (IOException e) {
+			writeError = e;
+		}
+	}
+
+}
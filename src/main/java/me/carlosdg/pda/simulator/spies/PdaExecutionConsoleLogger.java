@@ -8,7 +8,10 @@ import me.carlosdg.pda.symbols.State;
  * Spy that logs to the console the state of the automaton each iteration
  *
  * @author Carlos Domínguez García
+ * @deprecated Prints synchronously the whole tape and stack each iteration, use
+ *             {@link AsyncTraceLogger}
  */
+@Deprecated
 public class PdaExecutionConsoleLogger implements PdaExecutionSpy {
 
 	@Override
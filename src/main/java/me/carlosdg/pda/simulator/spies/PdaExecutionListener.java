@@ -0,0 +1,72 @@
+package me.carlosdg.pda.simulator.spies;
+
+/**
+ * Structured version of {@link PdaExecutionSpy}. The events only carry ids and
+ * numbers, so notifying them allocates nothing, and each listener subscribes
+ * to the kinds of events it needs (see {@link #getSubscribedEvents()}): the
+ * simulators check a bit of the subscribed events before building any event.
+ * The names of the ids can be found in the PDA definition and the
+ * descriptions of the transitions in its
+ * {@link me.carlosdg.pda.transition_function.TransitionDescriptions}
+ *
+ * @author Carlos Domínguez García
+ */
+public interface PdaExecutionListener {
+
+	/** A configuration is going to be explored, see {@link #iteration(int, long, int)} */
+	int ITERATIONS = 1;
+	/** A transition is going to be taken, see {@link #move(int, int, int, int)} */
+	int MOVES = 1 << 1;
+	/** A path of the search finished, see {@link #pathFinished(boolean)} */
+	int PATHS = 1 << 2;
+	/**
+	 * Every transition of a configuration was tried without accepting, see
+	 * {@link #backtrack(int, long, int)}
+	 */
+	int BACKTRACKS = 1 << 3;
+	/** Every kind of event */
+	int ALL_EVENTS = ITERATIONS | MOVES | PATHS | BACKTRACKS;
+
+	/**
+	 * Returns the kinds of events to be notified, a combination of the constants
+	 * of this interface. It is asked once at the start of each run
+	 */
+	int getSubscribedEvents();
+
+	/**
+	 * Called when a configuration is going to be explored
+	 *
+	 * @param state        Id of the state
+	 * @param tapePosition Position of the next input symbol of the tape
+	 * @param stackHeight  Number of symbols of the stack, 0 if the path finishes
+	 *                     here
+	 */
+	default void iteration(int state, long tapePosition, int stackHeight) {
+	}
+
+	/**
+	 * Called when a transition is going to be taken, the transition is the move
+	 * moveIndex of TransitionTable#get(state, stackTop, inputSymbol)
+	 *
+	 * @param inputSymbol Id of the consumed input symbol, or the epsilon id of the
+	 *                    table for epsilon moves
+	 */
+	default void move(int state, int stackTop, int inputSymbol, int moveIndex) {
+	}
+
+	/** Called when the current exploration path has finished */
+	default void pathFinished(boolean accepted) {
+	}
+
+	/**
+	 * Called when the search leaves a configuration with a non empty stack whose
+	 * transitions (if any) did not lead to accept the input
+	 *
+	 * @param state        Id of the state
+	 * @param tapePosition Position of the next input symbol of the tape
+	 * @param stackHeight  Number of symbols of the stack, the top included
+	 */
+	default void backtrack(int state, long tapePosition, int stackHeight) {
+	}
+
+}
@@ -0,0 +1,403 @@
+package me.carlosdg.pda.simulator.spies;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.sets.StateSet;
+import me.carlosdg.pda.simulator.PdaSimulator;
+import me.carlosdg.pda.transition_function.StateStackSymbolsPair;
+import me.carlosdg.pda.transition_function.TransitionDescriptions;
+import me.carlosdg.pda.transition_function.TransitionTable;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Counters of how the transitions of an automaton are used by the runs checked
+ * through {@link #accepts(PdaSimulator, Word)}: how many times each move was
+ * attempted, how many of those attempts led to accept the word and how many
+ * ended in a dead end (every path after the move was rejected). The moves that
+ * never fire have no attempts.
+ *
+ * Each thread counts on its own int counters, indexed by a flat id of the
+ * moves, so words can be checked from several threads without contention. The
+ * counters are allocated in chunks of 1024 moves when a move of the chunk is
+ * first taken, so a thread costs 12 bytes per move of the chunks it touches,
+ * and a counter that reaches Integer.MAX_VALUE is spilled into a shared long.
+ * The counters of all the threads are added up when asked for the results,
+ * which should be done once the runs have finished. The results can be written
+ * as a report sorted by attempts ({@link #writeReport(Writer)}) or as a DOT
+ * graph of the transitions weighted by attempts ({@link #writeDot(Writer)})
+ *
+ * @author Carlos Domínguez García
+ */
+public final class TransitionHeatMap {
+
+	/** Log2 of the number of moves of a chunk of counters */
+	private static final int CHUNK_BITS = 10;
+	/** Counters of each move: attempts, acceptances and dead ends */
+	private static final int ATTEMPTS = 0;
+	private static final int ACCEPTANCES = 1;
+	private static final int DEAD_ENDS = 2;
+	private static final int COUNTERS_PER_MOVE = 3;
+
+	private final StateSet states;
+	private final InputAlphabet inputAlphabet;
+	private final StackAlphabet stackAlphabet;
+	private final TransitionTable transitionTable;
+	private final TransitionDescriptions transitionDescriptions;
+
+	/** Id of the first move of each entry of the table plus the end */
+	private final int[] moveStarts;
+	/** Value at which the int counter of a thread is added to the shared ones */
+	private final int spillThreshold;
+	/** Counts spilled by the threads, by move and counter */
+	private final Map<Long, LongAdder> spilledCounters = new ConcurrentHashMap<>();
+	/** Counters of each thread */
+	private final List<Recorder> recorders = new CopyOnWriteArrayList<>();
+	private final ThreadLocal<Recorder> threadRecorder = ThreadLocal.withInitial(this::newRecorder);
+
+	/**
+	 * Creates the counters of the moves of the given automaton
+	 *
+	 * @throws IllegalArgumentException If the automaton has too many moves
+	 */
+	public TransitionHeatMap(EmptyStackPdaDefinition pdaDefinition) throws IllegalArgumentException {
+		this(pdaDefinition, Integer.MAX_VALUE);
+	}
+
+	/** Creates the counters spilling the ones of each thread at the given value */
+	TransitionHeatMap(EmptyStackPdaDefinition pdaDefinition, int spillThreshold) throws IllegalArgumentException {
+		this.spillThreshold = spillThreshold;
+		states = pdaDefinition.getSetOfStates();
+		inputAlphabet = pdaDefinition.getInputAlphabet();
+		stackAlphabet = pdaDefinition.getStackAlphabet();
+		transitionTable = pdaDefinition.getTransitionTable();
+		transitionDescriptions = pdaDefinition.getTransitionDescriptions();
+		if (transitionTable.getNumberOfMoves() > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(
+					"Too many transitions to count them: " + transitionTable.getNumberOfMoves());
+		}
+
+		moveStarts = new int[transitionTable.getNumberOfEntries() + 1];
+		for (int state = 0; state < states.size(); ++state) {
+			for (int stackTop = 0; stackTop < stackAlphabet.size(); ++stackTop) {
+				for (int input = 0; input <= transitionTable.getEpsilonId(); ++input) {
+					int entry = transitionTable.getEntryIndex(state, stackTop, input);
+					moveStarts[entry + 1] = transitionTable.get(state, stackTop, input).length;
+				}
+			}
+		}
+		for (int entry = 0; entry < transitionTable.getNumberOfEntries(); ++entry) {
+			moveStarts[entry + 1] += moveStarts[entry];
+		}
+	}
+
+	/**
+	 * Checks the given word with the given simulator counting its moves. The
+	 * simulator has to notify every event to its listeners, like the recursive,
+	 * iterative, deterministic and compiled simulators
+	 *
+	 * @return Whether the word is accepted
+	 */
+	public boolean accepts(PdaSimulator simulator, Word word) {
+		Recorder recorder = threadRecorder.get();
+		try {
+			return simulator.accepts(word, recorder);
+		} finally {
+			recorder.finishRun();
+		}
+	}
+
+	/** Returns the counters of every move sorted by attempts, the hottest first */
+	public List<TransitionHeat> getTransitions() {
+		List<TransitionHeat> transitions = new ArrayList<>(moveStarts[moveStarts.length - 1]);
+		for (int state = 0; state < states.size(); ++state) {
+			for (int stackTop = 0; stackTop < stackAlphabet.size(); ++stackTop) {
+				for (int input = 0; input <= transitionTable.getEpsilonId(); ++input) {
+					int firstMove = moveStarts[transitionTable.getEntryIndex(state, stackTop, input)];
+					StateStackSymbolsPair[] pairs = transitionTable.get(state, stackTop, input);
+					for (int moveIndex = 0; moveIndex < pairs.length; ++moveIndex) {
+						int move = firstMove + moveIndex;
+						transitions.add(new TransitionHeat(state, stackTop, input, moveIndex, total(move, ATTEMPTS),
+								total(move, ACCEPTANCES), total(move, DEAD_ENDS)));
+					}
+				}
+			}
+		}
+		transitions.sort(Comparator.comparingLong(TransitionHeat::getAttempts).reversed());
+		return transitions;
+	}
+
+	/**
+	 * Writes one line per move with its attempts, acceptances and dead ends, the
+	 * hottest first
+	 */
+	public void writeReport(Writer output) throws IOException {
+		List<TransitionHeat> transitions = getTransitions();
+		long neverTaken = 0;
+		output.write("attempts\taccepted\tdead ends\ttransition\n");
+		for (TransitionHeat transition : transitions) {
+			output.write(transition.getAttempts() + "\t" + transition.getAcceptances() + "\t"
+					+ transition.getDeadEnds() + "\t" + transitionDescriptions.describeMove(transition.getState(),
+							transition.getStackTop(), transition.getInputSymbol(), transition.getMoveIndex())
+					+ "\n");
+			neverTaken += transition.getAttempts() == 0 ? 1 : 0;
+		}
+		output.write("Never taken: " + neverTaken + " of " + transitions.size() + " transitions\n");
+		output.flush();
+	}
+
+	/**
+	 * Writes the transitions as a DOT graph of the states. Each move is an edge
+	 * labeled with its input symbol, stack top, pushed symbols and attempts,
+	 * wider and redder the more attempts it has. The moves never taken are
+	 * dashed
+	 */
+	public void writeDot(Writer output) throws IOException {
+		List<TransitionHeat> transitions = getTransitions();
+		long maxAttempts = transitions.isEmpty() ? 0 : transitions.get(0).getAttempts();
+
+		output.write("digraph pda {\n\trankdir=LR;\n");
+		for (int state = 0; state < states.size(); ++state) {
+			output.write("\t" + quote(states.getSymbol(state).getRepresentation()) + ";\n");
+		}
+		for (TransitionHeat transition : transitions) {
+			StateStackSymbolsPair pair = transitionTable.get(transition.getState(), transition.getStackTop(),
+					transition.getInputSymbol())[transition.getMoveIndex()];
+			String input = transition.getInputSymbol() == transitionTable.getEpsilonId() ? Word.EMPTY_STRING_REPR
+					: inputAlphabet.getSymbol(transition.getInputSymbol()).getRepresentation();
+			String label = input + ", " + stackAlphabet.getSymbol(transition.getStackTop()) + " / "
+					+ TransitionDescriptions.pushedSymbols(pair) + " (" + transition.getAttempts() + ")";
+
+			output.write("\t" + quote(states.getSymbol(transition.getState()).getRepresentation()) + " -> "
+					+ quote(pair.getState().getRepresentation()) + " [label=" + quote(label));
+			if (transition.getAttempts() == 0) {
+				output.write(", style=dashed, color=gray");
+			} else {
+				double heat = (double) transition.getAttempts() / maxAttempts;
+				output.write(String.format(Locale.ROOT, ", penwidth=%.2f, color=\"0.000 %.3f 0.900\"", 1 + 7 * heat, heat));
+			}
+			output.write("];\n");
+		}
+		output.write("}\n");
+		output.flush();
+	}
+
+	/** Returns the given counter of the given move added up over all the threads */
+	private long total(int move, int counter) {
+		long total = 0;
+		for (Recorder recorder : recorders) {
+			total += recorder.get(move, counter);
+		}
+		LongAdder spilled = spilledCounters.get(spilledKey(move, counter));
+		return spilled == null ? total : total + spilled.sum();
+	}
+
+	private static long spilledKey(int move, int counter) {
+		return (long) move * COUNTERS_PER_MOVE + counter;
+	}
+
+	/** Returns the given text as a DOT string */
+	private static String quote(String text) {
+		return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}
+
+	private Recorder newRecorder() {
+		int numberOfMoves = moveStarts[moveStarts.length - 1];
+		Recorder recorder = new Recorder((int) (((long) numberOfMoves + (1 << CHUNK_BITS) - 1) >>> CHUNK_BITS));
+		recorders.add(recorder);
+		return recorder;
+	}
+
+	/**
+	 * Counters of a thread. The moves of the current path are kept in a stack:
+	 * when the configuration reached by a move is left without accepting, the
+	 * move is a dead end, and when the word is accepted every move of the path
+	 * led to it
+	 */
+	private final class Recorder implements PdaExecutionListener {
+
+		/** Counters of each move by chunks of moves, null until a move of the chunk is taken */
+		private final int[][] chunks;
+		/** Moves of the current path */
+		private int[] path = new int[64];
+		private int pathLength = 0;
+		/** Whether the configuration of the last move of the path was explored */
+		private boolean lastMoveExplored = true;
+		/** Stack height of the last explored configuration */
+		private int lastStackHeight = 0;
+
+		Recorder(int numberOfChunks) {
+			chunks = new int[numberOfChunks][];
+		}
+
+		/** Returns the count of this thread not spilled yet */
+		long get(int move, int counter) {
+			int[] chunk = chunks[move >>> CHUNK_BITS];
+			return chunk == null ? 0 : chunk[indexInChunk(move, counter)];
+		}
+
+		private void increment(int move, int counter) {
+			int[] chunk = chunks[move >>> CHUNK_BITS];
+			if (chunk == null) {
+				chunk = new int[COUNTERS_PER_MOVE << CHUNK_BITS];
+				chunks[move >>> CHUNK_BITS] = chunk;
+			}
+			int index = indexInChunk(move, counter);
+			chunk[index] += 1;
+			if (chunk[index] >= spillThreshold) {
+				spilledCounters.computeIfAbsent(spilledKey(move, counter), key -> new LongAdder()).add(chunk[index]);
+				chunk[index] = 0;
+			}
+		}
+
+		private int indexInChunk(int move, int counter) {
+			return (move & ((1 << CHUNK_BITS) - 1)) * COUNTERS_PER_MOVE + counter;
+		}
+
+		@Override
+		public int getSubscribedEvents() {
+			return ALL_EVENTS;
+		}
+
+		@Override
+		public void iteration(int state, long tapePosition, int stackHeight) {
+			lastMoveExplored = true;
+			lastStackHeight = stackHeight;
+		}
+
+		@Override
+		public void move(int state, int stackTop, int inputSymbol, int moveIndex) {
+			leaveUnexploredMove();
+			int move = moveStarts[transitionTable.getEntryIndex(state, stackTop, inputSymbol)] + moveIndex;
+			increment(move, ATTEMPTS);
+			if (pathLength == path.length) {
+				int[] newPath = new int[path.length * 2];
+				System.arraycopy(path, 0, newPath, 0, pathLength);
+				path = newPath;
+			}
+			path[pathLength++] = move;
+			lastMoveExplored = false;
+		}
+
+		@Override
+		public void pathFinished(boolean accepted) {
+			if (accepted) {
+				while (pathLength > 0) {
+					increment(path[--pathLength], ACCEPTANCES);
+				}
+			} else if (lastStackHeight == 0) {
+				// Configurations with the empty stack are left without a backtrack
+				leaveMove();
+			}
+		}
+
+		@Override
+		public void backtrack(int state, long tapePosition, int stackHeight) {
+			leaveUnexploredMove();
+			leaveMove();
+		}
+
+		/** The rest of the path was rejected when a run ends without accepting */
+		void finishRun() {
+			while (pathLength > 0) {
+				leaveMove();
+			}
+			lastMoveExplored = true;
+			lastStackHeight = 0;
+		}
+
+		/** Leaves the configuration of the last move of the path as a dead end */
+		private void leaveMove() {
+			if (pathLength > 0) {
+				increment(path[--pathLength], DEAD_ENDS);
+			}
+		}
+
+		/**
+		 * Leaves the last move of the path if its configuration was not explored,
+		 * which happens when a simulator prunes it (see
+		 * me.carlosdg.pda.simulator.memo)
+		 */
+		private void leaveUnexploredMove() {
+			if (!lastMoveExplored) {
+				leaveMove();
+				lastMoveExplored = true;
+			}
+		}
+
+	}
+
+	/**
+	 * Counters of a move, the move moveIndex of TransitionTable#get(state,
+	 * stackTop, inputSymbol)
+	 */
+	public static final class TransitionHeat {
+
+		private final int state;
+		private final int stackTop;
+		private final int inputSymbol;
+		private final int moveIndex;
+		private final long attempts;
+		private final long acceptances;
+		private final long deadEnds;
+
+		TransitionHeat(int state, int stackTop, int inputSymbol, int moveIndex, long attempts, long acceptances,
+				long deadEnds) {
+			this.state = state;
+			this.stackTop = stackTop;
+			this.inputSymbol = inputSymbol;
+			this.moveIndex = moveIndex;
+			this.attempts = attempts;
+			this.acceptances = acceptances;
+			this.deadEnds = deadEnds;
+		}
+
+		/** Returns the id of the state of the move */
+		public int getState() {
+			return state;
+		}
+
+		/** Returns the id of the stack top of the move */
+		public int getStackTop() {
+			return stackTop;
+		}
+
+		/** Returns the id of the input symbol of the move, the epsilon id for epsilon moves */
+		public int getInputSymbol() {
+			return inputSymbol;
+		}
+
+		/** Returns the position of the move in TransitionTable#get(state, stackTop, inputSymbol) */
+		public int getMoveIndex() {
+			return moveIndex;
+		}
+
+		/** Returns how many times the move was taken */
+		public long getAttempts() {
+			return attempts;
+		}
+
+		/** Returns how many times the move was part of the accepting path */
+		public long getAcceptances() {
+			return acceptances;
+		}
+
+		/** Returns how many times every path after the move was rejected */
+		public long getDeadEnds() {
+			return deadEnds;
+		}
+
+	}
+
+}
@@ -0,0 +1,139 @@
+package me.carlosdg.pda.simulator.stack;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.Symbol;
+
+/**
+ * PDA Stack that stores the symbols by their id in an array that grows by
+ * doubling, so pushing and popping does not allocate nor hash anything. Copying
+ * it takes time proportional to its size
+ *
+ * @author Carlos Domínguez García
+ */
+public class ArrayPdaStack extends PdaStack {
+
+	/** Ids of the symbols in the stack, from the bottom to the top */
+	private int[] symbolIds = new int[32];
+	/** Number of symbols in the stack */
+	private int size = 0;
+	/**
+	 * Two independent hashes of the stack contents from the bottom up to each
+	 * height, so the fingerprint of the whole stack is known without traversing it.
+	 * They are computed lazily, only when a fingerprint is asked for
+	 */
+	private long[] prefixHashes = new long[66];
+	/** Height up to which the prefix hashes are valid */
+	private int hashedHeight = 0;
+
+	/** Creates a PDA Stack with the given alphabet and initial top symbol */
+	public ArrayPdaStack(StackAlphabet alphabet, StackAlphabetSymbol initialSymbol) {
+		super(alphabet, initialSymbol);
+		pushId(initialSymbolId);
+	}
+
+	/** Creates an independent copy of the given stack */
+	public ArrayPdaStack(ArrayPdaStack other) {
+		super(other);
+		symbolIds = other.symbolIds.clone();
+		size = other.size;
+		prefixHashes = other.prefixHashes.clone();
+		hashedHeight = other.hashedHeight;
+	}
+
+	@Override
+	public ArrayPdaStack copy() {
+		return new ArrayPdaStack(this);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void pushId(int symbolId) {
+		ensureCapacity(size + 1);
+		symbolIds[size++] = symbolId;
+	}
+
+	/** Pushes all the symbols with a single array copy */
+	@Override
+	public void pushReversed(int[] reversedSymbolIds) {
+		ensureCapacity(size + reversedSymbolIds.length);
+		System.arraycopy(reversedSymbolIds, 0, symbolIds, size, reversedSymbolIds.length);
+		size += reversedSymbolIds.length;
+	}
+
+	@Override
+	public int popId() throws EmptyStackException {
+		if (size == 0) {
+			throw new EmptyStackException();
+		}
+		size -= 1;
+		hashedHeight = Math.min(hashedHeight, size);
+		return symbolIds[size];
+	}
+
+	@Override
+	public void truncate(int height) throws IllegalArgumentException {
+		if (height < 0 || height > size) {
+			throw new IllegalArgumentException("Invalid height " + height + " for a stack of size " + size);
+		}
+		size = height;
+		hashedHeight = Math.min(hashedHeight, size);
+	}
+
+	@Override
+	public void reset() {
+		size = 0;
+		hashedHeight = 0;
+		pushId(initialSymbolId);
+	}
+
+	@Override
+	public int peekId() {
+		return size == 0 ? Symbol.NO_ID : symbolIds[size - 1];
+	}
+
+	@Override
+	public int[] getSymbolIds() {
+		return Arrays.copyOf(symbolIds, size);
+	}
+
+	@Override
+	public long fingerprintHigh() {
+		updatePrefixHashes();
+		return prefixHashes[2 * size];
+	}
+
+	@Override
+	public long fingerprintLow() {
+		updatePrefixHashes();
+		return prefixHashes[2 * size + 1];
+	}
+
+	/** Makes sure that the stack can hold the given number of symbols */
+	private void ensureCapacity(int capacity) {
+		if (capacity > symbolIds.length) {
+			symbolIds = Arrays.copyOf(symbolIds, Math.max(2 * symbolIds.length, capacity));
+		}
+	}
+
+	/** Computes the hashes of the symbols pushed since the last fingerprint */
+	private void updatePrefixHashes() {
+		if (2 * size + 1 >= prefixHashes.length) {
+			prefixHashes = Arrays.copyOf(prefixHashes, Math.max(2 * prefixHashes.length, 2 * size + 2));
+		}
+
+		for (; hashedHeight < size; ++hashedHeight) {
+			int position = 2 * (hashedHeight + 1);
+			prefixHashes[position] = nextFingerprintHigh(prefixHashes[position - 2], symbolIds[hashedHeight]);
+			prefixHashes[position + 1] = nextFingerprintLow(prefixHashes[position - 1], symbolIds[hashedHeight]);
+		}
+	}
+
+}
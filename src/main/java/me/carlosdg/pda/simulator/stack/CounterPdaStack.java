@@ -0,0 +1,139 @@
+package me.carlosdg.pda.simulator.stack;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.Symbol;
+
+/**
+ * PDA Stack for automata whose stack is a counter: any number of copies of a
+ * counter symbol above the initial symbol, which can only be at the bottom
+ * (see EmptyStackPdaDefinition#getCounterStackSymbol()). The stack is just an
+ * integer, so it takes constant memory and time for any operation
+ *
+ * @author Carlos Domínguez García
+ */
+public class CounterPdaStack extends PdaStack {
+
+	/** Id of the counter symbol */
+	private final int counterSymbolId;
+	/** Number of counter symbols in the stack */
+	private int count;
+	/** Whether the initial symbol is at the bottom, never if it is the counter symbol */
+	private boolean hasBottom;
+
+	/**
+	 * Creates a PDA Stack with the given alphabet, initial top symbol and counter
+	 * symbol. Throws if the symbols do not belong to the alphabet
+	 */
+	public CounterPdaStack(StackAlphabet alphabet, StackAlphabetSymbol initialSymbol,
+			StackAlphabetSymbol counterSymbol) throws IllegalArgumentException {
+		super(alphabet, initialSymbol);
+		if (!alphabet.has(counterSymbol)) {
+			throw new IllegalArgumentException(
+					"Invalid counter symbol '" + counterSymbol + "'. It doesn't belong to the stack alphabet");
+		}
+		counterSymbolId = alphabet.getId(counterSymbol);
+		reset();
+	}
+
+	/** Creates an independent copy of the given stack */
+	public CounterPdaStack(CounterPdaStack other) {
+		super(other);
+		counterSymbolId = other.counterSymbolId;
+		count = other.count;
+		hasBottom = other.hasBottom;
+	}
+
+	@Override
+	public CounterPdaStack copy() {
+		return new CounterPdaStack(this);
+	}
+
+	@Override
+	public int size() {
+		return count + (hasBottom ? 1 : 0);
+	}
+
+	/**
+	 * Pushes the symbol with the given id
+	 *
+	 * @throws IllegalArgumentException If the symbol is not the counter symbol, or
+	 *                                  the initial symbol on an empty stack
+	 */
+	@Override
+	public void pushId(int symbolId) throws IllegalArgumentException {
+		if (symbolId == counterSymbolId) {
+			count += 1;
+		} else if (symbolId == initialSymbolId && size() == 0) {
+			hasBottom = true;
+		} else {
+			throw new IllegalArgumentException("Asked to push the symbol with id " + symbolId
+					+ " to a counter stack. Only the counter symbol can be above the initial symbol");
+		}
+	}
+
+	@Override
+	public int popId() throws EmptyStackException {
+		if (count > 0) {
+			count -= 1;
+			return counterSymbolId;
+		}
+		if (hasBottom) {
+			hasBottom = false;
+			return initialSymbolId;
+		}
+		throw new EmptyStackException();
+	}
+
+	@Override
+	public void truncate(int height) throws IllegalArgumentException {
+		if (height < 0 || height > size()) {
+			throw new IllegalArgumentException("Invalid height " + height + " for a stack of size " + size());
+		}
+		if (hasBottom) {
+			hasBottom = height > 0;
+			count = Math.max(height - 1, 0);
+		} else {
+			count = height;
+		}
+	}
+
+	@Override
+	public void reset() {
+		boolean isInitialTheCounter = initialSymbolId == counterSymbolId;
+		count = isInitialTheCounter ? 1 : 0;
+		hasBottom = !isInitialTheCounter;
+	}
+
+	@Override
+	public int peekId() {
+		if (count > 0) {
+			return counterSymbolId;
+		}
+		return hasBottom ? initialSymbolId : Symbol.NO_ID;
+	}
+
+	@Override
+	public int[] getSymbolIds() {
+		int[] symbolIds = new int[size()];
+		Arrays.fill(symbolIds, counterSymbolId);
+		if (hasBottom) {
+			symbolIds[0] = initialSymbolId;
+		}
+		return symbolIds;
+	}
+
+	@Override
+	public long fingerprintHigh() {
+		return nextFingerprintHigh(hasBottom ? 1 : 0, count);
+	}
+
+	@Override
+	public long fingerprintLow() {
+		return nextFingerprintLow(hasBottom ? 1 : 0, count);
+	}
+
+}
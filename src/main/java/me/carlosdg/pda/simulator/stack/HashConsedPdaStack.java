@@ -0,0 +1,147 @@
+package me.carlosdg.pda.simulator.stack;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.Symbol;
+
+/**
+ * PDA Stack made of unique immutable nodes (see {@link StackNode}). Pushing
+ * shares the rest of the stack, so copying the stack only copies a reference
+ * to its top node, and the size and fingerprint are stored in the top node.
+ * Copies share the pool of nodes, so two stacks with a common ancestor are
+ * equal if and only if their top nodes are the same object. In exchange every
+ * push looks the node up in the pool
+ *
+ * @author Carlos Domínguez García
+ */
+public class HashConsedPdaStack extends PdaStack {
+
+	/** Pool of the nodes, shared with the copies of this stack */
+	private StackNodePool pool;
+	/** Top node, null if the stack is empty */
+	private StackNode top;
+
+	/** Creates a PDA Stack with the given alphabet and initial top symbol */
+	public HashConsedPdaStack(StackAlphabet alphabet, StackAlphabetSymbol initialSymbol) {
+		super(alphabet, initialSymbol);
+		reset();
+	}
+
+	/** Creates a copy of the given stack sharing its nodes */
+	public HashConsedPdaStack(HashConsedPdaStack other) {
+		super(other);
+		pool = other.pool;
+		top = other.top;
+	}
+
+	/** Returns a copy of this stack in constant time */
+	@Override
+	public HashConsedPdaStack copy() {
+		return new HashConsedPdaStack(this);
+	}
+
+	/** Returns the top node, null if the stack is empty */
+	public StackNode getTop() {
+		return top;
+	}
+
+	@Override
+	public int size() {
+		return StackNode.size(top);
+	}
+
+	@Override
+	public void pushId(int symbolId) {
+		top = pool.intern(symbolId, top);
+	}
+
+	@Override
+	public void pushReversed(int[] reversedSymbolIds) {
+		top = pool.intern(reversedSymbolIds, top);
+	}
+
+	@Override
+	public int popId() throws EmptyStackException {
+		if (top == null) {
+			throw new EmptyStackException();
+		}
+		int symbolId = top.getSymbolId();
+		top = top.getBelow();
+		return symbolId;
+	}
+
+	@Override
+	public void truncate(int height) throws IllegalArgumentException {
+		if (height < 0 || height > size()) {
+			throw new IllegalArgumentException("Invalid height " + height + " for a stack of size " + size());
+		}
+		while (size() > height) {
+			top = top.getBelow();
+		}
+	}
+
+	/**
+	 * Starts a new pool with the initial symbol as the only node, the nodes of the
+	 * previous contents are left to the copies that still use them
+	 */
+	@Override
+	public void reset() {
+		pool = new StackNodePool();
+		top = pool.intern(initialSymbolId, null);
+	}
+
+	@Override
+	public int peekId() {
+		return top == null ? Symbol.NO_ID : top.getSymbolId();
+	}
+
+	@Override
+	public int[] getSymbolIds() {
+		int[] symbolIds = new int[size()];
+		StackNode node = top;
+		for (int i = symbolIds.length - 1; i >= 0; --i) {
+			symbolIds[i] = node.getSymbolId();
+			node = node.getBelow();
+		}
+		return symbolIds;
+	}
+
+	@Override
+	public long fingerprintHigh() {
+		return StackNode.fingerprintHigh(top);
+	}
+
+	@Override
+	public long fingerprintLow() {
+		return StackNode.fingerprintLow(top);
+	}
+
+	/**
+	 * Stacks sharing the pool are compared by the identity of their top nodes,
+	 * otherwise by their contents
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		HashConsedPdaStack other = (HashConsedPdaStack) obj;
+		if (top == other.top || pool == other.pool) {
+			return top == other.top;
+		}
+		return size() == other.size() && fingerprintHigh() == other.fingerprintHigh()
+				&& Arrays.equals(getSymbolIds(), other.getSymbolIds());
+	}
+
+	@Override
+	public int hashCode() {
+		return top == null ? 0 : top.hashCode();
+	}
+
+}
@@ -1,36 +1,55 @@
 package me.carlosdg.pda.simulator.stack;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.EmptyStackException;
 import java.util.List;
+
 import me.carlosdg.pda.sets.StackAlphabet;
 import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.Symbol;
 
 /**
- * PDA Stack
+ * PDA Stack. The symbols are handled by their id in the stack alphabet, the
+ * way they are stored is left to the implementations (see
+ * {@link StackImplementation}). Stacks of the same implementation with the
+ * same contents have the same fingerprints
  *
  * @author Carlos Domínguez García
  */
-public class PdaStack {
+public abstract class PdaStack {
 
 	/** Stack alphabet (set of allowed symbols to be on the stack) */
-	private StackAlphabet alphabet;
-	/** Stack */
-	private Deque<StackAlphabetSymbol> stack = new ArrayDeque<>();
-	/** Initial stack top */
-	private StackAlphabetSymbol initialSymbol;
-
-	/** Creates a PDA Stack with the given alphabet and initial top symbol */
-	public PdaStack(StackAlphabet alphabet, StackAlphabetSymbol initialSymbol) {
+	protected final StackAlphabet alphabet;
+	/** Id of the initial stack top */
+	protected final int initialSymbolId;
+
+	/**
+	 * Creates a PDA Stack with the given alphabet and initial top symbol. Throws if
+	 * the initial symbol doesn't belong to the alphabet
+	 */
+	protected PdaStack(StackAlphabet alphabet, StackAlphabetSymbol initialSymbol) {
+		if (!alphabet.has(initialSymbol)) {
+			throw new IllegalArgumentException(
+					"Invalid initial stack symbol '" + initialSymbol + "'. It doesn't belong to the stack alphabet");
+		}
 		this.alphabet = alphabet;
-		setInitialSymbol(initialSymbol);
-		push(initialSymbol);
+		this.initialSymbolId = alphabet.getId(initialSymbol);
 	}
 
+	/** Creates a stack with the same alphabet and initial symbol as the given one */
+	protected PdaStack(PdaStack other) {
+		alphabet = other.alphabet;
+		initialSymbolId = other.initialSymbolId;
+	}
+
+	/** Returns an independent copy of this stack */
+	public abstract PdaStack copy();
+
+	/** Returns the number of symbols in the stack */
+	public abstract int size();
+
 	/** Returns whether the stack is empty or not */
 	public boolean isEmpty() {
-		return stack.isEmpty();
+		return size() == 0;
 	}
 
 	/**
@@ -38,11 +57,12 @@ public class PdaStack {
 	 * of the the alphabet
 	 */
 	public void push(StackAlphabetSymbol newSymbol) throws IllegalArgumentException {
-		if (!alphabet.has(newSymbol)) {
+		int id = alphabet.getId(newSymbol);
+		if (id == Symbol.NO_ID) {
 			throw new IllegalArgumentException(
 					"Asked to push Symbol(" + newSymbol + ") to the stack but it doesn't belong to the stack alphabet");
 		}
-		stack.push(newSymbol);
+		pushId(id);
 	}
 
 	/**
@@ -55,46 +75,103 @@ public class PdaStack {
 		}
 	}
 
+	/**
+	 * Pushes the symbol with the given id. The id is not checked, it must be the id
+	 * of a symbol of the stack alphabet
+	 */
+	public abstract void pushId(int symbolId);
+
+	/**
+	 * Pushes the symbols with the given ids, in the order given (so the last one
+	 * ends at the top). This is the reverse of the order used by the transitions,
+	 * see StateStackSymbolsPair#getReversedSymbolIds(). The ids are not checked,
+	 * they must be ids of symbols of the stack alphabet
+	 */
+	public void pushReversed(int[] reversedSymbolIds) {
+		for (int symbolId : reversedSymbolIds) {
+			pushId(symbolId);
+		}
+	}
+
 	/** Removes the top symbol from the stack and returns it */
 	public StackAlphabetSymbol pop() throws EmptyStackException {
-		return stack.pop();
+		return alphabet.getSymbol(popId());
 	}
 
+	/** Removes the top symbol from the stack and returns its id */
+	public abstract int popId() throws EmptyStackException;
+
 	/** Removes the given number of elements from the top of the stack */
 	public void pop(int numberElementsToPop) throws EmptyStackException {
-		for (int i = 0; i < numberElementsToPop; ++i) {
-			pop();
+		if (numberElementsToPop > size()) {
+			throw new EmptyStackException();
 		}
+		truncate(size() - numberElementsToPop);
 	}
 
-	/** Removes all symbols from the stack and inserts the given symbol */
-	public void reset() {
-		stack.clear();
-		push(initialSymbol);
+	/**
+	 * Removes every symbol above the given height
+	 *
+	 * @throws IllegalArgumentException If the height is negative or greater than
+	 *                                  the size of the stack
+	 */
+	public abstract void truncate(int height) throws IllegalArgumentException;
+
+	/** Removes all symbols from the stack and inserts the initial symbol */
+	public abstract void reset();
+
+	/** Returns the symbol at the top of the stack, null if the stack is empty */
+	public StackAlphabetSymbol peek() {
+		return isEmpty() ? null : alphabet.getSymbol(peekId());
 	}
 
-	/** Sets the initial symbol. Throws if it doesn't belong to the alphabet */
-	private void setInitialSymbol(StackAlphabetSymbol newInitialSymbol) {
-		if (!alphabet.has(newInitialSymbol)) {
-			throw new IllegalArgumentException(
-					"Invalid initial stack symbol '" + newInitialSymbol + "'. It doesn't belong to the stack alphabet");
-		}
-		initialSymbol = newInitialSymbol;
+	/** Returns the id of the symbol at the top of the stack, Symbol.NO_ID if empty */
+	public abstract int peekId();
+
+	/** Returns the ids of the symbols in the stack, from the bottom to the top */
+	public abstract int[] getSymbolIds();
+
+	/**
+	 * Returns the first half of a 128 bit fingerprint of the stack contents. Equal
+	 * stacks always have equal fingerprints and different stacks have different
+	 * ones with overwhelming probability
+	 */
+	public abstract long fingerprintHigh();
+
+	/** Returns the second half of the fingerprint, @see #fingerprintHigh() */
+	public abstract long fingerprintLow();
+
+	/**
+	 * Returns the first half of the fingerprint of the stack made of the stack with
+	 * the given fingerprint and the given symbol on top of it. The empty stack has
+	 * a fingerprint of zero
+	 */
+	protected static long nextFingerprintHigh(long fingerprintHigh, int symbolId) {
+		return mix(fingerprintHigh * 0x9E3779B97F4A7C15L + symbolId + 1);
+	}
+
+	/** Second half of the fingerprint, @see #nextFingerprintHigh(long, int) */
+	protected static long nextFingerprintLow(long fingerprintLow, int symbolId) {
+		return mix(fingerprintLow * 0xC2B2AE3D27D4EB4FL + ~(symbolId + 1L));
+	}
+
+	/** Bit mixer of SplitMix64, spreads every bit of the input over the output */
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
 	}
 
 	@Override
 	public String toString() {
+		int[] symbolIds = getSymbolIds();
 		StringBuilder builder = new StringBuilder();
-		for (StackAlphabetSymbol symbol : stack) {
-			builder.append(symbol);
+		for (int i = symbolIds.length - 1; i >= 0; --i) {
+			builder.append(alphabet.getSymbol(symbolIds[i]));
 			builder.append(" ");
 		}
 
 		return builder.toString();
 	}
 
-	public StackAlphabetSymbol peek() {
-		return stack.peek();
-	}
-
 }
@@ -0,0 +1,166 @@
+package me.carlosdg.pda.simulator.stack;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.Symbol;
+
+/**
+ * PDA Stack that stores runs of equal symbols as (symbol, count) pairs, so
+ * pushing the same symbol n times takes constant memory and removing a run
+ * takes a single step. The runs are always maximal (two consecutive runs never
+ * have the same symbol) so the fingerprint is computed over the runs, it is
+ * not the same as the one of the other implementations
+ *
+ * @author Carlos Domínguez García
+ */
+public class RunLengthPdaStack extends PdaStack {
+
+	/** Symbol id of each run, from the bottom to the top */
+	private int[] runSymbolIds = new int[8];
+	/** Number of symbols of each run */
+	private int[] runCounts = new int[8];
+	/** Number of runs */
+	private int runs = 0;
+	/** Number of symbols in the stack */
+	private int size = 0;
+	/** Two independent hashes of the runs from the bottom up to each run */
+	private long[] runHashes = new long[16];
+	/** Number of runs, from the bottom, whose hash is valid */
+	private int hashedRuns = 0;
+
+	/** Creates a PDA Stack with the given alphabet and initial top symbol */
+	public RunLengthPdaStack(StackAlphabet alphabet, StackAlphabetSymbol initialSymbol) {
+		super(alphabet, initialSymbol);
+		pushId(initialSymbolId);
+	}
+
+	/** Creates an independent copy of the given stack */
+	public RunLengthPdaStack(RunLengthPdaStack other) {
+		super(other);
+		runSymbolIds = other.runSymbolIds.clone();
+		runCounts = other.runCounts.clone();
+		runs = other.runs;
+		size = other.size;
+		runHashes = other.runHashes.clone();
+		hashedRuns = other.hashedRuns;
+	}
+
+	@Override
+	public RunLengthPdaStack copy() {
+		return new RunLengthPdaStack(this);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/** Returns the number of runs of equal symbols */
+	public int getNumberOfRuns() {
+		return runs;
+	}
+
+	@Override
+	public void pushId(int symbolId) {
+		if (runs > 0 && runSymbolIds[runs - 1] == symbolId) {
+			runCounts[runs - 1] += 1;
+		} else {
+			if (runs == runSymbolIds.length) {
+				runSymbolIds = Arrays.copyOf(runSymbolIds, 2 * runs);
+				runCounts = Arrays.copyOf(runCounts, 2 * runs);
+			}
+			runSymbolIds[runs] = symbolId;
+			runCounts[runs] = 1;
+			runs += 1;
+		}
+		size += 1;
+		hashedRuns = Math.min(hashedRuns, runs - 1);
+	}
+
+	@Override
+	public int popId() throws EmptyStackException {
+		if (size == 0) {
+			throw new EmptyStackException();
+		}
+		int symbolId = runSymbolIds[runs - 1];
+		removeFromTopRun(1);
+		return symbolId;
+	}
+
+	@Override
+	public void truncate(int height) throws IllegalArgumentException {
+		if (height < 0 || height > size) {
+			throw new IllegalArgumentException("Invalid height " + height + " for a stack of size " + size);
+		}
+		while (size > height) {
+			removeFromTopRun(Math.min(runCounts[runs - 1], size - height));
+		}
+	}
+
+	@Override
+	public void reset() {
+		runs = 0;
+		size = 0;
+		hashedRuns = 0;
+		pushId(initialSymbolId);
+	}
+
+	@Override
+	public int peekId() {
+		return size == 0 ? Symbol.NO_ID : runSymbolIds[runs - 1];
+	}
+
+	@Override
+	public int[] getSymbolIds() {
+		int[] symbolIds = new int[size];
+		int position = 0;
+		for (int run = 0; run < runs; ++run) {
+			Arrays.fill(symbolIds, position, position + runCounts[run], runSymbolIds[run]);
+			position += runCounts[run];
+		}
+		return symbolIds;
+	}
+
+	@Override
+	public long fingerprintHigh() {
+		updateRunHashes();
+		return runs == 0 ? 0 : runHashes[2 * runs - 2];
+	}
+
+	@Override
+	public long fingerprintLow() {
+		updateRunHashes();
+		return runs == 0 ? 0 : runHashes[2 * runs - 1];
+	}
+
+	/** Removes the given number of symbols (at most its count) from the top run */
+	private void removeFromTopRun(int numberOfSymbols) {
+		runCounts[runs - 1] -= numberOfSymbols;
+		size -= numberOfSymbols;
+		if (runCounts[runs - 1] == 0) {
+			runs -= 1;
+		}
+		hashedRuns = Math.min(hashedRuns, Math.max(runs - 1, 0));
+	}
+
+	/** Computes the hashes of the runs changed since the last fingerprint */
+	private void updateRunHashes() {
+		if (2 * runs > runHashes.length) {
+			runHashes = Arrays.copyOf(runHashes, Math.max(2 * runHashes.length, 2 * runs));
+		}
+
+		for (; hashedRuns < runs; ++hashedRuns) {
+			int position = 2 * hashedRuns;
+			long previousHigh = hashedRuns == 0 ? 0 : runHashes[position - 2];
+			long previousLow = hashedRuns == 0 ? 0 : runHashes[position - 1];
+			runHashes[position] = nextFingerprintHigh(nextFingerprintHigh(previousHigh, runSymbolIds[hashedRuns]),
+					runCounts[hashedRuns]);
+			runHashes[position + 1] = nextFingerprintLow(nextFingerprintLow(previousLow, runSymbolIds[hashedRuns]),
+					runCounts[hashedRuns]);
+		}
+	}
+
+}
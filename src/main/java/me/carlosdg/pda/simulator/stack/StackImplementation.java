@@ -0,0 +1,59 @@
+package me.carlosdg.pda.simulator.stack;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+
+/**
+ * Implementations of the PDA Stack that the simulators can run on
+ *
+ * @author Carlos Domínguez García
+ */
+public enum StackImplementation {
+
+	/** Array of symbol ids, the fastest push and pop, see {@link ArrayPdaStack} */
+	ARRAY {
+		@Override
+		public PdaStack create(StackAlphabet alphabet, StackAlphabetSymbol initialSymbol) {
+			return new ArrayPdaStack(alphabet, initialSymbol);
+		}
+	},
+
+	/** Unique linked nodes, copies in constant time, see {@link HashConsedPdaStack} */
+	HASH_CONSED {
+		@Override
+		public PdaStack create(StackAlphabet alphabet, StackAlphabetSymbol initialSymbol) {
+			return new HashConsedPdaStack(alphabet, initialSymbol);
+		}
+	},
+
+	/**
+	 * Runs of equal symbols, see {@link RunLengthPdaStack}. For automata whose
+	 * stack is a counter an integer counter is used instead, see
+	 * {@link CounterPdaStack}
+	 */
+	RUN_LENGTH {
+		@Override
+		public PdaStack create(StackAlphabet alphabet, StackAlphabetSymbol initialSymbol) {
+			return new RunLengthPdaStack(alphabet, initialSymbol);
+		}
+
+		@Override
+		public PdaStack create(EmptyStackPdaDefinition pdaDefinition) {
+			if (pdaDefinition.getCounterStackSymbol().isPresent()) {
+				return new CounterPdaStack(pdaDefinition.getStackAlphabet(), pdaDefinition.getInitialStackTop(),
+						pdaDefinition.getCounterStackSymbol().get());
+			}
+			return super.create(pdaDefinition);
+		}
+	};
+
+	/** Creates a stack of this implementation with the given alphabet and initial top symbol */
+	public abstract PdaStack create(StackAlphabet alphabet, StackAlphabetSymbol initialSymbol);
+
+	/** Creates a stack of this implementation for the given automaton */
+	public PdaStack create(EmptyStackPdaDefinition pdaDefinition) {
+		return create(pdaDefinition.getStackAlphabet(), pdaDefinition.getInitialStackTop());
+	}
+
+}
@@ -0,0 +1,90 @@
+package me.carlosdg.pda.simulator.stack;
+
+/**
+ * Immutable node of a linked stack: a symbol on top of the rest of the stack
+ * (null for the empty stack). Nodes are created through a
+ * {@link StackNodePool}, which makes them unique, so two stacks of the same
+ * pool are equal if and only if their top nodes are the same object. Every
+ * node knows the size and fingerprint of the stack it is the top of
+ *
+ * @author Carlos Domínguez García
+ */
+public final class StackNode {
+
+	/** Id of the symbol of this node */
+	private final int symbolId;
+	/** Rest of the stack, null if this is the only node */
+	private final StackNode below;
+	/** Number of nodes from this one to the bottom */
+	private final int size;
+	// Fingerprint of the stack whose top is this node, @see PdaStack#fingerprintHigh()
+	private final long fingerprintHigh;
+	private final long fingerprintLow;
+
+	/** Creates a node, use {@link StackNodePool#intern(int, StackNode)} */
+	StackNode(int symbolId, StackNode below) {
+		this.symbolId = symbolId;
+		this.below = below;
+		this.size = below == null ? 1 : below.size + 1;
+		this.fingerprintHigh = PdaStack.nextFingerprintHigh(fingerprintHigh(below), symbolId);
+		this.fingerprintLow = PdaStack.nextFingerprintLow(fingerprintLow(below), symbolId);
+	}
+
+	/** Returns the id of the symbol of this node */
+	public int getSymbolId() {
+		return symbolId;
+	}
+
+	/** Returns the rest of the stack, null if this is the only node */
+	public StackNode getBelow() {
+		return below;
+	}
+
+	/** Returns the size of the stack whose top is the given node (null is empty) */
+	public static int size(StackNode top) {
+		return top == null ? 0 : top.size;
+	}
+
+	/** Returns the first half of the fingerprint of the stack whose top is the given node */
+	public static long fingerprintHigh(StackNode top) {
+		return top == null ? 0 : top.fingerprintHigh;
+	}
+
+	/** Returns the second half of the fingerprint of the stack whose top is the given node */
+	public static long fingerprintLow(StackNode top) {
+		return top == null ? 0 : top.fingerprintLow;
+	}
+
+	/** Hash of the contents of the stack, computed in constant time */
+	@Override
+	public int hashCode() {
+		return hash(fingerprintHigh);
+	}
+
+	/** Returns the hash of the node with the given symbol on top of the given node, without creating it */
+	static int hashCode(int symbolId, StackNode below) {
+		return hash(PdaStack.nextFingerprintHigh(fingerprintHigh(below), symbolId));
+	}
+
+	private static int hash(long fingerprintHigh) {
+		return (int) (fingerprintHigh ^ (fingerprintHigh >>> 32));
+	}
+
+	/**
+	 * Nodes are equal if they have the same symbol on top of the same node. Used
+	 * by the pools to find the unique instances, once interned nodes can be
+	 * compared by identity
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		StackNode other = (StackNode) obj;
+		return symbolId == other.symbolId && below == other.below;
+	}
+
+}
@@ -0,0 +1,145 @@
+package me.carlosdg.pda.simulator.stack;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unique instances (hash-consing) of the stack nodes created through it.
+ * Pushing a symbol on top of a stack returns the node that already exists for
+ * it, if any, so stacks with the same contents share their nodes. A pool can be
+ * shared by several threads.
+ *
+ * The pool only keeps weak references to the nodes: a node that no stack (nor
+ * node above it) uses any more is collected and left out of the pool, so
+ * popping keeps the memory bounded by the live stacks instead of by every node
+ * ever pushed.
+ *
+ * Interning looks the node up first and only creates it (and its reference) if
+ * it is not in the pool, and the collected nodes are only removed before adding
+ * a new one, so pushing a node that already exists allocates nothing that
+ * outlives the call
+ *
+ * @author Carlos Domínguez García
+ */
+public final class StackNodePool {
+
+	/** Unique instances of the nodes, by their symbol and node below. Looked up with {@link NodeKey} */
+	private final Map<Object, NodeReference> nodes = new ConcurrentHashMap<>();
+	/** References of the collected nodes, to be removed from the map */
+	private final ReferenceQueue<StackNode> collectedNodes = new ReferenceQueue<>();
+
+	/** Returns the unique node with the given symbol on top of the given node */
+	public StackNode intern(int symbolId, StackNode below) {
+		NodeReference found = nodes.get(new NodeKey(symbolId, below));
+		StackNode foundNode = found == null ? null : found.get();
+		if (foundNode != null) {
+			return foundNode;
+		}
+
+		removeCollectedNodes();
+		StackNode candidate = new StackNode(symbolId, below);
+		NodeReference reference = new NodeReference(candidate, collectedNodes);
+		while (true) {
+			NodeReference existing = nodes.putIfAbsent(reference, reference);
+			if (existing == null) {
+				return candidate;
+			}
+			StackNode node = existing.get();
+			if (node != null) {
+				return node;
+			}
+			// Collected after matching the candidate
+			nodes.remove(existing, existing);
+		}
+	}
+
+	/** Returns the unique node of pushing the given ids (last one on top) on the given node */
+	public StackNode intern(int[] reversedSymbolIds, StackNode below) {
+		StackNode top = below;
+		for (int symbolId : reversedSymbolIds) {
+			top = intern(symbolId, top);
+		}
+		return top;
+	}
+
+	/**
+	 * Returns the number of distinct nodes in the pool, which may still count
+	 * some nodes that are no longer used if the garbage collector has not cleared
+	 * them yet
+	 */
+	public int size() {
+		removeCollectedNodes();
+		return nodes.size();
+	}
+
+	private void removeCollectedNodes() {
+		NodeReference reference;
+		while ((reference = (NodeReference) collectedNodes.poll()) != null) {
+			nodes.remove(reference, reference);
+		}
+	}
+
+	/**
+	 * Weak reference to a node that compares as the node while it is alive. A
+	 * cleared reference is only equal to itself, so it can still be removed
+	 */
+	private static final class NodeReference extends WeakReference<StackNode> {
+		/** Hash of the node, kept to find the reference once it is cleared */
+		private final int hash;
+
+		NodeReference(StackNode node, ReferenceQueue<StackNode> queue) {
+			super(node, queue);
+			hash = node.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof NodeReference)) {
+				return false;
+			}
+			StackNode node = get();
+			return node != null && node.equals(((NodeReference) obj).get());
+		}
+	}
+
+	/**
+	 * Symbol and node below of a node to look up, it is equal to the references
+	 * of the live node with the same symbol on top of the same node
+	 */
+	private static final class NodeKey {
+		private final int symbolId;
+		private final StackNode below;
+		private final int hash;
+
+		NodeKey(int symbolId, StackNode below) {
+			this.symbolId = symbolId;
+			this.below = below;
+			hash = StackNode.hashCode(symbolId, below);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof NodeReference)) {
+				return false;
+			}
+			StackNode node = ((NodeReference) obj).get();
+			return node != null && node.getSymbolId() == symbolId && node.getBelow() == below;
+		}
+	}
+
+}
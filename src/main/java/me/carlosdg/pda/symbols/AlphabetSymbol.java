@@ -1,5 +1,6 @@
 package me.carlosdg.pda.symbols;
 
+import me.carlosdg.pda.sets.SymbolSet;
 import me.carlosdg.pda.word.Word;
 
 /**
@@ -16,7 +17,21 @@ public abstract class AlphabetSymbol extends Symbol {
 	 *                                  the empty string
 	 */
 	public AlphabetSymbol(String representation) throws IllegalArgumentException {
-		super(representation);
+		this(representation, NO_ID, null);
+	}
+
+	/**
+	 * Creates a new symbol of a set given its string representation and its id in
+	 * the set
+	 *
+	 * @param representation String representation of the symbol to create
+	 * @param id             Dense id of the symbol in the set
+	 * @param set            Set that creates the symbol
+	 * @throws IllegalArgumentException If the given representation is the one of
+	 *                                  the empty string
+	 */
+	public AlphabetSymbol(String representation, int id, SymbolSet<?> set) throws IllegalArgumentException {
+		super(representation, id, set);
 		if (representation.equals(Word.EMPTY_STRING_REPR)) {
 			throw new IllegalArgumentException(
 					"Cannot create a symbol from the same string representation as the empty string ("
@@ -1,5 +1,7 @@
 package me.carlosdg.pda.symbols;
 
+import me.carlosdg.pda.sets.SymbolSet;
+
 /**
  * Class to represent input symbols
  *
@@ -11,9 +13,9 @@ public class InputAlphabetSymbol extends AlphabetSymbol {
 		super(representation);
 	}
 
-	@Override
-	public int hashCode() {
-		return 31 * getClass().hashCode() + getRepresentation().hashCode();
+	/** @see me.carlosdg.pda.symbols.AlphabetSymbol */
+	public InputAlphabetSymbol(String representation, int id, SymbolSet<InputAlphabetSymbol> set) {
+		super(representation, id, set);
 	}
 
 	@Override
@@ -28,6 +30,6 @@ public class InputAlphabetSymbol extends AlphabetSymbol {
 			return false;
 		}
 
-		return ((InputAlphabetSymbol) obj).getRepresentation().equals(getRepresentation());
+		return isSameSymbolAs((InputAlphabetSymbol) obj);
 	}
 }
@@ -1,5 +1,7 @@
 package me.carlosdg.pda.symbols;
 
+import me.carlosdg.pda.sets.SymbolSet;
+
 /**
  * State class for representing PDA state
  *
@@ -16,9 +18,9 @@ public class State extends Symbol {
 		super(representation);
 	}
 
-	@Override
-	public int hashCode() {
-		return 31 * getClass().hashCode() + getRepresentation().hashCode();
+	/** @see me.carlosdg.pda.symbols.Symbol#Symbol(String, int, SymbolSet) */
+	public State(String representation, int id, SymbolSet<State> set) {
+		super(representation, id, set);
 	}
 
 	@Override
@@ -33,6 +35,6 @@ public class State extends Symbol {
 			return false;
 		}
 
-		return ((State) obj).getRepresentation().equals(getRepresentation());
+		return isSameSymbolAs((State) obj);
 	}
 }
@@ -1,17 +1,31 @@
 package me.carlosdg.pda.symbols;
 
+import me.carlosdg.pda.sets.SymbolSet;
+
 /**
  * Abstract base class to represent any kind of symbol
  *
  * @author Carlos Domínguez García
  */
 public abstract class Symbol {
+	/** Id of the symbols that do not belong to any set */
+	public static final int NO_ID = -1;
+
 	/**
 	 * A string representation of this symbol to know how do we represent this
 	 * symbol in the screen. And how does the user represent the symbol to input it
 	 * to the application
 	 */
 	private String representation;
+	/**
+	 * Dense id of this symbol in the set that created it (from 0 to the size of
+	 * the set minus 1), NO_ID if it was not created by a set
+	 */
+	private final int id;
+	/** Set that created this symbol, null if it was not created by a set */
+	private final SymbolSet<?> set;
+	/** Hash code, computed once because symbols are immutable */
+	private final int hash;
 
 	/**
 	 * Creates a new symbol given its string representation
@@ -19,7 +33,22 @@ public abstract class Symbol {
 	 * @param representation String representation of the symbol to create
 	 */
 	public Symbol(String representation) {
+		this(representation, NO_ID, null);
+	}
+
+	/**
+	 * Creates a new symbol of a set given its string representation and its id in
+	 * the set. Sets create a single instance per representation
+	 *
+	 * @param representation String representation of the symbol to create
+	 * @param id             Dense id of the symbol in the set
+	 * @param set            Set that creates the symbol
+	 */
+	public Symbol(String representation, int id, SymbolSet<?> set) {
 		setRepresentation(representation);
+		this.id = id;
+		this.set = set;
+		this.hash = 31 * getClass().hashCode() + representation.hashCode();
 	}
 
 	/** Returns the string representation of this symbol */
@@ -27,11 +56,38 @@ public abstract class Symbol {
 		return representation;
 	}
 
+	/** Returns the id of this symbol in its set, NO_ID if it has no set */
+	public int getId() {
+		return id;
+	}
+
+	/** Returns the set that created this symbol, null if it has no set */
+	public SymbolSet<?> getSet() {
+		return set;
+	}
+
 	@Override
 	public String toString() {
 		return getRepresentation();
 	}
 
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * Returns whether the given symbol (of the same class) represents the same
+	 * symbol as this one. Symbols of the same set are unique so they are compared
+	 * by id, otherwise they are compared by representation
+	 */
+	protected boolean isSameSymbolAs(Symbol other) {
+		if (set != null && set == other.set) {
+			return id == other.id;
+		}
+		return hash == other.hash && representation.equals(other.representation);
+	}
+
 	/** Sets the string representation of this symbol */
 	private void setRepresentation(String representation) {
 		this.representation = representation;
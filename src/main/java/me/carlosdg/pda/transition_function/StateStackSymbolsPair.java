@@ -1,10 +1,12 @@
 package me.carlosdg.pda.transition_function;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 import me.carlosdg.pda.symbols.StackAlphabetSymbol;
 import me.carlosdg.pda.symbols.State;
+import me.carlosdg.pda.symbols.Symbol;
 
 /**
  * Helper class to combine the next state and list of stack symbols into a
@@ -26,6 +28,14 @@ public class StateStackSymbolsPair {
 	 */
 	private List<StackAlphabetSymbol> symbols;
 
+	/**
+	 * Ids of the symbols in reverse order (the last one is the one that ends at
+	 * the top), precomputed so the stack can push them in bulk. Null if any symbol
+	 * does not belong to a stack alphabet. Shared with the simulators, it is never
+	 * modified
+	 */
+	private int[] reversedSymbolIds;
+
 	/**
 	 * Creates an instance of this 2-uple to hold a state and 0 or more stack
 	 * symbols
@@ -35,7 +45,15 @@ public class StateStackSymbolsPair {
 	 */
 	public StateStackSymbolsPair(State state, List<StackAlphabetSymbol> symbols) {
 		this.state = state;
-		this.symbols = symbols;
+		this.symbols = Collections.unmodifiableList(symbols);
+		this.reversedSymbolIds = new int[symbols.size()];
+		for (int i = 0; i < symbols.size() && reversedSymbolIds != null; ++i) {
+			int id = symbols.get(i).getId();
+			reversedSymbolIds[symbols.size() - 1 - i] = id;
+			if (id == Symbol.NO_ID) {
+				reversedSymbolIds = null;
+			}
+		}
 	}
 
 	/** @return the state */
@@ -43,11 +61,38 @@ public class StateStackSymbolsPair {
 		return state;
 	}
 
-	/** @return the symbols */
+	/** @return the symbols, an unmodifiable view of the given list */
 	public List<StackAlphabetSymbol> getSymbols() {
 		return symbols;
 	}
 
+	/**
+	 * Returns the ids of the symbols in the order they have to be pushed, see
+	 * PdaStack#pushReversed(int[]). The simulators push them on every move, so
+	 * this is the array of the pair itself and must not be modified, use
+	 * {@link #copyReversedSymbolIds()} to get an array that can be
+	 *
+	 * @throws IllegalStateException If any symbol does not belong to a stack
+	 *                               alphabet
+	 */
+	public int[] getReversedSymbolIds() throws IllegalStateException {
+		if (reversedSymbolIds == null) {
+			throw new IllegalStateException("The stack symbols of " + symbols + " do not belong to an alphabet");
+		}
+		return reversedSymbolIds;
+	}
+
+	/**
+	 * Returns a copy of the ids of the symbols in the order they have to be
+	 * pushed, see {@link #getReversedSymbolIds()}
+	 *
+	 * @throws IllegalStateException If any symbol does not belong to a stack
+	 *                               alphabet
+	 */
+	public int[] copyReversedSymbolIds() throws IllegalStateException {
+		return getReversedSymbolIds().clone();
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(state, symbols);
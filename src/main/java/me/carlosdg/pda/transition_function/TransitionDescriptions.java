@@ -0,0 +1,114 @@
+package me.carlosdg.pda.transition_function;
+
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.sets.StateSet;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Text of the transitions of each (state, stack top, input symbol or epsilon)
+ * of a transition table, like "𝛿(p, a, S) = { (p, A S),(q, .) }". Each
+ * description is built the first time it is asked for and then reused, so
+ * describing the transitions of every step of a run only costs a lookup.
+ * Instances can be shared by several threads: at worst a description is built
+ * twice
+ *
+ * @author Carlos Domínguez García
+ */
+public final class TransitionDescriptions {
+
+	private final StateSet states;
+	private final StackAlphabet stackAlphabet;
+	private final InputAlphabet inputAlphabet;
+	private final TransitionTable transitionTable;
+	/** Descriptions of each entry of the table, null until built */
+	private final String[] descriptions;
+
+	public TransitionDescriptions(StateSet states, StackAlphabet stackAlphabet, InputAlphabet inputAlphabet,
+			TransitionTable transitionTable) {
+		this.states = states;
+		this.stackAlphabet = stackAlphabet;
+		this.inputAlphabet = inputAlphabet;
+		this.transitionTable = transitionTable;
+		this.descriptions = new String[transitionTable.getNumberOfEntries()];
+	}
+
+	/**
+	 * Returns the description of the transitions of the given ids
+	 *
+	 * @param inputSymbol Id of the input symbol, or the epsilon id of the table
+	 */
+	public String describe(int state, int stackTop, int inputSymbol) {
+		int entry = transitionTable.getEntryIndex(state, stackTop, inputSymbol);
+		String description = descriptions[entry];
+		if (description == null) {
+			description = build(state, stackTop, inputSymbol);
+			descriptions[entry] = description;
+		}
+		return description;
+	}
+
+	/**
+	 * Returns the description of a configuration with the empty stack, which has
+	 * no transitions
+	 *
+	 * @param inputSymbol Id of the input symbol, or the epsilon id of the table
+	 */
+	public String describeEmptyStack(int state, int inputSymbol) {
+		return "𝛿(" + states.getSymbol(state) + ", " + inputRepresentation(inputSymbol) + ", "
+				+ Word.EMPTY_STRING_REPR + ") = { }";
+	}
+
+	/**
+	 * Returns the description of a single move, the move moveIndex of
+	 * TransitionTable#get(state, stackTop, inputSymbol), like
+	 * "𝛿(p, a, S) → (p, A S)". It is built each time
+	 *
+	 * @param inputSymbol Id of the input symbol, or the epsilon id of the table
+	 */
+	public String describeMove(int state, int stackTop, int inputSymbol, int moveIndex) {
+		StateStackSymbolsPair pair = transitionTable.get(state, stackTop, inputSymbol)[moveIndex];
+		return "𝛿(" + states.getSymbol(state) + ", " + inputRepresentation(inputSymbol) + ", "
+				+ stackAlphabet.getSymbol(stackTop) + ") → (" + pair.getState() + ", " + pushedSymbols(pair) + ")";
+	}
+
+	/** Returns the symbols pushed by the given move separated by spaces, "." if none */
+	public static String pushedSymbols(StateStackSymbolsPair pair) {
+		if (pair.getSymbols().isEmpty()) {
+			return Word.EMPTY_STRING_REPR;
+		}
+		StringBuilder builder = new StringBuilder();
+		for (StackAlphabetSymbol stackSymbol : pair.getSymbols()) {
+			builder.append(stackSymbol).append(' ');
+		}
+		builder.setLength(builder.length() - 1);
+		return builder.toString();
+	}
+
+	private String build(int state, int stackTop, int inputSymbol) {
+		StringBuilder builder = new StringBuilder();
+		builder.append("𝛿(" + states.getSymbol(state) + ", " + inputRepresentation(inputSymbol) + ", "
+				+ stackAlphabet.getSymbol(stackTop) + ") = { ");
+		for (StateStackSymbolsPair pair : transitionTable.get(state, stackTop, inputSymbol)) {
+			builder.append("(" + pair.getState() + ", ");
+			if (pair.getSymbols().isEmpty()) {
+				builder.append(Word.EMPTY_STRING_REPR + " ");
+			}
+			for (StackAlphabetSymbol stackSymbol : pair.getSymbols()) {
+				builder.append(stackSymbol + " ");
+			}
+			builder.deleteCharAt(builder.length() - 1);
+			builder.append("),");
+		}
+		builder.deleteCharAt(builder.length() - 1);
+		builder.append(" }");
+		return builder.toString();
+	}
+
+	private String inputRepresentation(int inputSymbol) {
+		return inputSymbol == transitionTable.getEpsilonId() ? Word.EMPTY_STRING_REPR
+				: inputAlphabet.getSymbol(inputSymbol).getRepresentation();
+	}
+
+}
@@ -1,12 +1,16 @@
 package me.carlosdg.pda.transition_function;
 
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.sets.StateSet;
 import me.carlosdg.pda.symbols.InputAlphabetSymbol;
 import me.carlosdg.pda.symbols.StackAlphabetSymbol;
 import me.carlosdg.pda.symbols.State;
@@ -24,7 +28,7 @@ public class TransitionFunction {
 	 * the input tape (or the empty string because this transition function
 	 * considers epsilon-moves) and the symbol at the top of the stack, the function
 	 * (the map) returns the next state and 0 or more stack symbols to push to the
-	 * stack
+	 * stack. The pairs of each set keep the order in which they were added
 	 */
 	private Map<TransitionFunctionKey, Set<StateStackSymbolsPair>> map = new HashMap<>();
 
@@ -38,7 +42,7 @@ public class TransitionFunction {
 	 * @return A set of the pairs (next state, 0 or more stack symbols to push to
 	 *         the stack) associated with the given input. Note that a set of values
 	 *         are associated to an input because this transition function is
-	 *         non-deterministic
+	 *         non-deterministic. The returned set must not be modified
 	 */
 	public Set<StateStackSymbolsPair> get(State currentState, StackAlphabetSymbol stackTop,
 			Optional<InputAlphabetSymbol> inputSymbol) {
@@ -46,7 +50,7 @@ public class TransitionFunction {
 		Set<StateStackSymbolsPair> valueSet = map.get(key);
 
 		if (valueSet == null) {
-			valueSet = new HashSet<>();
+			return Collections.emptySet();
 		}
 
 		return valueSet;
@@ -63,13 +67,121 @@ public class TransitionFunction {
 		Set<StateStackSymbolsPair> transitionsWithInput = get(currentState, stackTop, Optional.empty());
 		Set<StateStackSymbolsPair> epsilonMoves = getEpsilonMoves(currentState, stackTop);
 
-		Set<StateStackSymbolsPair> union = new HashSet<>();
+		Set<StateStackSymbolsPair> union = new LinkedHashSet<>();
 		union.addAll(transitionsWithInput);
 		union.addAll(epsilonMoves);
 
 		return union;
 	}
 
+	/**
+	 * Returns whether this transition function is deterministic: every (state,
+	 * stack top, input symbol) has at most one transition, every (state, stack
+	 * top) has at most one epsilon move, and there are no transitions consuming
+	 * input for any (state, stack top) that has an epsilon move
+	 */
+	public boolean isDeterministic() {
+		for (Map.Entry<TransitionFunctionKey, Set<StateStackSymbolsPair>> entry : map.entrySet()) {
+			TransitionFunctionKey key = entry.getKey();
+			if (entry.getValue().size() > 1) {
+				return false;
+			}
+			if (key.getOptionalInputSymbol().isPresent()
+					&& !getEpsilonMoves(key.getState(), key.getStackSymbol()).isEmpty()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns whether every state and symbol of the transitions, both in the
+	 * inputs and in the pairs, belongs to the given sets
+	 */
+	public boolean isDefinedOver(StateSet states, StackAlphabet stackAlphabet, InputAlphabet inputAlphabet) {
+		for (Map.Entry<TransitionFunctionKey, Set<StateStackSymbolsPair>> entry : map.entrySet()) {
+			TransitionFunctionKey key = entry.getKey();
+			Optional<InputAlphabetSymbol> inputSymbol = key.getOptionalInputSymbol();
+			if (key.getState().getSet() != states || key.getStackSymbol().getSet() != stackAlphabet
+					|| (inputSymbol.isPresent() && inputSymbol.get().getSet() != inputAlphabet)) {
+				return false;
+			}
+			for (StateStackSymbolsPair pair : entry.getValue()) {
+				if (pair.getState().getSet() != states) {
+					return false;
+				}
+				for (StackAlphabetSymbol symbol : pair.getSymbols()) {
+					if (symbol.getSet() != stackAlphabet) {
+						return false;
+					}
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Looks for a counter symbol: a symbol such that, starting with the given
+	 * symbol in the stack, the stack always holds any number of copies of the
+	 * counter symbol above, at most, the given symbol at the bottom. Only the
+	 * transitions whose stack symbol can be at the top are considered
+	 *
+	 * @param bottomSymbol Initial symbol of the stack
+	 * @return The counter symbol, which is the bottom symbol itself if it is the
+	 *         only one that can be in the stack, or empty if the stack is not a
+	 *         counter
+	 */
+	public Optional<StackAlphabetSymbol> findCounterSymbol(StackAlphabetSymbol bottomSymbol) {
+		// Symbols that can be at the top of the stack
+		Set<StackAlphabetSymbol> reachable = new LinkedHashSet<>();
+		reachable.add(bottomSymbol);
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (Map.Entry<TransitionFunctionKey, Set<StateStackSymbolsPair>> entry : map.entrySet()) {
+				if (reachable.contains(entry.getKey().getStackSymbol())) {
+					for (StateStackSymbolsPair pair : entry.getValue()) {
+						changed = reachable.addAll(pair.getSymbols()) || changed;
+					}
+				}
+				// Not a counter, no need to look further
+				if (reachable.size() > 2) {
+					return Optional.empty();
+				}
+			}
+		}
+
+		if (reachable.size() == 1) {
+			return Optional.of(bottomSymbol);
+		}
+		if (reachable.size() > 2) {
+			return Optional.empty();
+		}
+
+		// The bottom symbol can only be pushed back to the bottom, that is, right
+		// after popping it
+		reachable.remove(bottomSymbol);
+		StackAlphabetSymbol counterSymbol = reachable.iterator().next();
+		for (Map.Entry<TransitionFunctionKey, Set<StateStackSymbolsPair>> entry : map.entrySet()) {
+			StackAlphabetSymbol stackSymbol = entry.getKey().getStackSymbol();
+			if (!stackSymbol.equals(bottomSymbol) && !stackSymbol.equals(counterSymbol)) {
+				continue;
+			}
+			for (StateStackSymbolsPair pair : entry.getValue()) {
+				List<StackAlphabetSymbol> symbols = pair.getSymbols();
+				int bottomPosition = symbols.indexOf(bottomSymbol);
+				if (bottomPosition != -1
+						&& (!stackSymbol.equals(bottomSymbol) || bottomPosition != symbols.size() - 1)) {
+					return Optional.empty();
+				}
+			}
+		}
+
+		return Optional.of(counterSymbol);
+	}
+
 	/**
 	 * Updates the transition map
 	 *
@@ -84,7 +196,7 @@ public class TransitionFunction {
 		Set<StateStackSymbolsPair> valueSet = map.get(key);
 
 		if (valueSet == null) {
-			valueSet = new HashSet<>();
+			valueSet = new LinkedHashSet<>();
 			map.put(key, valueSet);
 		}
 
@@ -107,4 +219,16 @@ public class TransitionFunction {
 		put(state, stackSymbol, inputSymbol, new StateStackSymbolsPair(nextState, symbolsToPushToStack));
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Compiles the current transitions into a read-only table indexed by the ids
+	 * of the given sets. Later changes to this function are not reflected in the
+	 * table
+	 *
+	 * @throws IllegalArgumentException If the automaton is too large for a table
+	 */
+	public TransitionTable compile(StateSet states, StackAlphabet stackAlphabet, InputAlphabet inputAlphabet)
+			throws IllegalArgumentException {
+		return new TransitionTable(this, states, stackAlphabet, inputAlphabet);
+	}
+
+}
@@ -36,9 +36,27 @@ class TransitionFunctionKey {
 		this.optionalInputSymbol = optionalInputSymbol;
 	}
 
+	/** @return the state */
+	State getState() {
+		return state;
+	}
+
+	/** @return the stack symbol */
+	StackAlphabetSymbol getStackSymbol() {
+		return stackSymbol;
+	}
+
+	/** @return the input symbol or empty for epsilon moves */
+	Optional<InputAlphabetSymbol> getOptionalInputSymbol() {
+		return optionalInputSymbol;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(optionalInputSymbol, stackSymbol, state);
+		// Same value as Objects.hash but without allocating the varargs array
+		int result = 31 + Objects.hashCode(optionalInputSymbol);
+		result = 31 * result + Objects.hashCode(stackSymbol);
+		return 31 * result + Objects.hashCode(state);
 	}
 
 	@Override
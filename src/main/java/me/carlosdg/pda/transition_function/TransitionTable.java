@@ -0,0 +1,181 @@
+package me.carlosdg.pda.transition_function;
+
+import java.util.Optional;
+import java.util.Set;
+
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.sets.StateSet;
+import me.carlosdg.pda.symbols.InputAlphabetSymbol;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.State;
+
+/**
+ * Read-only version of a transition function, indexed by the ids of the states
+ * and symbols. Every (state, stack top, input symbol or epsilon) has an array
+ * with its moves in the order they were added to the transition function, so
+ * a lookup is a couple of multiplications and an array access, it doesn't
+ * allocate anything
+ *
+ * @author Carlos Domínguez García
+ */
+public final class TransitionTable {
+
+	/** Value of the entries without transitions */
+	private static final StateStackSymbolsPair[] NO_MOVES = new StateStackSymbolsPair[0];
+
+	/** Number of stack symbols */
+	private final int numberOfStackSymbols;
+	/** Number of input columns, one per input symbol plus one for epsilon */
+	private final int numberOfInputColumns;
+	/** Moves of each [state][stack top][input symbol or epsilon], flattened */
+	private final StateStackSymbolsPair[][] moves;
+	/** Number of moves of all the entries */
+	private long numberOfMoves = 0;
+
+	/**
+	 * Compiles the given transition function, see TransitionFunction#compile
+	 *
+	 * @throws IllegalArgumentException If the automaton is too large for a table
+	 */
+	TransitionTable(TransitionFunction transitionFunction, StateSet states, StackAlphabet stackAlphabet,
+			InputAlphabet inputAlphabet) throws IllegalArgumentException {
+		numberOfStackSymbols = stackAlphabet.size();
+		numberOfInputColumns = inputAlphabet.size() + 1;
+		moves = new StateStackSymbolsPair[numberOfEntries(states, stackAlphabet, inputAlphabet)][];
+
+		for (State state : states.getSymbols()) {
+			for (StackAlphabetSymbol stackTop : stackAlphabet.getSymbols()) {
+				for (int input = 0; input < numberOfInputColumns; ++input) {
+					Optional<InputAlphabetSymbol> maybeInput = input == getEpsilonId() ? Optional.empty()
+							: Optional.of(inputAlphabet.getSymbol(input));
+					Set<StateStackSymbolsPair> transitions = transitionFunction.get(state, stackTop, maybeInput);
+					moves[index(state.getId(), stackTop.getId(), input)] = transitions.isEmpty() ? NO_MOVES
+							: transitions.toArray(new StateStackSymbolsPair[transitions.size()]);
+					numberOfMoves += transitions.size();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a table from the moves of each (state, stack top, input symbol or
+	 * epsilon) of the given sets, indexed like {@link #getEntryIndex(int, int, int)}.
+	 * The arrays are kept, they must not be modified
+	 *
+	 * @throws IllegalArgumentException If there is not one array per entry or the
+	 *                                  automaton is too large for a table
+	 */
+	TransitionTable(StateSet states, StackAlphabet stackAlphabet, InputAlphabet inputAlphabet,
+			StateStackSymbolsPair[][] moves) throws IllegalArgumentException {
+		numberOfStackSymbols = stackAlphabet.size();
+		numberOfInputColumns = inputAlphabet.size() + 1;
+		int numberOfEntries = numberOfEntries(states, stackAlphabet, inputAlphabet);
+		if (moves.length != numberOfEntries) {
+			throw new IllegalArgumentException(
+					"Expected " + numberOfEntries + " entries in the transition table but found " + moves.length);
+		}
+		this.moves = moves;
+		for (int i = 0; i < moves.length; ++i) {
+			if (moves[i].length == 0) {
+				moves[i] = NO_MOVES;
+			}
+			numberOfMoves += moves[i].length;
+		}
+	}
+
+	/**
+	 * Creates a table from already compiled moves, used to load compiled automata.
+	 * There is one array of moves per (state, stack top, input symbol or epsilon),
+	 * in the order state, stack top and input (with epsilon after the last input
+	 * symbol), that is, the order of {@link #getEntryIndex(int, int, int)}
+	 *
+	 * @throws IllegalArgumentException If there is not one array per entry
+	 */
+	public static TransitionTable of(StateSet states, StackAlphabet stackAlphabet, InputAlphabet inputAlphabet,
+			StateStackSymbolsPair[][] moves) throws IllegalArgumentException {
+		return new TransitionTable(states, stackAlphabet, inputAlphabet, moves);
+	}
+
+	/**
+	 * Returns the number of (state, stack top, input symbol or epsilon) entries
+	 * of a table of the given sets
+	 *
+	 * @throws IllegalArgumentException If they don't fit in an array
+	 */
+	public static int numberOfEntries(StateSet states, StackAlphabet stackAlphabet, InputAlphabet inputAlphabet)
+			throws IllegalArgumentException {
+		try {
+			return Math.multiplyExact(Math.multiplyExact(states.size(), stackAlphabet.size()),
+					inputAlphabet.size() + 1);
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("The automaton is too large for a transition table: " + states.size()
+					+ " states, " + stackAlphabet.size() + " stack symbols and " + inputAlphabet.size()
+					+ " input symbols");
+		}
+	}
+
+	/** Returns the number of (state, stack top, input symbol or epsilon) entries */
+	public int getNumberOfEntries() {
+		return moves.length;
+	}
+
+	/** Returns the number of moves of all the entries */
+	public long getNumberOfMoves() {
+		return numberOfMoves;
+	}
+
+	/** Returns the position of the given entry in the order of the entries */
+	public int getEntryIndex(int state, int stackTop, int inputSymbol) {
+		return index(state, stackTop, inputSymbol);
+	}
+
+	/**
+	 * Rebuilds the transition function of this table, with the transitions of
+	 * each entry in the same order
+	 */
+	public TransitionFunction toTransitionFunction(StateSet states, StackAlphabet stackAlphabet,
+			InputAlphabet inputAlphabet) {
+		TransitionFunction transitionFunction = new TransitionFunction();
+		for (State state : states.getSymbols()) {
+			for (StackAlphabetSymbol stackTop : stackAlphabet.getSymbols()) {
+				for (int input = 0; input < numberOfInputColumns; ++input) {
+					Optional<InputAlphabetSymbol> maybeInput = input == getEpsilonId() ? Optional.empty()
+							: Optional.of(inputAlphabet.getSymbol(input));
+					for (StateStackSymbolsPair pair : get(state.getId(), stackTop.getId(), input)) {
+						transitionFunction.put(state, stackTop, maybeInput, pair);
+					}
+				}
+			}
+		}
+		return transitionFunction;
+	}
+
+	/**
+	 * Returns the moves that consume the given input symbol. The returned array is
+	 * shared, it must not be modified
+	 *
+	 * @param state       Id of the current state
+	 * @param stackTop    Id of the symbol at the top of the stack
+	 * @param inputSymbol Id of the input symbol, or {@link #getEpsilonId()} for
+	 *                    epsilon moves
+	 */
+	public StateStackSymbolsPair[] get(int state, int stackTop, int inputSymbol) {
+		return moves[index(state, stackTop, inputSymbol)];
+	}
+
+	/** Alias for get(state, stackTop, getEpsilonId()) */
+	public StateStackSymbolsPair[] getEpsilonMoves(int state, int stackTop) {
+		return moves[index(state, stackTop, numberOfInputColumns - 1)];
+	}
+
+	/** Returns the id that represents the empty string, one past the last input symbol */
+	public int getEpsilonId() {
+		return numberOfInputColumns - 1;
+	}
+
+	private int index(int state, int stackTop, int inputSymbol) {
+		return (state * numberOfStackSymbols + stackTop) * numberOfInputColumns + inputSymbol;
+	}
+
+}
@@ -0,0 +1,106 @@
+package me.carlosdg.pda.word;
+
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.symbols.InputAlphabetSymbol;
+
+/**
+ * Word stored as the ids of its symbols in an input alphabet. The ids take one
+ * byte each when the alphabet has up to 256 symbols, two bytes when it has up
+ * to 65536 and four bytes otherwise. The symbols were validated when the word
+ * was encoded (see {@link WordEncoder}), so the input tapes of the same
+ * alphabet take the ids as they are
+ *
+ * @author Carlos Domínguez García
+ */
+public final class EncodedWord extends Word {
+
+	/** Alphabet of the ids */
+	private final InputAlphabet alphabet;
+	/** Ids of the symbols when the alphabet has up to 256 symbols */
+	private final byte[] byteIds;
+	/** Ids of the symbols when the alphabet has up to 65536 symbols */
+	private final short[] shortIds;
+	/** Ids of the symbols of bigger alphabets */
+	private final int[] intIds;
+	/** Number of symbols */
+	private final int size;
+
+	/** Creates a word of the given size, its ids are set by the encoder */
+	EncodedWord(InputAlphabet alphabet, int size) {
+		this.alphabet = alphabet;
+		this.size = size;
+		byteIds = alphabet.size() <= 1 << 8 ? new byte[size] : null;
+		shortIds = byteIds == null && alphabet.size() <= 1 << 16 ? new short[size] : null;
+		intIds = byteIds == null && shortIds == null ? new int[size] : null;
+	}
+
+	/**
+	 * Creates a word from the first symbols of the given ids
+	 *
+	 * @throws IllegalArgumentException If any id is not the id of a symbol of the
+	 *                                  alphabet
+	 */
+	public static EncodedWord of(InputAlphabet alphabet, int[] symbolIds, int size) throws IllegalArgumentException {
+		EncodedWord word = new EncodedWord(alphabet, size);
+		for (int i = 0; i < size; ++i) {
+			if (symbolIds[i] < 0 || symbolIds[i] >= alphabet.size()) {
+				throw new IllegalArgumentException("Invalid symbol id " + symbolIds[i] + " for an alphabet of "
+						+ alphabet.size() + " symbols");
+			}
+			word.set(i, symbolIds[i]);
+		}
+		return word;
+	}
+
+	/** Sets the id of the symbol at the given position, only used while encoding */
+	void set(int position, int symbolId) {
+		if (byteIds != null) {
+			byteIds[position] = (byte) symbolId;
+		} else if (shortIds != null) {
+			shortIds[position] = (short) symbolId;
+		} else {
+			intIds[position] = symbolId;
+		}
+	}
+
+	/** Returns the alphabet of the ids */
+	public InputAlphabet getAlphabet() {
+		return alphabet;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/** Returns the id of the symbol at the given position */
+	public int getId(int position) {
+		if (position < 0 || position >= size) {
+			throw new IndexOutOfBoundsException("Invalid position " + position + " for a word of size " + size);
+		}
+		if (byteIds != null) {
+			return byteIds[position] & 0xFF;
+		}
+		return shortIds != null ? shortIds[position] & 0xFFFF : intIds[position];
+	}
+
+	/** Returns the ids of all the symbols */
+	public int[] getIds() {
+		int[] symbolIds = new int[size];
+		for (int i = 0; i < size; ++i) {
+			symbolIds[i] = getId(i);
+		}
+		return symbolIds;
+	}
+
+	@Override
+	public InputAlphabetSymbol get(int position) {
+		return alphabet.getSymbol(getId(position));
+	}
+
+	@Override
+	public boolean areAllSymbolsPartOfAlphabet(InputAlphabet otherAlphabet) {
+		return otherAlphabet == alphabet || super.areAllSymbolsPartOfAlphabet(otherAlphabet);
+	}
+
+}
@@ -0,0 +1,202 @@
+package me.carlosdg.pda.word;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.symbols.InputAlphabetSymbol;
+import me.carlosdg.pda.symbols.Symbol;
+
+/**
+ * Splits raw text, with or without spaces between the symbols, into the ids of
+ * the symbols of an input alphabet. The representations of the symbols are
+ * kept in a trie and the text is split in a single pass taking at each position
+ * the longest symbol that matches (maximal munch). Whitespace between symbols
+ * is skipped.
+ *
+ * Alphabets where some text can be split in more than one way (like {a, ab, b},
+ * "ab" is both "ab" and "a b") are rejected when the tokenizer is created, so
+ * the split found is the only one. As the longest symbol is always taken, text
+ * that only splits with a shorter one is rejected (with {a, ab, bc}, "abc"
+ * takes "ab" and fails at "c"). Tokenizers are immutable and can be shared by
+ * several threads
+ *
+ * @author Carlos Domínguez García
+ */
+public class SymbolTokenizer {
+
+	/** Alphabet of the ids */
+	private final InputAlphabet alphabet;
+	/** Characters of the children of each node of the trie, sorted */
+	private final char[][] childCharacters;
+	/** Children of each node of the trie, in the order of their characters */
+	private final int[][] children;
+	/** Id of the symbol that ends at each node, Symbol.NO_ID if none */
+	private final int[] nodeSymbolIds;
+
+	/**
+	 * Creates the tokenizer of the given alphabet
+	 *
+	 * @throws IllegalArgumentException If the alphabet is ambiguous
+	 */
+	public SymbolTokenizer(InputAlphabet alphabet) throws IllegalArgumentException {
+		this.alphabet = alphabet;
+		checkUniquelyDecodable(alphabet);
+
+		// Build the trie with maps and then flatten it into arrays
+		List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+		List<Integer> symbolIds = new ArrayList<>();
+		trie.add(new TreeMap<>());
+		symbolIds.add(Symbol.NO_ID);
+		for (InputAlphabetSymbol symbol : alphabet.getSymbols()) {
+			int node = 0;
+			for (char character : symbol.getRepresentation().toCharArray()) {
+				Integer child = trie.get(node).get(character);
+				if (child == null) {
+					child = trie.size();
+					trie.get(node).put(character, child);
+					trie.add(new TreeMap<>());
+					symbolIds.add(Symbol.NO_ID);
+				}
+				node = child;
+			}
+			symbolIds.set(node, symbol.getId());
+		}
+
+		childCharacters = new char[trie.size()][];
+		children = new int[trie.size()][];
+		nodeSymbolIds = new int[trie.size()];
+		for (int node = 0; node < trie.size(); ++node) {
+			childCharacters[node] = new char[trie.get(node).size()];
+			children[node] = new int[trie.get(node).size()];
+			int i = 0;
+			for (Map.Entry<Character, Integer> child : trie.get(node).entrySet()) {
+				childCharacters[node][i] = child.getKey();
+				children[node][i] = child.getValue();
+				i += 1;
+			}
+			nodeSymbolIds[node] = symbolIds.get(node);
+		}
+	}
+
+	/** Returns the alphabet of the symbols */
+	public InputAlphabet getAlphabet() {
+		return alphabet;
+	}
+
+	/**
+	 * Splits the given text into symbols. The text made of just the empty string
+	 * representation is the empty word
+	 *
+	 * @throws IllegalArgumentException If some part of the text is not a symbol of
+	 *                                  the alphabet
+	 */
+	public EncodedWord tokenize(CharSequence text) throws IllegalArgumentException {
+		int[] symbolIds = new int[16];
+		int size = 0;
+
+		int position = skipWhitespace(text, 0);
+		if (isEmptyString(text, position)) {
+			return EncodedWord.of(alphabet, symbolIds, 0);
+		}
+		while (position < text.length()) {
+			// Walk down the trie remembering the last symbol found
+			int node = 0;
+			int symbolId = Symbol.NO_ID;
+			int symbolEnd = position;
+			for (int i = position; i < text.length(); ++i) {
+				node = child(node, text.charAt(i));
+				if (node < 0) {
+					break;
+				}
+				if (nodeSymbolIds[node] != Symbol.NO_ID) {
+					symbolId = nodeSymbolIds[node];
+					symbolEnd = i + 1;
+				}
+			}
+
+			if (symbolId == Symbol.NO_ID) {
+				throw new IllegalArgumentException("Invalid word, there is no symbol of the input alphabet at position "
+						+ position + ": '" + text.subSequence(position, Math.min(text.length(), position + 16)) + "'");
+			}
+			if (size == symbolIds.length) {
+				symbolIds = Arrays.copyOf(symbolIds, 2 * size);
+			}
+			symbolIds[size++] = symbolId;
+			position = skipWhitespace(text, symbolEnd);
+		}
+
+		return EncodedWord.of(alphabet, symbolIds, size);
+	}
+
+	/** Returns the child of the given node through the given character, -1 if none */
+	private int child(int node, char character) {
+		int i = Arrays.binarySearch(childCharacters[node], character);
+		return i < 0 ? -1 : children[node][i];
+	}
+
+	private static int skipWhitespace(CharSequence text, int position) {
+		while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+			position += 1;
+		}
+		return position;
+	}
+
+	/** Returns whether the rest of the text is the empty string representation */
+	private static boolean isEmptyString(CharSequence text, int position) {
+		int end = position + Word.EMPTY_STRING_REPR.length();
+		return end <= text.length() && text.subSequence(position, end).toString().equals(Word.EMPTY_STRING_REPR)
+				&& skipWhitespace(text, end) == text.length();
+	}
+
+	/**
+	 * Throws if some text can be split into symbols of the alphabet in more than
+	 * one way, using the Sardinas-Patterson test: the alphabet is ambiguous if
+	 * and only if a symbol can be reached by repeatedly taking the suffixes left
+	 * over when a symbol is a prefix of another one
+	 */
+	private static void checkUniquelyDecodable(InputAlphabet alphabet) throws IllegalArgumentException {
+		List<String> symbols = new ArrayList<>();
+		for (InputAlphabetSymbol symbol : alphabet.getSymbols()) {
+			symbols.add(symbol.getRepresentation());
+		}
+
+		// Suffixes left over by pairs of symbols
+		Set<String> suffixes = new HashSet<>();
+		for (String symbol : symbols) {
+			for (String other : symbols) {
+				if (other.length() > symbol.length() && other.startsWith(symbol)) {
+					suffixes.add(other.substring(symbol.length()));
+				}
+			}
+		}
+
+		Set<String> seen = new HashSet<>();
+		while (!suffixes.isEmpty()) {
+			Set<String> nextSuffixes = new HashSet<>();
+			for (String suffix : suffixes) {
+				if (alphabet.getId(suffix) != Symbol.NO_ID) {
+					throw new IllegalArgumentException("Ambiguous input alphabet, some text can be split into its "
+							+ "symbols in more than one way (found through the symbol '" + suffix + "')");
+				}
+				if (!seen.add(suffix)) {
+					continue;
+				}
+				for (String symbol : symbols) {
+					if (symbol.length() > suffix.length() && symbol.startsWith(suffix)) {
+						nextSuffixes.add(symbol.substring(suffix.length()));
+					} else if (suffix.length() > symbol.length() && suffix.startsWith(symbol)) {
+						nextSuffixes.add(suffix.substring(symbol.length()));
+					}
+				}
+			}
+			suffixes = nextSuffixes;
+		}
+	}
+
+}
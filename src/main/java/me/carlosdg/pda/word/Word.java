@@ -1,6 +1,7 @@
 package me.carlosdg.pda.word;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import me.carlosdg.pda.sets.InputAlphabet;
@@ -15,10 +16,11 @@ public class Word {
 	public static final String EMPTY_STRING_REPR = ".";
 
 	/** List of symbols that represent the word */
-	private List<InputAlphabetSymbol> symbols = new ArrayList<>();
+	private List<InputAlphabetSymbol> symbols;
 
 	/** Create a Word from the given list of symbol representations */
 	public Word(List<String> symbolRepresentations) {
+		symbols = new ArrayList<>(symbolRepresentations.size());
 		if (symbolRepresentations.size() != 1 || !symbolRepresentations.get(0).equals(Word.EMPTY_STRING_REPR)) {
 			for (String representation : symbolRepresentations) {
 				symbols.add(new InputAlphabetSymbol(representation));
@@ -26,6 +28,11 @@ public class Word {
 		}
 	}
 
+	/** Create a Word that keeps its symbols by itself, see {@link EncodedWord} */
+	protected Word() {
+		symbols = Collections.emptyList();
+	}
+
 	/** Returns the number of symbols in the word */
 	public int size() {
 		return symbols.size();
@@ -40,8 +47,8 @@ public class Word {
 	 * Returns whether all symbols of this word belong to the given alphabet or not
 	 */
 	public boolean areAllSymbolsPartOfAlphabet(InputAlphabet alphabet) {
-		for (InputAlphabetSymbol symbol : symbols) {
-			if (!alphabet.has(symbol)) {
+		for (int i = 0; i < size(); ++i) {
+			if (!alphabet.has(get(i))) {
 				return false;
 			}
 		}
@@ -51,13 +58,13 @@ public class Word {
 
 	@Override
 	public String toString() {
-		if (symbols.size() == 0) {
+		if (size() == 0) {
 			return Word.EMPTY_STRING_REPR;
 		}
 
 		StringBuilder builder = new StringBuilder();
-		for (InputAlphabetSymbol symbol : symbols) {
-			builder.append(symbol);
+		for (int i = 0; i < size(); ++i) {
+			builder.append(get(i));
 			builder.append(" ");
 		}
 
@@ -0,0 +1,149 @@
+package me.carlosdg.pda.word;
+
+import java.util.Arrays;
+import java.util.List;
+
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.symbols.InputAlphabetSymbol;
+import me.carlosdg.pda.symbols.Symbol;
+
+/**
+ * Encoder of words into the ids of the symbols of an input alphabet (see
+ * {@link EncodedWord}). The symbols are validated while they are encoded. When
+ * every symbol of the alphabet is a single character, text can be encoded
+ * character by character with a lookup table, without splitting it into
+ * symbols first. Encoders are immutable and can be shared by several threads
+ *
+ * @author Carlos Domínguez García
+ */
+public class WordEncoder {
+
+	/** Alphabet of the ids */
+	private final InputAlphabet alphabet;
+	/**
+	 * Id of the symbol of each character, null unless every symbol is a single
+	 * character
+	 */
+	private final int[] characterIds;
+
+	/** Creates an encoder of words of the given alphabet */
+	public WordEncoder(InputAlphabet alphabet) {
+		this.alphabet = alphabet;
+
+		int maxCharacter = -1;
+		for (InputAlphabetSymbol symbol : alphabet.getSymbols()) {
+			if (symbol.getRepresentation().length() != 1) {
+				maxCharacter = -1;
+				break;
+			}
+			maxCharacter = Math.max(maxCharacter, symbol.getRepresentation().charAt(0));
+		}
+
+		if (maxCharacter < 0) {
+			characterIds = null;
+		} else {
+			characterIds = new int[maxCharacter + 1];
+			Arrays.fill(characterIds, Symbol.NO_ID);
+			for (InputAlphabetSymbol symbol : alphabet.getSymbols()) {
+				characterIds[symbol.getRepresentation().charAt(0)] = symbol.getId();
+			}
+		}
+	}
+
+	/** Returns the alphabet of the encoded words */
+	public InputAlphabet getAlphabet() {
+		return alphabet;
+	}
+
+	/** Returns whether every symbol of the alphabet is a single character */
+	public boolean hasSingleCharacterSymbols() {
+		return characterIds != null;
+	}
+
+	/** Returns the id of the symbol with the given representation, Symbol.NO_ID if none */
+	public int getId(String representation) {
+		return alphabet.getId(representation);
+	}
+
+	/** Returns the id of the symbol represented by the given character, Symbol.NO_ID if none */
+	public int getId(char character) {
+		if (characterIds != null) {
+			return character < characterIds.length ? characterIds[character] : Symbol.NO_ID;
+		}
+		return alphabet.getId(String.valueOf(character));
+	}
+
+	/**
+	 * Encodes the given word. Words already encoded with the alphabet are returned
+	 * as they are
+	 *
+	 * @throws IllegalArgumentException If there is a symbol that doesn't belong to
+	 *                                  the alphabet
+	 */
+	public EncodedWord encode(Word word) throws IllegalArgumentException {
+		if (word instanceof EncodedWord && ((EncodedWord) word).getAlphabet() == alphabet) {
+			return (EncodedWord) word;
+		}
+
+		EncodedWord encodedWord = new EncodedWord(alphabet, word.size());
+		for (int i = 0; i < word.size(); ++i) {
+			encodedWord.set(i, checkId(alphabet.getId(word.get(i)), word));
+		}
+		return encodedWord;
+	}
+
+	/**
+	 * Encodes the word made of the given symbol representations, like
+	 * {@link Word#Word(List)} but without creating the symbols
+	 *
+	 * @throws IllegalArgumentException If there is a symbol that doesn't belong to
+	 *                                  the alphabet
+	 */
+	public EncodedWord encode(List<String> symbolRepresentations) throws IllegalArgumentException {
+		if (symbolRepresentations.size() == 1 && symbolRepresentations.get(0).equals(Word.EMPTY_STRING_REPR)) {
+			return new EncodedWord(alphabet, 0);
+		}
+
+		EncodedWord encodedWord = new EncodedWord(alphabet, symbolRepresentations.size());
+		for (int i = 0; i < symbolRepresentations.size(); ++i) {
+			encodedWord.set(i, checkId(alphabet.getId(symbolRepresentations.get(i)), symbolRepresentations));
+		}
+		return encodedWord;
+	}
+
+	/**
+	 * Encodes the given text taking each character as a symbol, with no
+	 * separators between them. The text made of just the empty string
+	 * representation is the empty word
+	 *
+	 * @throws IllegalStateException    If not every symbol of the alphabet is a
+	 *                                  single character
+	 * @throws IllegalArgumentException If there is a character that doesn't
+	 *                                  represent any symbol of the alphabet
+	 */
+	public EncodedWord encodeCharacters(CharSequence text) throws IllegalStateException, IllegalArgumentException {
+		if (characterIds == null) {
+			throw new IllegalStateException("The symbols of the input alphabet are not single characters");
+		}
+		if (text.length() == 1 && text.charAt(0) == Word.EMPTY_STRING_REPR.charAt(0)) {
+			return new EncodedWord(alphabet, 0);
+		}
+
+		EncodedWord encodedWord = new EncodedWord(alphabet, text.length());
+		for (int i = 0; i < text.length(); ++i) {
+			char character = text.charAt(i);
+			encodedWord.set(i, checkId(character < characterIds.length ? characterIds[character] : Symbol.NO_ID, text));
+		}
+		return encodedWord;
+	}
+
+	/** Returns the given id, throws if it is Symbol.NO_ID */
+	private static int checkId(int id, Object word) throws IllegalArgumentException {
+		if (id == Symbol.NO_ID) {
+			throw new IllegalArgumentException(
+					"Invalid word, it has a symbol that does not belong to the input alphabet:'" + word + "'");
+		}
+		return id;
+	}
+
+}
@@ -0,0 +1,228 @@
+package me.carlosdg.pda.word.readers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import me.carlosdg.pda.symbols.Symbol;
+import me.carlosdg.pda.word.EncodedWord;
+import me.carlosdg.pda.word.Word;
+import me.carlosdg.pda.word.WordEncoder;
+
+/**
+ * Reader of corpus files, which have one word per line with the symbols
+ * separated by spaces (like the word files, see {@link WordFileReader}). The
+ * file is memory-mapped and indexed in a single pass that only records where
+ * each line starts, the lines are not copied nor decoded until their word is
+ * asked for. Reading is thread-safe, so the words of different lines can be
+ * decoded by different threads at the same time
+ *
+ * @author Carlos Domínguez García
+ */
+public class CorpusFileReader {
+
+	/** Contents of the file */
+	private final MappedByteBuffer contents;
+	/** Position of the start of each line, plus the end of the file */
+	private final int[] lineStarts;
+	/** Number of lines */
+	private final int numberOfLines;
+
+	/**
+	 * Maps and indexes the given file
+	 *
+	 * @throws IOException              If the file cannot be read
+	 * @throws IllegalArgumentException If the file is bigger than 2GB
+	 */
+	public CorpusFileReader(String filePath) throws IOException, IllegalArgumentException {
+		try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Corpus file too big (" + channel.size() + " bytes): " + filePath);
+			}
+			contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		// Index the lines, a trailing newline doesn't start a new line
+		int size = contents.limit();
+		int[] starts = new int[1024];
+		int lines = 0;
+		for (int position = 0; position < size;) {
+			if (lines + 1 >= starts.length) {
+				starts = Arrays.copyOf(starts, 2 * starts.length);
+			}
+			starts[lines++] = position;
+			while (position < size && contents.get(position) != '\n') {
+				position += 1;
+			}
+			position += 1;
+		}
+		starts[lines] = size;
+		lineStarts = starts;
+		numberOfLines = lines;
+	}
+
+	/** Returns the number of words of the corpus */
+	public int size() {
+		return numberOfLines;
+	}
+
+	/**
+	 * Returns a read-only view of the bytes of the given line, without the line
+	 * terminator. The bytes are not copied
+	 */
+	public ByteBuffer getLine(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		int start = lineStarts[index];
+		int end = lineEnd(index);
+
+		ByteBuffer line = contents.asReadOnlyBuffer();
+		line.limit(end).position(start);
+		return line.slice();
+	}
+
+	/** Decodes the word of the given line */
+	public Word getWord(int index) throws IndexOutOfBoundsException {
+		checkIndex(index);
+		int end = lineEnd(index);
+		List<String> tokens = new ArrayList<>();
+
+		int position = lineStarts[index];
+		while (position < end) {
+			while (position < end && isSeparator(contents.get(position))) {
+				position += 1;
+			}
+			int tokenStart = position;
+			while (position < end && !isSeparator(contents.get(position))) {
+				position += 1;
+			}
+			if (position > tokenStart) {
+				tokens.add(decode(tokenStart, position));
+			}
+		}
+
+		return new Word(tokens);
+	}
+
+	/**
+	 * Encodes the word of the given line with the given encoder. Single byte
+	 * symbols are looked up without creating any String
+	 *
+	 * @throws IllegalArgumentException If there is a symbol that doesn't belong to
+	 *                                  the alphabet of the encoder
+	 */
+	public EncodedWord getWord(int index, WordEncoder encoder)
+			throws IndexOutOfBoundsException, IllegalArgumentException {
+		checkIndex(index);
+		int end = lineEnd(index);
+		int[] symbolIds = new int[end - lineStarts[index]];
+		int size = 0;
+		boolean isEmptyWord = false;
+
+		int position = lineStarts[index];
+		while (position < end) {
+			while (position < end && isSeparator(contents.get(position))) {
+				position += 1;
+			}
+			int tokenStart = position;
+			while (position < end && !isSeparator(contents.get(position))) {
+				position += 1;
+			}
+			if (position == tokenStart) {
+				continue;
+			}
+
+			byte first = contents.get(tokenStart);
+			int symbolId = position - tokenStart == 1 && first >= 0 ? encoder.getId((char) first)
+					: encoder.getId(decode(tokenStart, position));
+			if (symbolId != Symbol.NO_ID && !isEmptyWord) {
+				symbolIds[size++] = symbolId;
+			} else if (symbolId == Symbol.NO_ID && size == 0 && !isEmptyWord && position - tokenStart == 1
+					&& first == Word.EMPTY_STRING_REPR.charAt(0)) {
+				// The empty word, only valid as the only symbol
+				isEmptyWord = true;
+			} else {
+				throw new IllegalArgumentException("Invalid word at line " + (index + 1)
+						+ ", it has a symbol that does not belong to the input alphabet:'" + getWord(index) + "'");
+			}
+		}
+
+		return EncodedWord.of(encoder.getAlphabet(), symbolIds, size);
+	}
+
+	/**
+	 * Returns a view of the words of the corpus. The words are decoded each time
+	 * they are asked for, by the thread that asks for them
+	 */
+	public List<Word> getWords() {
+		return new WordList(null);
+	}
+
+	/**
+	 * Returns a view of the words of the corpus encoded with the given encoder,
+	 * see {@link #getWords()}
+	 */
+	public List<Word> getWords(WordEncoder encoder) {
+		return new WordList(encoder);
+	}
+
+	/** Returns the end of the given line, without the line terminator */
+	private int lineEnd(int index) {
+		int end = lineStarts[index + 1];
+		if (end > lineStarts[index] && contents.get(end - 1) == '\n') {
+			end -= 1;
+		}
+		if (end > lineStarts[index] && contents.get(end - 1) == '\r') {
+			end -= 1;
+		}
+		return end;
+	}
+
+	/** Decodes the given bytes of the file as UTF-8 */
+	private String decode(int start, int end) {
+		byte[] bytes = new byte[end - start];
+		for (int i = 0; i < bytes.length; ++i) {
+			bytes[i] = contents.get(start + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static boolean isSeparator(byte value) {
+		return value == ' ' || value == '\t' || value == '\r';
+	}
+
+	private void checkIndex(int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= numberOfLines) {
+			throw new IndexOutOfBoundsException("Invalid line " + index + " for a corpus of " + numberOfLines);
+		}
+	}
+
+	/** Read only list of the words of the corpus */
+	private class WordList extends AbstractList<Word> implements RandomAccess {
+		/** Encoder of the words, null to give them as they are */
+		private final WordEncoder encoder;
+
+		WordList(WordEncoder encoder) {
+			this.encoder = encoder;
+		}
+
+		@Override
+		public Word get(int index) {
+			return encoder == null ? getWord(index) : getWord(index, encoder);
+		}
+
+		@Override
+		public int size() {
+			return numberOfLines;
+		}
+	}
+
+}
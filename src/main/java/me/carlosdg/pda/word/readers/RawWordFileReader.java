@@ -0,0 +1,39 @@
+package me.carlosdg.pda.word.readers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import me.carlosdg.pda.word.SymbolTokenizer;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Word Reader for files with the symbols of the word written one after the
+ * other, with or without spaces between them. The symbols are found with a
+ * {@link SymbolTokenizer}
+ *
+ * @author Carlos Domínguez García
+ */
+public class RawWordFileReader implements WordReader {
+
+	/** Word instance */
+	private Word word;
+
+	/**
+	 * Reads the file and splits it into symbols of the alphabet of the tokenizer
+	 *
+	 * @throws IOException              If the file cannot be read
+	 * @throws IllegalArgumentException If some part of the file is not a symbol
+	 */
+	public RawWordFileReader(String filePath, SymbolTokenizer tokenizer) throws IOException, IllegalArgumentException {
+		String text = new String(Files.readAllBytes(Paths.get(filePath)), StandardCharsets.UTF_8);
+		word = tokenizer.tokenize(text);
+	}
+
+	@Override
+	public Word getWord() {
+		return word;
+	}
+
+}
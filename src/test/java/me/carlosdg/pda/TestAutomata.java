@@ -0,0 +1,105 @@
+package me.carlosdg.pda;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import me.carlosdg.pda.config.PdaConfigurationBuilder;
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.symbols.InputAlphabetSymbol;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.State;
+import me.carlosdg.pda.transition_function.TransitionTable;
+import me.carlosdg.pda.word.Word;
+
+/**
+ * Automata and helpers shared by the tests
+ *
+ * @author Carlos Domínguez García
+ */
+public final class TestAutomata {
+
+	private TestAutomata() {
+	}
+
+	/** Even length palindromes over {0, 1}, from pda_config_examples/APv.txt */
+	public static EmptyStackPdaDefinition palindromes() throws Exception {
+		return new EmptyStackPdaDefinition(new PdaConfigurationBuilder().addStateNameList(Arrays.asList("p", "q"))
+				.addInputAlphabetSymbolNameList(Arrays.asList("0", "1"))
+				.addStackAlphabetSymbolNameList(Arrays.asList("0", "1", "S")).setStartingStateName("p")
+				.setStartingStackTopSymbolName("S").addTransition(Arrays.asList("p", "0", "S", "p", "0", "S"))
+				.addTransition(Arrays.asList("p", "1", "S", "p", "1", "S"))
+				.addTransition(Arrays.asList("p", "0", "0", "p", "0", "0"))
+				.addTransition(Arrays.asList("p", "0", "1", "p", "0", "1"))
+				.addTransition(Arrays.asList("p", "1", "0", "p", "1", "0"))
+				.addTransition(Arrays.asList("p", "1", "1", "p", "1", "1"))
+				.addTransition(Arrays.asList("p", ".", "S", "q", "S"))
+				.addTransition(Arrays.asList("p", ".", "0", "q", "0"))
+				.addTransition(Arrays.asList("p", ".", "1", "q", "1"))
+				.addTransition(Arrays.asList("q", "0", "0", "q", ".")).addTransition(Arrays.asList("q", "1", "1", "q", "."))
+				.addTransition(Arrays.asList("q", ".", "S", "q", ".")).build());
+	}
+
+	/** L = {a^n b^n / n > 0}, from pda_config_examples/test.pda. Tests may add transitions before building it */
+	public static PdaConfigurationBuilder anbnConfiguration() {
+		return new PdaConfigurationBuilder().addStateNameList(Arrays.asList("p", "q"))
+				.addInputAlphabetSymbolNameList(Arrays.asList("a", "b"))
+				.addStackAlphabetSymbolNameList(Arrays.asList("S", "A")).setStartingStateName("p")
+				.setStartingStackTopSymbolName("S").addTransition(Arrays.asList("p", "a", "S", "p", "A"))
+				.addTransition(Arrays.asList("p", "a", "A", "p", "A", "A"))
+				.addTransition(Arrays.asList("p", "b", "A", "q", ".")).addTransition(Arrays.asList("q", "b", "A", "q", "."));
+	}
+
+	/** L = {a^n b^n / n > 0}, from pda_config_examples/test.pda */
+	public static EmptyStackPdaDefinition anbn() throws Exception {
+		return new EmptyStackPdaDefinition(anbnConfiguration().build());
+	}
+
+	/** Balanced parentheses */
+	public static EmptyStackPdaDefinition parentheses() throws Exception {
+		return new EmptyStackPdaDefinition(new PdaConfigurationBuilder().addStateNameList(Arrays.asList("p"))
+				.addInputAlphabetSymbolNameList(Arrays.asList("(", ")"))
+				.addStackAlphabetSymbolNameList(Arrays.asList("S", "X")).setStartingStateName("p")
+				.setStartingStackTopSymbolName("S").addTransition(Arrays.asList("p", "(", "S", "p", "X", "S"))
+				.addTransition(Arrays.asList("p", "(", "X", "p", "X", "X"))
+				.addTransition(Arrays.asList("p", ")", "X", "p", "."))
+				.addTransition(Arrays.asList("p", ".", "S", "p", ".")).build());
+	}
+
+	/** Word with one symbol per character of the given string, or the empty word when it is empty */
+	public static Word word(String symbols) {
+		List<String> representations = new ArrayList<>();
+		for (char symbol : symbols.toCharArray()) {
+			representations.add(String.valueOf(symbol));
+		}
+		return new Word(representations.isEmpty() ? Collections.singletonList(Word.EMPTY_STRING_REPR) : representations);
+	}
+
+	/** Asserts that both definitions have the same sets, analysis and transitions */
+	public static void assertSameDefinition(EmptyStackPdaDefinition actual, EmptyStackPdaDefinition expected) {
+		assertThat(actual.getSetOfStates().getSymbols()).isEqualTo(expected.getSetOfStates().getSymbols());
+		assertThat(actual.getInputAlphabet().getSymbols()).isEqualTo(expected.getInputAlphabet().getSymbols());
+		assertThat(actual.getStackAlphabet().getSymbols()).isEqualTo(expected.getStackAlphabet().getSymbols());
+		assertThat(actual.getInitialState()).isEqualTo(expected.getInitialState());
+		assertThat(actual.getInitialStackTop()).isEqualTo(expected.getInitialStackTop());
+		assertThat(actual.isDeterministic()).isEqualTo(expected.isDeterministic());
+		assertThat(actual.getCounterStackSymbol()).isEqualTo(expected.getCounterStackSymbol());
+
+		TransitionTable actualTable = actual.getTransitionTable();
+		TransitionTable expectedTable = expected.getTransitionTable();
+		for (State state : expected.getSetOfStates().getSymbols()) {
+			for (StackAlphabetSymbol top : expected.getStackAlphabet().getSymbols()) {
+				for (InputAlphabetSymbol input : expected.getInputAlphabet().getSymbols()) {
+					assertThat(actualTable.get(state.getId(), top.getId(), input.getId()))
+							.containsExactly(expectedTable.get(state.getId(), top.getId(), input.getId()));
+				}
+				assertThat(actualTable.getEpsilonMoves(state.getId(), top.getId()))
+						.containsExactly(expectedTable.getEpsilonMoves(state.getId(), top.getId()));
+			}
+		}
+	}
+
+}
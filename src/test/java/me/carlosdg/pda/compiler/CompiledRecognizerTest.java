@@ -0,0 +1,90 @@
+package me.carlosdg.pda.compiler;
+
+import static me.carlosdg.pda.TestAutomata.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import me.carlosdg.pda.config.readers.StreamingEmptyStackPdaFileReader;
+import me.carlosdg.pda.word.Word;
+
+public class CompiledRecognizerTest {
+
+	private static List<Word> randomWords(int count, long seed) {
+		Random random = new Random(seed);
+		List<Word> words = new ArrayList<>();
+		for (int i = 0; i < count; ++i) {
+			List<String> symbols = new ArrayList<>();
+			int length = random.nextInt(12);
+			for (int j = 0; j < length; ++j) {
+				symbols.add(random.nextBoolean() ? "0" : "1");
+			}
+			// Make half of them palindromes
+			if (random.nextBoolean()) {
+				List<String> reversed = new ArrayList<>(symbols);
+				Collections.reverse(reversed);
+				symbols.addAll(reversed);
+			}
+			words.add(new Word(symbols.isEmpty() ? Collections.singletonList(Word.EMPTY_STRING_REPR) : symbols));
+		}
+		return words;
+	}
+
+	@Test
+	public void shouldCompileTheTransitionFunctionToBytecode() throws Exception {
+		assertThat(CompiledRecognizer.compile(palindromes()).isBytecodeCompiled()).isTrue();
+	}
+
+	@Test
+	public void shouldLoadTheGeneratedClassOfTheBundledExamples() throws Exception {
+		for (String example : new String[] { "APv.txt", "APv-2.txt", "APv-jueves.txt", "test.pda" }) {
+			CompiledRecognizer uut = CompiledRecognizer
+					.compile(new StreamingEmptyStackPdaFileReader("pda_config_examples/" + example).getDefinition());
+
+			assertThat(uut.getBytecodeFailure()).as(example).isEmpty();
+			assertThat(uut.isBytecodeCompiled()).as(example).isTrue();
+		}
+	}
+
+	@Test
+	public void shouldAgreeWithTheInterpreter() throws Exception {
+		CompiledRecognizer uut = CompiledRecognizer.compile(palindromes());
+
+		assertThat(uut.findDisagreementsWithInterpreter(randomWords(500, 42))).isEmpty();
+	}
+
+	@Test
+	public void shouldGenerateTheSameDispatchAsTheTable() throws Exception {
+		Random random = new Random(7);
+		int[][][] groups = new int[5][4][3];
+		int nextGroup = 0;
+		for (int[][] state : groups) {
+			for (int[] top : state) {
+				for (int input = 0; input < top.length; ++input) {
+					top[input] = random.nextInt(3) == 0 ? nextGroup++ : -1;
+				}
+			}
+		}
+
+		Class<?> generatedClass = MethodHandles.lookup()
+				.defineHiddenClass(DispatchClassGenerator.generate(groups), true).lookupClass();
+		TransitionDispatch generated = (TransitionDispatch) generatedClass.getDeclaredConstructor().newInstance();
+		TransitionDispatch table = new TableTransitionDispatch(groups);
+
+		for (int state = 0; state < 5; ++state) {
+			for (int top = 0; top < 4; ++top) {
+				for (int input = 0; input < 3; ++input) {
+					assertThat(generated.lookup(state, top, input)).isEqualTo(table.lookup(state, top, input))
+							.isEqualTo(groups[state][top][input]);
+				}
+			}
+		}
+	}
+
+}
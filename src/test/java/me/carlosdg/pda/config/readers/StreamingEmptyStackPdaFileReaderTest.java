@@ -0,0 +1,78 @@
+package me.carlosdg.pda.config.readers;
+
+import static me.carlosdg.pda.TestAutomata.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.sets.exceptions.SymbolNotFoundInSetException;
+
+public class StreamingEmptyStackPdaFileReaderTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private String configFile(String contents) throws Exception {
+		File file = folder.newFile();
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+		return file.getPath();
+	}
+
+	private static EmptyStackPdaDefinition readWithScanner(String filePath) throws Exception {
+		return new EmptyStackPdaDefinition(new EmptyStackPdaCustomFileReader(filePath).getConfig());
+	}
+
+	@Test
+	public void shouldReadTheSameDefinitionsAsTheCustomFileReader() throws Exception {
+		for (String example : new String[] { "APv.txt", "APv-2.txt", "APv-jueves.txt", "test.pda" }) {
+			String filePath = "pda_config_examples/" + example;
+			assertSameDefinition(new StreamingEmptyStackPdaFileReader(filePath).getDefinition(),
+					readWithScanner(filePath));
+		}
+	}
+
+	@Test
+	public void shouldIgnoreCommentsBlankLinesAndCarriageReturns() throws Exception {
+		String filePath = configFile("# Comment\r\n\r\np q # states\r\n a  b\r\nS A\r\n  # initial state\r\np\r\nS\r\n"
+				+ "p a S p A S # push\r\np . S q .\r\nq b A q .\r\n\r\n");
+
+		assertSameDefinition(new StreamingEmptyStackPdaFileReader(filePath).getDefinition(), readWithScanner(filePath));
+	}
+
+	@Test
+	public void shouldReadLinesBiggerThanTheBuffers() throws Exception {
+		StringBuilder contents = new StringBuilder("p\na\n");
+		StringBuilder push = new StringBuilder();
+		for (int i = 0; i < 3000; ++i) {
+			contents.append("symbol").append(i).append(' ');
+			push.append(" symbol").append(i % 7);
+		}
+		contents.append("\np\nsymbol0\np a symbol0 p").append(push).append('\n');
+		String filePath = configFile(contents.toString());
+
+		assertSameDefinition(new StreamingEmptyStackPdaFileReader(filePath).getDefinition(), readWithScanner(filePath));
+	}
+
+	@Test
+	public void shouldThrowWhenGivenInvalidFiles() throws Exception {
+		assertThatThrownBy(() -> new StreamingEmptyStackPdaFileReader(configFile("p q\na b\n")))
+				.isInstanceOf(IOException.class).hasMessageContaining("stack alphabet");
+		assertThatThrownBy(() -> new StreamingEmptyStackPdaFileReader(configFile("p q\na\nS\np q\nS\n")))
+				.isInstanceOf(IOException.class).hasMessageContaining("starting states");
+		assertThatThrownBy(() -> new StreamingEmptyStackPdaFileReader(configFile("p\na\nS\np\nS\np a S\n")))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Not enough elements");
+		assertThatThrownBy(() -> new StreamingEmptyStackPdaFileReader(configFile("p\na\nS\np\nS\np a S p\n")))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("No stack symbols");
+		assertThatThrownBy(() -> new StreamingEmptyStackPdaFileReader(configFile("p\na\nS\np\nS\n\np a S p X\n")))
+				.isInstanceOf(SymbolNotFoundInSetException.class).hasMessageContaining("X (line 7)");
+	}
+
+}
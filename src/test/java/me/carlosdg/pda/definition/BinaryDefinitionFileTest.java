@@ -0,0 +1,93 @@
+package me.carlosdg.pda.definition;
+
+import static me.carlosdg.pda.TestAutomata.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import me.carlosdg.pda.config.readers.StreamingEmptyStackPdaFileReader;
+import me.carlosdg.pda.simulator.CompiledPda;
+import me.carlosdg.pda.symbols.InputAlphabetSymbol;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+import me.carlosdg.pda.symbols.State;
+import me.carlosdg.pda.word.Word;
+
+public class BinaryDefinitionFileTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private EmptyStackPdaDefinition writeAndRead(EmptyStackPdaDefinition pdaDefinition) throws Exception {
+		Path compiledFile = folder.newFile().toPath();
+		BinaryDefinitionFile.write(pdaDefinition, compiledFile);
+		return BinaryDefinitionFile.read(compiledFile);
+	}
+
+	@Test
+	public void shouldReadTheWrittenDefinitions() throws Exception {
+		for (String example : new String[] { "APv.txt", "APv-2.txt", "APv-jueves.txt", "test.pda" }) {
+			EmptyStackPdaDefinition expected = new StreamingEmptyStackPdaFileReader("pda_config_examples/" + example)
+					.getDefinition();
+			assertSameDefinition(writeAndRead(expected), expected);
+		}
+	}
+
+	@Test
+	public void shouldRebuildTheTransitionFunction() throws Exception {
+		EmptyStackPdaDefinition expected = new StreamingEmptyStackPdaFileReader("pda_config_examples/APv-jueves.txt")
+				.getDefinition();
+		EmptyStackPdaDefinition actual = writeAndRead(expected);
+
+		for (State state : expected.getSetOfStates().getSymbols()) {
+			for (StackAlphabetSymbol top : expected.getStackAlphabet().getSymbols()) {
+				for (InputAlphabetSymbol input : expected.getInputAlphabet().getSymbols()) {
+					assertThat(actual.getTransitionFunction().get(state, top, Optional.of(input)))
+							.containsExactlyElementsOf(
+									expected.getTransitionFunction().get(state, top, Optional.of(input)));
+				}
+				assertThat(actual.getTransitionFunction().getEpsilonMoves(state, top))
+						.containsExactlyElementsOf(expected.getTransitionFunction().getEpsilonMoves(state, top));
+			}
+		}
+	}
+
+	@Test
+	public void shouldRunTheReadDefinitions() throws Exception {
+		EmptyStackPdaDefinition pdaDefinition = writeAndRead(
+				new StreamingEmptyStackPdaFileReader("pda_config_examples/APv-jueves.txt").getDefinition());
+		CompiledPda pda = new CompiledPda(pdaDefinition);
+
+		assertThat(pda.accepts(new Word(Arrays.asList("a", "b", "c", "c")), Optional.empty())).isTrue();
+		assertThat(pda.accepts(new Word(Arrays.asList("a", "a", "b", "c")), Optional.empty())).isFalse();
+	}
+
+	@Test
+	public void shouldThrowIfTheFileIsNotACompiledAutomaton() throws Exception {
+		Path file = folder.newFile().toPath();
+		Files.write(file, "p q\na b\n".getBytes());
+
+		assertThatThrownBy(() -> BinaryDefinitionFile.read(file)).isInstanceOf(IOException.class)
+				.hasMessageContaining("Not a compiled automaton file");
+	}
+
+	@Test
+	public void shouldThrowIfTheFileIsTruncated() throws Exception {
+		Path file = folder.newFile().toPath();
+		BinaryDefinitionFile.write(
+				new StreamingEmptyStackPdaFileReader("pda_config_examples/APv.txt").getDefinition(), file);
+		byte[] contents = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(contents, contents.length - 6));
+
+		assertThatThrownBy(() -> BinaryDefinitionFile.read(file)).isInstanceOf(IOException.class)
+				.hasMessageContaining("Corrupted compiled automaton file");
+	}
+
+}
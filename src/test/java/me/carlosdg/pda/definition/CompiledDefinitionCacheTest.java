@@ -0,0 +1,97 @@
+package me.carlosdg.pda.definition;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CompiledDefinitionCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private String configFile(String contents) throws Exception {
+		File file = folder.newFile();
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+		return file.getPath();
+	}
+
+	@Test
+	public void shouldWriteTheCompiledFileAndReuseIt() throws Exception {
+		CompiledDefinitionCache cache = new CompiledDefinitionCache(folder.getRoot().toPath().resolve("cache"));
+		String configFile = configFile("p\na\nS\np\nS\np a S p .\n");
+		Path compiledFile = cache.getCompiledFile(configFile);
+
+		assertThat(compiledFile).doesNotExist();
+		EmptyStackPdaDefinition parsed = cache.load(configFile);
+		assertThat(compiledFile).exists();
+		EmptyStackPdaDefinition loaded = cache.load(configFile);
+
+		assertThat(loaded).isNotSameAs(parsed);
+		assertThat(loaded.getSetOfStates().getSymbols()).isEqualTo(parsed.getSetOfStates().getSymbols());
+		assertThat(loaded.getTransitionTable().get(0, 0, 0))
+				.containsExactly(parsed.getTransitionTable().get(0, 0, 0));
+	}
+
+	@Test
+	public void shouldUseOtherCompiledFileWhenTheConfigurationChanges() throws Exception {
+		CompiledDefinitionCache cache = new CompiledDefinitionCache(folder.getRoot().toPath());
+		String configFile = configFile("p\na\nS\np\nS\np a S p .\n");
+		Path compiledFile = cache.getCompiledFile(configFile);
+
+		Files.write(new File(configFile).toPath(), "p\na b\nS\np\nS\np b S p .\n".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(cache.getCompiledFile(configFile)).isNotEqualTo(compiledFile);
+		assertThat(cache.load(configFile).getInputAlphabet().size()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldReplaceCorruptedCompiledFiles() throws Exception {
+		CompiledDefinitionCache cache = new CompiledDefinitionCache(folder.getRoot().toPath());
+		String configFile = configFile("p\na\nS\np\nS\np a S p .\n");
+		Path compiledFile = cache.getCompiledFile(configFile);
+		Files.write(compiledFile, new byte[] { 1, 2, 3 });
+
+		assertThat(cache.load(configFile).getSetOfStates().size()).isEqualTo(1);
+		assertThat(BinaryDefinitionFile.read(compiledFile).getSetOfStates().size()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldCreateTheDirectoryOnlyForItsOwner() throws Exception {
+		Path directory = folder.getRoot().toPath().resolve("cache");
+		Assume.assumeTrue(directory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+		CompiledDefinitionCache cache = new CompiledDefinitionCache(directory);
+
+		cache.load(configFile("p\na\nS\np\nS\np a S p .\n"));
+
+		assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(directory))).isEqualTo("rwx------");
+	}
+
+	@Test
+	public void shouldNotUseTheDirectoryOfOtherUser() throws Exception {
+		Path directory = folder.newFolder().toPath();
+		try {
+			UserPrincipal nobody = directory.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName("nobody");
+			Files.setOwner(directory, nobody);
+		} catch (Exception e) {
+			Assume.assumeNoException("Changing the owner needs privileges", e);
+		}
+		CompiledDefinitionCache cache = new CompiledDefinitionCache(directory);
+		String configFile = configFile("p\na\nS\np\nS\np a S p .\n");
+		Path compiledFile = cache.getCompiledFile(configFile);
+		Files.write(compiledFile, new byte[] { 1, 2, 3 });
+
+		assertThat(cache.load(configFile).getSetOfStates().size()).isEqualTo(1);
+		assertThat(Files.readAllBytes(compiledFile)).containsExactly(1, 2, 3);
+	}
+
+}
@@ -0,0 +1,126 @@
+package me.carlosdg.pda.jfr;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import me.carlosdg.pda.config.readers.EmptyStackPdaCustomFileReader;
+import me.carlosdg.pda.config.readers.StreamingEmptyStackPdaFileReader;
+import me.carlosdg.pda.definition.BinaryDefinitionFile;
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.CompiledPda;
+import me.carlosdg.pda.simulator.IterativeEmptyStackPdaSimulator;
+import me.carlosdg.pda.word.Word;
+
+public class FlightRecorderEventsTest {
+
+	/** L = {a^n b^n / n > 0}, from pda_config_examples/test.pda */
+	private static final String ANBN = "p q\na b\nS A\np\nS\np a S p A\np a A p A A\np b A q .\nq b A q .\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private String configFile(String contents) throws Exception {
+		File file = folder.newFile();
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+		return file.getPath();
+	}
+
+	private List<RecordedEvent> stopAndRead(Recording recording, String eventName) throws Exception {
+		recording.stop();
+		Path recordingFile = folder.getRoot().toPath().resolve("recording.jfr");
+		recording.dump(recordingFile);
+		recording.close();
+		return RecordingFile.readAllEvents(recordingFile).stream()
+				.filter(event -> event.getEventType().getName().equals(eventName)).collect(Collectors.toList());
+	}
+
+	private static Word anbn(int n) {
+		List<String> symbols = new ArrayList<>(Collections.nCopies(n, "a"));
+		symbols.addAll(Collections.nCopies(n, "b"));
+		return new Word(symbols);
+	}
+
+	@Test
+	public void shouldRecordTheLoadingPhases() throws Exception {
+		String configFile = configFile(ANBN);
+		Path compiledFile = folder.getRoot().toPath().resolve("anbn.pdac");
+		Recording recording = new Recording();
+		recording.enable(DefinitionLoadingEvent.class);
+		recording.start();
+
+		new EmptyStackPdaDefinition(new EmptyStackPdaCustomFileReader(configFile).getConfig());
+		BinaryDefinitionFile.write(new StreamingEmptyStackPdaFileReader(configFile).getDefinition(), compiledFile);
+		BinaryDefinitionFile.read(compiledFile);
+
+		List<RecordedEvent> events = stopAndRead(recording, "me.carlosdg.pda.DefinitionLoading");
+		assertThat(events).extracting(event -> event.getString("phase")).containsExactlyInAnyOrder(
+				DefinitionLoadingEvent.PARSE, DefinitionLoadingEvent.VALIDATE, DefinitionLoadingEvent.COMPILE,
+				DefinitionLoadingEvent.PARSE, DefinitionLoadingEvent.COMPILE, DefinitionLoadingEvent.LOAD_COMPILED);
+		for (RecordedEvent event : events) {
+			assertThat(event.getInt("states")).isEqualTo(2);
+			assertThat(event.getInt("inputSymbols")).isEqualTo(2);
+			assertThat(event.getInt("stackSymbols")).isEqualTo(2);
+			assertThat(event.getLong("transitions")).isEqualTo(4);
+		}
+		assertThat(events).filteredOn(event -> DefinitionLoadingEvent.PARSE.equals(event.getString("phase")))
+				.extracting(event -> event.getString("source")).containsOnly(configFile);
+	}
+
+	@Test
+	public void shouldRecordEachCheckedWord() throws Exception {
+		EmptyStackPdaDefinition definition = new StreamingEmptyStackPdaFileReader(configFile(ANBN)).getDefinition();
+		IterativeEmptyStackPdaSimulator iterative = new IterativeEmptyStackPdaSimulator(definition);
+		CompiledPda compiled = new CompiledPda(definition);
+		Recording recording = new Recording();
+		recording.enable(AcceptsEvent.class).withThreshold(Duration.ZERO);
+		recording.start();
+
+		iterative.accepts(anbn(3), Optional.empty());
+		compiled.accepts(anbn(2), Optional.empty());
+
+		List<RecordedEvent> events = stopAndRead(recording, "me.carlosdg.pda.Accepts");
+		assertThat(events).hasSize(2);
+		RecordedEvent event = events.stream()
+				.filter(recorded -> recorded.getString("simulator").equals("IterativeEmptyStackPdaSimulator")).findAny()
+				.get();
+		assertThat(event.getLong("wordLength")).isEqualTo(6);
+		assertThat(event.getBoolean("accepted")).isTrue();
+		assertThat(event.getLong("steps")).isEqualTo(7);
+		assertThat(event.getInt("peakStackHeight")).isEqualTo(3);
+		assertThat(iterative.getLastRunStatistics()).isNull();
+		assertThat(events).extracting(recorded -> recorded.getString("simulator")).contains("CompiledPda");
+	}
+
+	@Test
+	public void shouldSampleTheSteps() throws Exception {
+		EmptyStackPdaDefinition definition = new StreamingEmptyStackPdaFileReader(configFile(ANBN)).getDefinition();
+		Recording recording = new Recording();
+		recording.enable(StepSampleEvent.class);
+		recording.start();
+
+		new IterativeEmptyStackPdaSimulator(definition).accepts(anbn(5000), Optional.empty());
+
+		List<RecordedEvent> events = stopAndRead(recording, "me.carlosdg.pda.StepSample");
+		assertThat(events).hasSize(10001 / StepSampleEvent.SAMPLING);
+		assertThat(events).extracting(event -> event.getLong("step"))
+				.allMatch(step -> step % StepSampleEvent.SAMPLING == 0);
+	}
+
+}
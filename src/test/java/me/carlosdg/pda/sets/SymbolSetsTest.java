@@ -64,4 +64,26 @@ public class SymbolSetsTest {
 		assertThatThrownBy(() -> set.getSymbol("q")).isInstanceOf(SymbolNotFoundInSetException.class)
 				.hasMessageContaining("q");
 	}
+
+	@Test
+	public void shouldGiveDenseIdsInTheGivenOrder() throws DuplicatedStringInSetException, SymbolNotFoundInSetException {
+		StateSet set = new StateSet(Arrays.asList("q0", "q1", "q2"));
+
+		assertThat(set.getSymbol("q0").getId()).isEqualTo(0);
+		assertThat(set.getSymbol("q2").getId()).isEqualTo(2);
+		assertThat(set.getSymbol(1)).isSameAs(set.getSymbol("q1"));
+		assertThat(set.getId(new State("q2"))).isEqualTo(2);
+		assertThat(set.getId(new State("p"))).isEqualTo(State.NO_ID);
+	}
+
+	@Test
+	public void shouldCompareSymbolsOfDifferentSetsByRepresentation()
+			throws DuplicatedStringInSetException, SymbolNotFoundInSetException {
+		StateSet set = new StateSet(Arrays.asList("q0", "q1"));
+		StateSet otherSet = new StateSet(Arrays.asList("q1", "q0"));
+
+		assertThat(set.getSymbol("q0")).isEqualTo(otherSet.getSymbol("q0")).isNotEqualTo(otherSet.getSymbol("q1"));
+		assertThat(set.getSymbol("q0")).isNotEqualTo(set.getSymbol("q1"));
+		assertThat(set.getSymbol("q0").hashCode()).isEqualTo(otherSet.getSymbol("q0").hashCode());
+	}
 }
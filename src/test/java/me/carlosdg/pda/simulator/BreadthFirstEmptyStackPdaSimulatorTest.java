@@ -0,0 +1,92 @@
+package me.carlosdg.pda.simulator;
+
+import static me.carlosdg.pda.TestAutomata.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import me.carlosdg.pda.config.PdaConfigurationBuilder;
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+
+public class BreadthFirstEmptyStackPdaSimulatorTest {
+
+	@Test
+	public void shouldGiveTheSameAnswersAsTheRecursiveSimulator() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		EmptyStackPdaSimulator recursive = new EmptyStackPdaSimulator(definition);
+		BreadthFirstEmptyStackPdaSimulator uut = new BreadthFirstEmptyStackPdaSimulator(definition);
+
+		for (String symbols : Arrays.asList("", "0", "00", "01", "0110", "0111", "1001001", "100001", "10100101")) {
+			assertThat(uut.accepts(word(symbols), Optional.empty()))
+					.isEqualTo(recursive.accepts(word(symbols), Optional.empty()));
+		}
+	}
+
+	@Test
+	public void shouldMergeIdenticalConfigurationsOfEpsilonCycles() throws Exception {
+		EmptyStackPdaDefinition definition = new EmptyStackPdaDefinition(new PdaConfigurationBuilder()
+				.addStateNameList(Arrays.asList("p", "q")).addInputAlphabetSymbolNameList(Arrays.asList("a"))
+				.addStackAlphabetSymbolNameList(Arrays.asList("S")).setStartingStateName("p")
+				.setStartingStackTopSymbolName("S").addTransition(Arrays.asList("p", ".", "S", "q", "S"))
+				.addTransition(Arrays.asList("q", ".", "S", "q", "S")).addTransition(Arrays.asList("q", "a", "S", "q", "."))
+				.build());
+		BreadthFirstEmptyStackPdaSimulator uut = new BreadthFirstEmptyStackPdaSimulator(definition);
+
+		assertThat(uut.accepts(word("a"), Optional.empty())).isTrue();
+		assertThat(uut.accepts(word("aa"), Optional.empty())).isFalse();
+		assertThat(uut.getMaxFrontierSize()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldStopOnEpsilonMovesThatGrowTheStack() throws Exception {
+		EmptyStackPdaDefinition definition = new EmptyStackPdaDefinition(new PdaConfigurationBuilder()
+				.addStateNameList(Arrays.asList("p")).addInputAlphabetSymbolNameList(Arrays.asList("a"))
+				.addStackAlphabetSymbolNameList(Arrays.asList("S")).setStartingStateName("p")
+				.setStartingStackTopSymbolName("S").addTransition(Arrays.asList("p", ".", "S", "p", "S", "S"))
+				.addTransition(Arrays.asList("p", "a", "S", "p", ".")).build());
+		BreadthFirstEmptyStackPdaSimulator uut = new BreadthFirstEmptyStackPdaSimulator(definition);
+
+		assertThat(uut.accepts(word(""), Optional.empty())).isFalse();
+		assertThat(uut.accepts(word("a"), Optional.empty())).isTrue();
+		assertThat(uut.accepts(word("aaaaa"), Optional.empty())).isTrue();
+	}
+
+	@Test
+	public void shouldShareTheStacksOfExponentiallyManyConfigurations() throws Exception {
+		// Pushes any sequence of A and B while reading a, there are 2^n different stacks after a^n
+		EmptyStackPdaDefinition definition = new EmptyStackPdaDefinition(new PdaConfigurationBuilder()
+				.addStateNameList(Arrays.asList("p")).addInputAlphabetSymbolNameList(Arrays.asList("a", "b"))
+				.addStackAlphabetSymbolNameList(Arrays.asList("S", "A", "B")).setStartingStateName("p")
+				.setStartingStackTopSymbolName("S").addTransition(Arrays.asList("p", "a", "S", "p", "A", "S"))
+				.addTransition(Arrays.asList("p", "a", "S", "p", "B", "S"))
+				.addTransition(Arrays.asList("p", "a", "A", "p", "A", "A"))
+				.addTransition(Arrays.asList("p", "a", "A", "p", "B", "A"))
+				.addTransition(Arrays.asList("p", "a", "B", "p", "A", "B"))
+				.addTransition(Arrays.asList("p", "a", "B", "p", "B", "B"))
+				.addTransition(Arrays.asList("p", "b", "A", "p", ".")).addTransition(Arrays.asList("p", "b", "B", "p", "."))
+				.addTransition(Arrays.asList("p", ".", "S", "p", ".")).build());
+		BreadthFirstEmptyStackPdaSimulator uut = new BreadthFirstEmptyStackPdaSimulator(definition);
+		StringBuilder as = new StringBuilder();
+		StringBuilder bs = new StringBuilder();
+		for (int i = 0; i < 60; ++i) {
+			as.append('a');
+			bs.append('b');
+		}
+
+		assertThat(uut.accepts(word(as.toString() + bs), Optional.empty())).isTrue();
+		assertThat(uut.getMaxFrontierSize()).isLessThanOrEqualTo(3);
+		assertThat(uut.accepts(word(as.toString() + bs.substring(1)), Optional.empty())).isFalse();
+	}
+
+	@Test
+	public void shouldThrowWithSymbolsNotInTheAlphabet() throws Exception {
+		BreadthFirstEmptyStackPdaSimulator uut = new BreadthFirstEmptyStackPdaSimulator(palindromes());
+
+		assertThatThrownBy(() -> uut.accepts(word("012"), Optional.empty()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,183 @@
+package me.carlosdg.pda.simulator;
+
+import static me.carlosdg.pda.TestAutomata.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.input_tape.InputTape;
+import me.carlosdg.pda.simulator.spies.PdaExecutionListener;
+import me.carlosdg.pda.word.Word;
+import me.carlosdg.pda.word.WordEncoder;
+
+public class CompiledPdaTest {
+
+	/** First position reported by {@link FarInputTape}, it doesn't fit in an int */
+	private static final long FAR_POSITION = Integer.MAX_VALUE + 1L;
+
+	/** Tape whose positions start past 2^31, like a mapped tape of a huge file */
+	private static class FarInputTape extends InputTape {
+		FarInputTape(WordEncoder encoder) {
+			super(encoder);
+		}
+
+		@Override
+		public int getCurrentSymbolIndex() {
+			throw new ArithmeticException("integer overflow");
+		}
+
+		@Override
+		public long getPosition() {
+			return FAR_POSITION + super.getCurrentSymbolIndex();
+		}
+	}
+
+	private static String randomBinaryString(Random random, int maxLength) {
+		StringBuilder builder = new StringBuilder();
+		int length = random.nextInt(maxLength + 1);
+		for (int i = 0; i < length; ++i) {
+			builder.append(random.nextBoolean() ? '1' : '0');
+		}
+		String half = builder.toString();
+		return random.nextBoolean() ? half + builder.reverse() : half;
+	}
+
+	@Test
+	public void shouldGiveTheSameAnswersAsTheRecursiveSimulator() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		EmptyStackPdaSimulator recursive = new EmptyStackPdaSimulator(definition);
+		CompiledPda uut = new CompiledPda(definition);
+		RunContext context = uut.newRunContext();
+
+		for (String symbols : Arrays.asList("", "0", "00", "01", "0110", "0111", "1001001", "100001", "10100101")) {
+			boolean expected = recursive.accepts(word(symbols), Optional.empty());
+			assertThat(uut.accepts(word(symbols), Optional.empty())).isEqualTo(expected);
+			assertThat(uut.accepts(word(symbols), context, Optional.empty())).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	public void shouldCheckWordsFromSeveralThreadsAtTheSameTime() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		CompiledPda uut = new CompiledPda(definition);
+		Random random = new Random(42);
+		List<String> words = new ArrayList<>();
+		List<Boolean> expected = new ArrayList<>();
+		EmptyStackPdaSimulator recursive = new EmptyStackPdaSimulator(definition);
+		for (int i = 0; i < 400; ++i) {
+			words.add(randomBinaryString(random, 8));
+			expected.add(recursive.accepts(word(words.get(i)), Optional.empty()));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (String symbols : words) {
+				results.add(executor.submit(() -> uut.accepts(word(symbols), Optional.empty())));
+			}
+			for (int i = 0; i < words.size(); ++i) {
+				assertThat(results.get(i).get()).as(words.get(i)).isEqualTo(expected.get(i));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldCheckBatchesInOrder() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		CompiledPda uut = new CompiledPda(definition);
+		Random random = new Random(7);
+		List<Word> words = new ArrayList<>();
+		BitSet expected = new BitSet();
+		for (int i = 0; i < 1000; ++i) {
+			words.add(word(randomBinaryString(random, 6)));
+			expected.set(i, uut.accepts(words.get(i), Optional.empty()));
+		}
+
+		BatchResult result = uut.acceptsAll(words, true);
+
+		assertThat(uut.acceptsAll(words)).isEqualTo(expected);
+		assertThat(uut.acceptsAll(words.stream())).isEqualTo(expected);
+		assertThat(result.getAccepted()).isEqualTo(expected);
+		assertThat(result.size()).isEqualTo(1000);
+		assertThat(result.getNanos(999)).isNotNegative();
+		assertThatThrownBy(() -> uut.acceptsAll(words, false).getNanos(0)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void shouldAddUpTheStatisticsOfABatch() throws Exception {
+		CompiledPda uut = new CompiledPda(palindromes());
+		List<Word> words = Arrays.asList(word("0110"), word("0111"), word(""), word("10100101"));
+
+		BatchResult result = uut.acceptsAll(words, false, true);
+		RunStatistics total = result.getTotalStatistics();
+
+		assertThat(result.hasStatistics()).isTrue();
+		assertThat(total.getRuns()).isEqualTo(4);
+		assertThat(total.getAcceptedRuns()).isEqualTo(3);
+		long steps = 0;
+		int peakStackHeight = 0;
+		for (int i = 0; i < words.size(); ++i) {
+			steps += result.getStatistics(i).getSteps();
+			peakStackHeight = Math.max(peakStackHeight, result.getStatistics(i).getPeakStackHeight());
+		}
+		assertThat(total.getSteps()).isEqualTo(steps);
+		assertThat(total.getPeakStackHeight()).isEqualTo(peakStackHeight);
+		assertThat(uut.acceptsAll(words, true).hasStatistics()).isFalse();
+		assertThatThrownBy(() -> uut.acceptsAll(words, true).getTotalStatistics())
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void shouldReportTapePositionsThatDoNotFitInAnInt() throws Exception {
+		EmptyStackPdaDefinition definition = parentheses();
+		FarInputTape tape = new FarInputTape(definition.getWordEncoder());
+		tape.setInput(word("(())"));
+		RunContext context = new CompiledPda(definition).newRunContext();
+		context.setCollectingStatistics(true);
+		List<Long> positions = new ArrayList<>();
+
+		assertThat(context.run(tape, new PdaExecutionListener() {
+			@Override
+			public int getSubscribedEvents() {
+				return ITERATIONS | BACKTRACKS;
+			}
+
+			@Override
+			public void iteration(int state, long tapePosition, int stackHeight) {
+				positions.add(tapePosition);
+			}
+
+			@Override
+			public void backtrack(int state, long tapePosition, int stackHeight) {
+				positions.add(tapePosition);
+			}
+		})).isTrue();
+		assertThat(positions).startsWith(FAR_POSITION, FAR_POSITION + 1).contains(FAR_POSITION + 4)
+				.allMatch(position -> position >= FAR_POSITION);
+		assertThat(context.getLastRunStatistics().getPeakTapePosition()).isEqualTo(FAR_POSITION + 4);
+	}
+
+	@Test
+	public void shouldThrowWithContextsOfOtherAutomata() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		CompiledPda uut = new CompiledPda(definition);
+		RunContext otherContext = new CompiledPda(definition).newRunContext();
+
+		assertThatThrownBy(() -> uut.accepts(word("00"), otherContext, Optional.empty()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
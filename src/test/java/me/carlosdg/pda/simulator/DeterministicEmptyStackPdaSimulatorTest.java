@@ -0,0 +1,76 @@
+package me.carlosdg.pda.simulator;
+
+import static me.carlosdg.pda.TestAutomata.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.input_tape.InputTape;
+import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.simulator.stack.PdaStack;
+import me.carlosdg.pda.symbols.State;
+
+public class DeterministicEmptyStackPdaSimulatorTest {
+
+	/** Spy that records every callback as a line of text */
+	private static class RecordingSpy implements PdaExecutionSpy {
+		List<String> events = new ArrayList<>();
+
+		@Override
+		public void pathFinished(boolean accepted) {
+			events.add("finished " + accepted);
+		}
+
+		@Override
+		public void newIteration(State currentState, InputTape inputTape, PdaStack stack,
+				String transitionRepresentation) {
+			events.add(currentState + "|" + inputTape + "|" + stack + "|" + transitionRepresentation);
+		}
+	}
+
+	@Test
+	public void shouldDetectDeterministicDefinitions() throws Exception {
+		assertThat(new EmptyStackPdaDefinition(anbnConfiguration().build()).isDeterministic()).isTrue();
+	}
+
+	@Test
+	public void shouldDetectTransitionsWithMoreThanOneResult() throws Exception {
+		EmptyStackPdaDefinition definition = new EmptyStackPdaDefinition(
+				anbnConfiguration().addTransition(Arrays.asList("p", "a", "A", "q", "A")).build());
+
+		assertThat(definition.isDeterministic()).isFalse();
+	}
+
+	@Test
+	public void shouldDetectEpsilonMovesCompetingWithConsumingMoves() throws Exception {
+		EmptyStackPdaDefinition definition = new EmptyStackPdaDefinition(
+				anbnConfiguration().addTransition(Arrays.asList("q", ".", "A", "q", ".")).build());
+
+		assertThat(definition.isDeterministic()).isFalse();
+		assertThatThrownBy(() -> new DeterministicEmptyStackPdaSimulator(definition))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void shouldBehaveLikeTheRecursiveSimulator() throws Exception {
+		EmptyStackPdaDefinition definition = new EmptyStackPdaDefinition(anbnConfiguration().build());
+
+		for (String symbols : Arrays.asList("", "a", "ab", "ba", "aabb", "aab", "abb", "aaabbb", "aaabbbb")) {
+			RecordingSpy expected = new RecordingSpy();
+			RecordingSpy actual = new RecordingSpy();
+			boolean expectedResult = new EmptyStackPdaSimulator(definition).accepts(word(symbols),
+					Optional.of(expected));
+
+			assertThat(new DeterministicEmptyStackPdaSimulator(definition).accepts(word(symbols),
+					Optional.of(actual))).isEqualTo(expectedResult);
+			assertThat(actual.events).isEqualTo(expected.events);
+		}
+	}
+
+}
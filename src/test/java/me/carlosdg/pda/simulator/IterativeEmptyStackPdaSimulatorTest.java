@@ -0,0 +1,260 @@
+package me.carlosdg.pda.simulator;
+
+import static me.carlosdg.pda.TestAutomata.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import me.carlosdg.pda.config.PdaConfigurationBuilder;
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.input_tape.InputTape;
+import me.carlosdg.pda.simulator.memo.FailedConfigurationsMemo;
+import me.carlosdg.pda.simulator.spies.PdaExecutionListener;
+import me.carlosdg.pda.simulator.spies.PdaExecutionSpy;
+import me.carlosdg.pda.simulator.stack.PdaStack;
+import me.carlosdg.pda.simulator.stack.StackImplementation;
+import me.carlosdg.pda.symbols.State;
+import me.carlosdg.pda.word.Word;
+
+public class IterativeEmptyStackPdaSimulatorTest {
+
+	/** Spy that records every callback as a line of text */
+	private static class RecordingSpy implements PdaExecutionSpy {
+		List<String> events = new ArrayList<>();
+
+		@Override
+		public void pathFinished(boolean accepted) {
+			events.add("finished " + accepted);
+		}
+
+		@Override
+		public void newIteration(State currentState, InputTape inputTape, PdaStack stack,
+				String transitionRepresentation) {
+			events.add(currentState + "|" + inputTape + "|" + stack + "|" + transitionRepresentation);
+		}
+	}
+
+	/** Listener that records every event it subscribes to as a line of text */
+	private static class RecordingListener implements PdaExecutionListener {
+		final int subscribedEvents;
+		List<String> events = new ArrayList<>();
+
+		RecordingListener(int subscribedEvents) {
+			this.subscribedEvents = subscribedEvents;
+		}
+
+		@Override
+		public int getSubscribedEvents() {
+			return subscribedEvents;
+		}
+
+		@Override
+		public void iteration(int state, long tapePosition, int stackHeight) {
+			events.add("iteration " + state + " " + tapePosition + " " + stackHeight);
+		}
+
+		@Override
+		public void move(int state, int stackTop, int inputSymbol, int moveIndex) {
+			events.add("move " + state + " " + stackTop + " " + inputSymbol + " " + moveIndex);
+		}
+
+		@Override
+		public void pathFinished(boolean accepted) {
+			events.add("finished " + accepted);
+		}
+
+		@Override
+		public void backtrack(int state, long tapePosition, int stackHeight) {
+			events.add("backtrack " + state + " " + tapePosition + " " + stackHeight);
+		}
+	}
+
+	@Test
+	public void shouldGiveTheSameAnswersAsTheRecursiveSimulator() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		EmptyStackPdaSimulator recursive = new EmptyStackPdaSimulator(definition);
+		IterativeEmptyStackPdaSimulator uut = new IterativeEmptyStackPdaSimulator(definition);
+
+		for (String symbols : Arrays.asList("", "0", "00", "01", "0110", "0111", "1001001", "100001", "10100101")) {
+			assertThat(uut.accepts(word(symbols), Optional.empty()))
+					.isEqualTo(recursive.accepts(word(symbols), Optional.empty()));
+		}
+	}
+
+	@Test
+	public void shouldNotifyTheSpyExactlyLikeTheRecursiveSimulator() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+
+		for (String symbols : Arrays.asList("", "0110", "0111", "10100101")) {
+			RecordingSpy expected = new RecordingSpy();
+			RecordingSpy actual = new RecordingSpy();
+			new EmptyStackPdaSimulator(definition).accepts(word(symbols), Optional.of(expected));
+			new IterativeEmptyStackPdaSimulator(definition).accepts(word(symbols), Optional.of(actual));
+
+			assertThat(actual.events).isEqualTo(expected.events);
+		}
+	}
+
+	@Test
+	public void shouldNotifyTheListenerExactlyLikeTheRecursiveSimulator() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		CompiledPda compiledPda = new CompiledPda(definition);
+
+		for (String symbols : Arrays.asList("", "0", "0110", "0101", "100001")) {
+			RecordingListener expected = new RecordingListener(PdaExecutionListener.ALL_EVENTS);
+			RecordingListener actual = new RecordingListener(PdaExecutionListener.ALL_EVENTS);
+			RecordingListener compiled = new RecordingListener(PdaExecutionListener.ALL_EVENTS);
+			boolean expectedResult = new EmptyStackPdaSimulator(definition).accepts(word(symbols), expected);
+
+			assertThat(new IterativeEmptyStackPdaSimulator(definition).accepts(word(symbols), actual))
+					.isEqualTo(expectedResult);
+			assertThat(compiledPda.accepts(word(symbols), compiled)).isEqualTo(expectedResult);
+			assertThat(actual.events).isEqualTo(expected.events);
+			assertThat(compiled.events).isEqualTo(expected.events);
+		}
+	}
+
+	@Test
+	public void shouldOnlyNotifyTheSubscribedEvents() throws Exception {
+		RecordingListener listener = new RecordingListener(
+				PdaExecutionListener.MOVES | PdaExecutionListener.PATHS);
+
+		assertThat(new IterativeEmptyStackPdaSimulator(anbn()).accepts(word("ab"), listener)).isTrue();
+		// a consumed with S on top (move 0 of p, S, a), then b with A on top
+		assertThat(listener.events).containsExactly("move 0 0 0 0", "move 0 1 1 0", "finished true");
+	}
+
+	@Test
+	public void shouldHandleWordsThatOverflowTheRecursiveSimulator() throws Exception {
+		IterativeEmptyStackPdaSimulator uut = new IterativeEmptyStackPdaSimulator(anbn());
+		int n = 500_000;
+		List<String> symbols = new ArrayList<>(Collections.nCopies(n, "a"));
+		symbols.addAll(Collections.nCopies(n, "b"));
+
+		assertThat(uut.accepts(new Word(symbols), Optional.empty())).isTrue();
+		symbols.add("b");
+		assertThat(uut.accepts(new Word(symbols), Optional.empty())).isFalse();
+	}
+
+	@Test
+	public void shouldGiveTheSameAnswersWithMemoization() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		EmptyStackPdaSimulator recursive = new EmptyStackPdaSimulator(definition);
+		IterativeEmptyStackPdaSimulator uut = new IterativeEmptyStackPdaSimulator(definition,
+				Optional.of(new FailedConfigurationsMemo(8)));
+
+		for (String symbols : Arrays.asList("", "0", "00", "01", "0110", "0111", "1001001", "100001", "10100101")) {
+			assertThat(uut.accepts(word(symbols), Optional.empty()))
+					.isEqualTo(recursive.accepts(word(symbols), Optional.empty()));
+		}
+	}
+
+	@Test
+	public void shouldGiveTheSameAnswersOnTheHashConsedStack() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		EmptyStackPdaSimulator recursive = new EmptyStackPdaSimulator(definition);
+		IterativeEmptyStackPdaSimulator uut = new IterativeEmptyStackPdaSimulator(definition,
+				Optional.of(new FailedConfigurationsMemo(1024)), StackImplementation.HASH_CONSED);
+
+		for (String symbols : Arrays.asList("", "0", "00", "01", "0110", "0111", "1001001", "100001", "10100101")) {
+			assertThat(uut.accepts(word(symbols), Optional.empty()))
+					.isEqualTo(recursive.accepts(word(symbols), Optional.empty()));
+		}
+	}
+
+	@Test
+	public void shouldRunOnRunLengthAndCounterStacks() throws Exception {
+		IterativeEmptyStackPdaSimulator palindromes = new IterativeEmptyStackPdaSimulator(palindromes(),
+				Optional.empty(), StackImplementation.RUN_LENGTH);
+		IterativeEmptyStackPdaSimulator anbn = new IterativeEmptyStackPdaSimulator(anbn(),
+				Optional.empty(), StackImplementation.RUN_LENGTH);
+		int n = 500_000;
+		List<String> symbols = new ArrayList<>(Collections.nCopies(n, "a"));
+		symbols.addAll(Collections.nCopies(n, "b"));
+
+		assertThat(palindromes.accepts(word("0011110000111100"), Optional.empty())).isTrue();
+		assertThat(palindromes.accepts(word("0011110000111101"), Optional.empty())).isFalse();
+		assertThat(anbn.accepts(new Word(symbols), Optional.empty())).isTrue();
+		symbols.remove(0);
+		assertThat(anbn.accepts(new Word(symbols), Optional.empty())).isFalse();
+	}
+
+	@Test
+	public void shouldDetectEpsilonCyclesWithMemoization() throws Exception {
+		EmptyStackPdaDefinition definition = new EmptyStackPdaDefinition(new PdaConfigurationBuilder()
+				.addStateNameList(Arrays.asList("p", "q")).addInputAlphabetSymbolNameList(Arrays.asList("a"))
+				.addStackAlphabetSymbolNameList(Arrays.asList("S")).setStartingStateName("p")
+				.setStartingStackTopSymbolName("S").addTransition(Arrays.asList("p", ".", "S", "q", "S"))
+				.addTransition(Arrays.asList("q", ".", "S", "q", "S")).addTransition(Arrays.asList("q", "a", "S", "q", "."))
+				.build());
+		IterativeEmptyStackPdaSimulator uut = new IterativeEmptyStackPdaSimulator(definition,
+				Optional.of(new FailedConfigurationsMemo(1024)));
+
+		assertThat(uut.accepts(word("aa"), Optional.empty())).isFalse();
+		assertThat(uut.getDetectedCycles()).isPositive();
+		assertThat(uut.accepts(word("a"), Optional.empty())).isTrue();
+	}
+
+	@Test
+	public void shouldCountTheStepsAndMovesOfARun() throws Exception {
+		IterativeEmptyStackPdaSimulator uut = new IterativeEmptyStackPdaSimulator(anbn());
+
+		assertThat(uut.getLastRunStatistics()).isNull();
+		uut.accepts(word("aabb"), Optional.empty());
+		assertThat(uut.getLastRunStatistics()).isNull();
+
+		uut.setCollectingStatistics(true);
+		assertThat(uut.accepts(word("aabb"), Optional.empty())).isTrue();
+		RunStatistics statistics = uut.getLastRunStatistics();
+		assertThat(statistics.getRuns()).isEqualTo(1);
+		assertThat(statistics.getAcceptedRuns()).isEqualTo(1);
+		assertThat(statistics.getSteps()).isEqualTo(5);
+		assertThat(statistics.getConsumingMoves()).isEqualTo(4);
+		assertThat(statistics.getEpsilonMoves()).isEqualTo(0);
+		assertThat(statistics.getBacktracks()).isEqualTo(0);
+		assertThat(statistics.getLeafPaths()).isEqualTo(1);
+		assertThat(statistics.getPeakStackHeight()).isEqualTo(2);
+		assertThat(statistics.getPeakTapePosition()).isEqualTo(4);
+		assertThat(statistics.getWallNanos()).isNotNegative();
+
+		assertThat(uut.accepts(word("aab"), Optional.empty())).isFalse();
+		assertThat(uut.getLastRunStatistics().getAcceptedRuns()).isEqualTo(0);
+		assertThat(uut.getLastRunStatistics().getBacktracks()).isEqualTo(4);
+	}
+
+	@Test
+	public void shouldCollectTheSameStatisticsAsTheOtherSimulators() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		EmptyStackPdaSimulator recursive = new EmptyStackPdaSimulator(definition);
+		IterativeEmptyStackPdaSimulator uut = new IterativeEmptyStackPdaSimulator(definition);
+		RunContext context = new CompiledPda(definition).newRunContext();
+		recursive.setCollectingStatistics(true);
+		uut.setCollectingStatistics(true);
+		context.setCollectingStatistics(true);
+
+		for (String symbols : Arrays.asList("", "0", "0110", "0111", "1001001", "10100101")) {
+			recursive.accepts(word(symbols), Optional.empty());
+			uut.accepts(word(symbols), Optional.empty());
+			context.run(word(symbols), (PdaExecutionListener) null);
+
+			for (RunStatistics statistics : Arrays.asList(uut.getLastRunStatistics(), context.getLastRunStatistics())) {
+				RunStatistics expected = recursive.getLastRunStatistics();
+				assertThat(statistics.getAcceptedRuns()).isEqualTo(expected.getAcceptedRuns());
+				assertThat(statistics.getSteps()).isEqualTo(expected.getSteps());
+				assertThat(statistics.getConsumingMoves()).isEqualTo(expected.getConsumingMoves());
+				assertThat(statistics.getEpsilonMoves()).isEqualTo(expected.getEpsilonMoves());
+				assertThat(statistics.getBacktracks()).isEqualTo(expected.getBacktracks());
+				assertThat(statistics.getLeafPaths()).isEqualTo(expected.getLeafPaths());
+				assertThat(statistics.getPeakStackHeight()).isEqualTo(expected.getPeakStackHeight());
+				assertThat(statistics.getPeakTapePosition()).isEqualTo(expected.getPeakTapePosition());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+package me.carlosdg.pda.simulator;
+
+import static me.carlosdg.pda.TestAutomata.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import me.carlosdg.pda.config.PdaConfigurationBuilder;
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.stack.StackImplementation;
+
+public class ParallelEmptyStackPdaSimulatorTest {
+
+	@Test
+	public void shouldGiveTheSameAnswersAsTheRecursiveSimulator() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		EmptyStackPdaSimulator recursive = new EmptyStackPdaSimulator(definition);
+
+		try (ParallelEmptyStackPdaSimulator uut = new ParallelEmptyStackPdaSimulator(definition, 4, 1000, 0)) {
+			for (String symbols : Arrays.asList("", "0", "00", "01", "0110", "0111", "1001001", "100001",
+					"10100101", "0110100110010110", "01101001100101101")) {
+				assertThat(uut.accepts(word(symbols), Optional.empty()))
+						.isEqualTo(recursive.accepts(word(symbols), Optional.empty()));
+			}
+		}
+	}
+
+	@Test
+	public void shouldForkHashConsedStacks() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+
+		try (ParallelEmptyStackPdaSimulator uut = new ParallelEmptyStackPdaSimulator(definition, 4, 1000, 0,
+				StackImplementation.HASH_CONSED)) {
+			assertThat(uut.accepts(word("0110100110010110"), Optional.empty())).isTrue();
+			assertThat(uut.accepts(word("0110100110010111"), Optional.empty())).isFalse();
+		}
+	}
+
+	@Test
+	public void shouldReportTheForkedTasks() throws Exception {
+		try (ParallelEmptyStackPdaSimulator uut = new ParallelEmptyStackPdaSimulator(palindromes(), 2,
+				1000, 0)) {
+			uut.accepts(word("0110100110010111"), Optional.empty());
+
+			assertThat(uut.getLastRunStatistics().getForkedTasks()).isPositive();
+			assertThat(uut.getLastRunStatistics().getTotalSteps()).isPositive();
+		}
+	}
+
+	@Test
+	public void shouldAcceptWhenAForkedBranchAcceptsWhileTheOthersAreSearching() throws Exception {
+		// The first move of the root starts an exponential search that never accepts, the
+		// third one accepts a^n and the others are dead ends
+		EmptyStackPdaDefinition definition = new EmptyStackPdaDefinition(new PdaConfigurationBuilder()
+				.addStateNameList(Arrays.asList("p", "r", "d1", "acc", "d2"))
+				.addInputAlphabetSymbolNameList(Arrays.asList("a"))
+				.addStackAlphabetSymbolNameList(Arrays.asList("S", "X")).setStartingStateName("p")
+				.setStartingStackTopSymbolName("S").addTransition(Arrays.asList("p", ".", "S", "r", "S"))
+				.addTransition(Arrays.asList("p", ".", "S", "d1", "S"))
+				.addTransition(Arrays.asList("p", ".", "S", "acc", "S"))
+				.addTransition(Arrays.asList("p", ".", "S", "d2", "S"))
+				.addTransition(Arrays.asList("r", "a", "S", "r", "X", "S"))
+				.addTransition(Arrays.asList("r", "a", "X", "r", "X", "X"))
+				.addTransition(Arrays.asList("r", "a", "X", "r", "X"))
+				.addTransition(Arrays.asList("acc", "a", "S", "acc", "S"))
+				.addTransition(Arrays.asList("acc", ".", "S", "acc", ".")).build());
+
+		try (ParallelEmptyStackPdaSimulator uut = new ParallelEmptyStackPdaSimulator(definition, 4, 1000, 0)) {
+			for (int i = 0; i < 200; ++i) {
+				assertThat(uut.accepts(word("aaaaaaaaaaaaaaaa"), Optional.empty())).isTrue();
+			}
+			assertThat(uut.getLastRunStatistics().getForkedTasks()).isGreaterThanOrEqualTo(3);
+		}
+	}
+
+	@Test
+	public void shouldThrowWithInvalidParameters() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+
+		assertThatThrownBy(() -> new ParallelEmptyStackPdaSimulator(definition, 0, 1, 1))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
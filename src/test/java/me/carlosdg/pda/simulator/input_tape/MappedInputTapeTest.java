@@ -0,0 +1,136 @@
+package me.carlosdg.pda.simulator.input_tape;
+
+import static me.carlosdg.pda.TestAutomata.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.simulator.CompiledPda;
+import me.carlosdg.pda.simulator.DeterministicEmptyStackPdaSimulator;
+import me.carlosdg.pda.word.Word;
+import me.carlosdg.pda.word.WordEncoder;
+
+public class MappedInputTapeTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private String wordFile(String contents) throws Exception {
+		File file = folder.newFile();
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+		return file.getPath();
+	}
+
+	@Test
+	public void shouldReadTheSymbolsOfTheFile() throws Exception {
+		WordEncoder encoder = new WordEncoder(new InputAlphabet(Arrays.asList("a", "b")));
+		MappedInputTape tape = new MappedInputTape(encoder, wordFile("abba\n"));
+
+		assertThat(tape.size()).isEqualTo(4);
+		assertThat(tape.consumeInputId()).isEqualTo(0);
+		assertThat(tape.consumeInputId()).isEqualTo(1);
+		tape.revertConsumption();
+		assertThat(tape.peek().getRepresentation()).isEqualTo("b");
+		assertThat(tape.getCurrentSymbolIndex()).isEqualTo(1);
+		assertThat(tape.toString()).isEqualTo("b b a ");
+		tape.consumeInput();
+		tape.consumeInput();
+		tape.consumeInput();
+		assertThat(tape.isEmpty()).isTrue();
+		tape.rewind();
+		assertThat(tape.getPosition()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldReadTheEmptyWord() throws Exception {
+		WordEncoder encoder = new WordEncoder(new InputAlphabet(Arrays.asList("a")));
+
+		assertThat(new MappedInputTape(encoder, wordFile(".\r\n")).isEmpty()).isTrue();
+		assertThat(new MappedInputTape(encoder, wordFile("")).isEmpty()).isTrue();
+	}
+
+	@Test
+	public void shouldThrowWhenGivenInvalidFilesOrAlphabets() throws Exception {
+		WordEncoder encoder = new WordEncoder(new InputAlphabet(Arrays.asList("a", "b")));
+		String file = wordFile("ab b");
+
+		assertThatThrownBy(() -> new MappedInputTape(encoder, file)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new MappedInputTape(new WordEncoder(new InputAlphabet(Arrays.asList("a", "bb"))),
+				wordFile("a"))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new MappedInputTape(encoder, wordFile("ab")).setInput(new Word(Arrays.asList("a"))))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void shouldGiveTheSameAnswersAsTheWords() throws Exception {
+		EmptyStackPdaDefinition definition = parentheses();
+		CompiledPda pda = new CompiledPda(definition);
+		Random random = new Random(11);
+
+		for (int i = 0; i < 200; ++i) {
+			StringBuilder text = new StringBuilder();
+			int length = random.nextInt(12);
+			for (int j = 0; j < length; ++j) {
+				text.append(random.nextBoolean() ? '(' : ')');
+			}
+			if (text.length() == 0) {
+				text.append(Word.EMPTY_STRING_REPR);
+			}
+			MappedInputTape tape = new MappedInputTape(definition.getWordEncoder(), wordFile(text.toString()));
+
+			assertThat(pda.accepts(tape, Optional.empty())).as(text.toString())
+					.isEqualTo(pda.accepts(definition.getWordEncoder().encodeCharacters(text), Optional.empty()));
+		}
+	}
+
+	@Test
+	public void shouldCheckLongWordsWithoutLoadingThem() throws Exception {
+		EmptyStackPdaDefinition definition = parentheses();
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100000; ++i) {
+			text.append('(');
+		}
+		for (int i = 0; i < 100000; ++i) {
+			text.append(')');
+		}
+		MappedInputTape tape = new MappedInputTape(definition.getWordEncoder(), wordFile(text.toString()));
+
+		assertThat(new CompiledPda(definition).accepts(tape, Optional.empty())).isTrue();
+		tape.rewind();
+		assertThat(tape.toString()).startsWith("( ( (").endsWith("... ");
+	}
+
+	@Test
+	public void shouldCheckLongWordsWithTheDeterministicSimulator() throws Exception {
+		EmptyStackPdaDefinition definition = anbn();
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100000; ++i) {
+			text.append('a');
+		}
+		for (int i = 0; i < 100000; ++i) {
+			text.append('b');
+		}
+		DeterministicEmptyStackPdaSimulator uut = new DeterministicEmptyStackPdaSimulator(definition);
+		uut.setCollectingStatistics(true);
+
+		assertThat(uut.accepts(new MappedInputTape(definition.getWordEncoder(), wordFile(text.toString())),
+				Optional.empty())).isTrue();
+		assertThat(uut.getLastRunStatistics().getPeakTapePosition()).isEqualTo(200000);
+		assertThat(uut.accepts(new MappedInputTape(definition.getWordEncoder(), wordFile(text + "b")),
+				Optional.empty())).isFalse();
+		assertThatThrownBy(() -> uut.accepts(new MappedInputTape(parentheses().getWordEncoder(), wordFile("()")),
+				Optional.empty())).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,49 @@
+package me.carlosdg.pda.simulator.memo;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+
+public class FailedConfigurationsMemoTest {
+
+	@Test
+	public void shouldContainTheAddedConfigurations() {
+		FailedConfigurationsMemo uut = new FailedConfigurationsMemo(16);
+		uut.add(new ConfigurationFingerprint(1, 2));
+
+		assertThat(uut.contains(new ConfigurationFingerprint(1, 2))).isTrue();
+		assertThat(uut.contains(new ConfigurationFingerprint(2, 1))).isFalse();
+	}
+
+	@Test
+	public void shouldForgetEverythingWhenCleared() {
+		FailedConfigurationsMemo uut = new FailedConfigurationsMemo(16);
+		uut.add(new ConfigurationFingerprint(1, 2));
+		uut.clear();
+
+		assertThat(uut.contains(new ConfigurationFingerprint(1, 2))).isFalse();
+		assertThat(uut.getInsertions()).isZero();
+	}
+
+	@Test
+	public void shouldNeverStoreMoreThanItsCapacity() {
+		FailedConfigurationsMemo uut = new FailedConfigurationsMemo(8);
+		for (long i = 0; i < 100; ++i) {
+			uut.add(new ConfigurationFingerprint(i, i));
+		}
+
+		long stored = 0;
+		for (long i = 0; i < 100; ++i) {
+			stored += uut.contains(new ConfigurationFingerprint(i, i)) ? 1 : 0;
+		}
+		assertThat(stored).isEqualTo(uut.getCapacity());
+		assertThat(uut.getEvictions()).isEqualTo(100 - uut.getCapacity());
+	}
+
+	@Test
+	public void shouldThrowWithATooSmallMemoryLimit() {
+		assertThatThrownBy(() -> FailedConfigurationsMemo.withMemoryLimit(10))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
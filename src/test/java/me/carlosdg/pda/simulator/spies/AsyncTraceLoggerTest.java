@@ -0,0 +1,164 @@
+package me.carlosdg.pda.simulator.spies;
+
+import static me.carlosdg.pda.TestAutomata.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.IterativeEmptyStackPdaSimulator;
+import me.carlosdg.pda.simulator.spies.AsyncTraceLogger.OverflowPolicy;
+import me.carlosdg.pda.word.Word;
+
+public class AsyncTraceLoggerTest {
+
+	/** Counts the events notified to it */
+	private static class CountingListener implements PdaExecutionListener {
+		int events = 0;
+
+		@Override
+		public int getSubscribedEvents() {
+			return ALL_EVENTS;
+		}
+
+		@Override
+		public void iteration(int state, long tapePosition, int stackHeight) {
+			events += 1;
+		}
+
+		@Override
+		public void move(int state, int stackTop, int inputSymbol, int moveIndex) {
+			events += 1;
+		}
+
+		@Override
+		public void pathFinished(boolean accepted) {
+			events += 1;
+		}
+
+		@Override
+		public void backtrack(int state, long tapePosition, int stackHeight) {
+			events += 1;
+		}
+	}
+
+	/** Writer that takes its time, to fill the buffer of the logger */
+	private static class SlowWriter extends Writer {
+		List<String> lines = new ArrayList<>();
+		StringBuilder line = new StringBuilder();
+
+		@Override
+		public void write(char[] characters, int offset, int length) throws IOException {
+			for (int i = offset; i < offset + length; ++i) {
+				if (characters[i] == '\n') {
+					lines.add(line.toString());
+					line.setLength(0);
+					try {
+						Thread.sleep(1);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				} else {
+					line.append(characters[i]);
+				}
+			}
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	@Test
+	public void shouldLogEveryEventOfTheRun() throws Exception {
+		EmptyStackPdaDefinition definition = anbn();
+		StringWriter output = new StringWriter();
+
+		try (AsyncTraceLogger logger = new AsyncTraceLogger(definition, output, 2, OverflowPolicy.BLOCK, 1,
+				PdaExecutionListener.ALL_EVENTS)) {
+			assertThat(new IterativeEmptyStackPdaSimulator(definition).accepts(word("ab"), logger)).isTrue();
+		}
+
+		assertThat(output.toString().split("\n")).containsExactly("p\t0\t1", "\t𝛿(p, a, S) → (p, A)", "p\t1\t1",
+				"\t𝛿(p, b, A) → (q, .)", "q\t2\t0", "~~~ accepted");
+	}
+
+	@Test
+	public void shouldOnlyLogTheSubscribedEvents() throws Exception {
+		EmptyStackPdaDefinition definition = anbn();
+		StringWriter output = new StringWriter();
+
+		try (AsyncTraceLogger logger = new AsyncTraceLogger(definition, output, 16, OverflowPolicy.BLOCK, 1,
+				PdaExecutionListener.PATHS | PdaExecutionListener.BACKTRACKS)) {
+			new IterativeEmptyStackPdaSimulator(definition).accepts(word("aab"), logger);
+		}
+
+		assertThat(output.toString().split("\n")).containsExactly("~~~ rejected", "\t← q\t3\t1", "\t← p\t2\t2",
+				"\t← p\t1\t1", "\t← p\t0\t1");
+	}
+
+	@Test
+	public void shouldNotLoseEventsWhenBlocking() throws Exception {
+		EmptyStackPdaDefinition definition = anbn();
+		Word word = word("aaaaaabbbbbb");
+		CountingListener counter = new CountingListener();
+		new IterativeEmptyStackPdaSimulator(definition).accepts(word, counter);
+		SlowWriter output = new SlowWriter();
+
+		AsyncTraceLogger logger = new AsyncTraceLogger(definition, output, 4, OverflowPolicy.BLOCK, 1,
+				PdaExecutionListener.ALL_EVENTS);
+		new IterativeEmptyStackPdaSimulator(definition).accepts(word, logger);
+		logger.close();
+
+		assertThat(output.lines).hasSize(counter.events);
+		assertThat(logger.getDroppedEvents()).isZero();
+	}
+
+	@Test
+	public void shouldCountTheDroppedEvents() throws Exception {
+		EmptyStackPdaDefinition definition = anbn();
+		Word word = word("aaaaaabbbbbb");
+		CountingListener counter = new CountingListener();
+		new IterativeEmptyStackPdaSimulator(definition).accepts(word, counter);
+		SlowWriter output = new SlowWriter();
+
+		AsyncTraceLogger logger = new AsyncTraceLogger(definition, output, 4, OverflowPolicy.DROP, 1,
+				PdaExecutionListener.ALL_EVENTS);
+		new IterativeEmptyStackPdaSimulator(definition).accepts(word, logger);
+		logger.close();
+
+		assertThat(logger.getDroppedEvents()).isPositive();
+		assertThat(output.lines.size() + logger.getDroppedEvents()).isEqualTo(counter.events);
+	}
+
+	@Test
+	public void shouldLogOneOfEveryNEvents() throws Exception {
+		EmptyStackPdaDefinition definition = anbn();
+		StringWriter output = new StringWriter();
+
+		try (AsyncTraceLogger logger = new AsyncTraceLogger(definition, output, 16, OverflowPolicy.BLOCK, 2,
+				PdaExecutionListener.ALL_EVENTS)) {
+			new IterativeEmptyStackPdaSimulator(definition).accepts(word("ab"), logger);
+		}
+
+		// Events 1, 3 and 5 of shouldLogEveryEventOfTheRun
+		assertThat(output.toString().split("\n")).containsExactly("p\t0\t1", "p\t1\t1", "q\t2\t0");
+	}
+
+	@Test
+	public void shouldThrowIfTheSamplingIsNotPositive() throws Exception {
+		assertThatThrownBy(() -> new AsyncTraceLogger(anbn(), new StringWriter(), 16, OverflowPolicy.DROP,
+				0, PdaExecutionListener.ALL_EVENTS)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,169 @@
+package me.carlosdg.pda.simulator.spies;
+
+import static me.carlosdg.pda.TestAutomata.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.simulator.CompiledPda;
+import me.carlosdg.pda.simulator.DeterministicEmptyStackPdaSimulator;
+import me.carlosdg.pda.simulator.EmptyStackPdaSimulator;
+import me.carlosdg.pda.simulator.IterativeEmptyStackPdaSimulator;
+import me.carlosdg.pda.simulator.PdaSimulator;
+import me.carlosdg.pda.simulator.memo.FailedConfigurationsMemo;
+import me.carlosdg.pda.simulator.spies.TransitionHeatMap.TransitionHeat;
+
+public class TransitionHeatMapTest {
+
+	/** L = {a^n b^n / n > 0} with a move that is never taken */
+	private static EmptyStackPdaDefinition anbnDefinition() throws Exception {
+		return new EmptyStackPdaDefinition(anbnConfiguration().addTransition(Arrays.asList("q", "a", "A", "q", ".")).build());
+	}
+
+	private static final List<String> PALINDROME_WORDS = Arrays.asList("", "0", "0110", "0111", "1001001",
+			"10100101", "011001");
+
+	private static List<TransitionHeat> countPalindromes(PdaSimulator simulator, TransitionHeatMap heatMap) {
+		for (String symbols : PALINDROME_WORDS) {
+			heatMap.accepts(simulator, word(symbols));
+		}
+		return heatMap.getTransitions();
+	}
+
+	/** Returns the attempts, acceptances and dead ends of each move in the order of the ids */
+	private static List<List<Long>> counters(List<TransitionHeat> transitions) {
+		List<List<Long>> counters = new ArrayList<>();
+		for (TransitionHeat transition : transitions) {
+			counters.add(Arrays.asList((long) transition.getState(), (long) transition.getStackTop(),
+					(long) transition.getInputSymbol(), (long) transition.getMoveIndex(), transition.getAttempts(),
+					transition.getAcceptances(), transition.getDeadEnds()));
+		}
+		counters.sort((first, second) -> first.toString().compareTo(second.toString()));
+		return counters;
+	}
+
+	@Test
+	public void shouldCountTheMovesOfTheAcceptingPath() throws Exception {
+		EmptyStackPdaDefinition definition = anbnDefinition();
+		TransitionHeatMap uut = new TransitionHeatMap(definition);
+
+		assertThat(uut.accepts(new DeterministicEmptyStackPdaSimulator(definition), word("aabb"))).isTrue();
+
+		List<TransitionHeat> transitions = uut.getTransitions();
+		assertThat(transitions).hasSize(5);
+		assertThat(transitions).extracting(TransitionHeat::getAttempts).containsExactly(1L, 1L, 1L, 1L, 0L);
+		assertThat(transitions).extracting(TransitionHeat::getAcceptances).containsExactly(1L, 1L, 1L, 1L, 0L);
+		assertThat(transitions).extracting(TransitionHeat::getDeadEnds).containsOnly(0L);
+	}
+
+	@Test
+	public void shouldCountTheDeadEndsOfRejectedWords() throws Exception {
+		EmptyStackPdaDefinition definition = anbnDefinition();
+		TransitionHeatMap uut = new TransitionHeatMap(definition);
+
+		assertThat(uut.accepts(new DeterministicEmptyStackPdaSimulator(definition), word("aab"))).isFalse();
+		assertThat(uut.accepts(new IterativeEmptyStackPdaSimulator(definition), word("abb"))).isFalse();
+
+		for (TransitionHeat transition : uut.getTransitions()) {
+			assertThat(transition.getAcceptances()).isZero();
+			assertThat(transition.getDeadEnds()).isEqualTo(transition.getAttempts());
+		}
+		assertThat(uut.getTransitions()).extracting(TransitionHeat::getAttempts).containsExactly(2L, 2L, 1L, 0L, 0L);
+	}
+
+	@Test
+	public void shouldGiveTheSameCountersWithEverySimulator() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		List<List<Long>> expected = counters(
+				countPalindromes(new EmptyStackPdaSimulator(definition), new TransitionHeatMap(definition)));
+
+		assertThat(counters(countPalindromes(new IterativeEmptyStackPdaSimulator(definition),
+				new TransitionHeatMap(definition)))).isEqualTo(expected);
+		assertThat(counters(countPalindromes(new CompiledPda(definition), new TransitionHeatMap(definition))))
+				.isEqualTo(expected);
+		for (List<Long> move : expected) {
+			assertThat(move.get(4)).isEqualTo(move.get(5) + move.get(6));
+		}
+	}
+
+	@Test
+	public void shouldCountThePrunedMovesAsDeadEnds() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		List<TransitionHeat> transitions = countPalindromes(
+				new IterativeEmptyStackPdaSimulator(definition, Optional.of(new FailedConfigurationsMemo(1024))),
+				new TransitionHeatMap(definition));
+
+		long acceptances = 0;
+		for (TransitionHeat transition : transitions) {
+			assertThat(transition.getAttempts()).isEqualTo(transition.getAcceptances() + transition.getDeadEnds());
+			acceptances += transition.getAcceptances();
+		}
+		assertThat(acceptances).isPositive();
+	}
+
+	@Test
+	public void shouldAddUpTheCountersOfSeveralThreads() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		CompiledPda pda = new CompiledPda(definition);
+		List<List<Long>> single = counters(countPalindromes(pda, new TransitionHeatMap(definition)));
+		TransitionHeatMap uut = new TransitionHeatMap(definition);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<List<TransitionHeat>>> results = new ArrayList<>();
+			for (int i = 0; i < 4; ++i) {
+				results.add(executor.submit(() -> countPalindromes(pda, uut)));
+			}
+			for (Future<List<TransitionHeat>> result : results) {
+				result.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		List<List<Long>> total = counters(uut.getTransitions());
+		for (int move = 0; move < single.size(); ++move) {
+			for (int counter = 4; counter < 7; ++counter) {
+				assertThat(total.get(move).get(counter)).isEqualTo(4 * single.get(move).get(counter));
+			}
+		}
+	}
+
+	@Test
+	public void shouldAddUpTheSpilledCounters() throws Exception {
+		EmptyStackPdaDefinition definition = palindromes();
+		CompiledPda pda = new CompiledPda(definition);
+
+		assertThat(counters(countPalindromes(pda, new TransitionHeatMap(definition, 2))))
+				.isEqualTo(counters(countPalindromes(pda, new TransitionHeatMap(definition))));
+	}
+
+	@Test
+	public void shouldWriteTheReportAndTheDotGraph() throws Exception {
+		EmptyStackPdaDefinition definition = anbnDefinition();
+		TransitionHeatMap uut = new TransitionHeatMap(definition);
+		uut.accepts(new IterativeEmptyStackPdaSimulator(definition), word("aabb"));
+		StringWriter report = new StringWriter();
+		StringWriter dot = new StringWriter();
+
+		uut.writeReport(report);
+		uut.writeDot(dot);
+
+		assertThat(report.toString()).startsWith("attempts\taccepted\tdead ends\ttransition\n")
+				.contains("1\t1\t0\t𝛿(p, a, A) → (p, A A)\n").contains("0\t0\t0\t𝛿(q, a, A) → (q, .)\n")
+				.endsWith("Never taken: 1 of 5 transitions\n");
+		assertThat(dot.toString()).startsWith("digraph pda {").contains("\"p\" -> \"p\" [label=\"a, A / A A (1)\"")
+				.contains("\"q\" -> \"q\" [label=\"a, A / . (0)\", style=dashed, color=gray];").endsWith("}\n");
+	}
+
+}
@@ -0,0 +1,65 @@
+package me.carlosdg.pda.simulator.stack;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import me.carlosdg.pda.config.PdaConfigurationBuilder;
+import me.carlosdg.pda.definition.EmptyStackPdaDefinition;
+import me.carlosdg.pda.sets.StackAlphabet;
+
+public class CounterPdaStackTest {
+
+	private StackAlphabet alphabet;
+	private CounterPdaStack uut;
+
+	@Before
+	public void init() throws Exception {
+		alphabet = new StackAlphabet(Arrays.asList("S", "A", "B"));
+		uut = new CounterPdaStack(alphabet, alphabet.getSymbol("S"), alphabet.getSymbol("A"));
+	}
+
+	@Test
+	public void shouldCountTheSymbolsAboveTheBottom() {
+		uut.popId();
+		uut.pushReversed(new int[] { 0, 1, 1, 1 });
+
+		assertThat(uut.size()).isEqualTo(4);
+		assertThat(uut.toString()).isEqualTo("A A A S ");
+		uut.truncate(1);
+		assertThat(uut.peekId()).isEqualTo(0);
+		assertThat(uut.popId()).isEqualTo(0);
+		assertThat(uut.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void shouldThrowWhenPushingSymbolsThatAreNotCounted() {
+		assertThatThrownBy(() -> uut.pushId(2)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> uut.pushId(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void shouldBeUsedForAutomataThatOnlyCount() throws Exception {
+		EmptyStackPdaDefinition anbn = new EmptyStackPdaDefinition(new PdaConfigurationBuilder()
+				.addStateNameList(Arrays.asList("p", "q")).addInputAlphabetSymbolNameList(Arrays.asList("a", "b"))
+				.addStackAlphabetSymbolNameList(Arrays.asList("S", "A")).setStartingStateName("p")
+				.setStartingStackTopSymbolName("S").addTransition(Arrays.asList("p", "a", "S", "p", "A"))
+				.addTransition(Arrays.asList("p", "a", "A", "p", "A", "A"))
+				.addTransition(Arrays.asList("p", "b", "A", "q", ".")).addTransition(Arrays.asList("q", "b", "A", "q", "."))
+				.build());
+		EmptyStackPdaDefinition markedBottom = new EmptyStackPdaDefinition(new PdaConfigurationBuilder()
+				.addStateNameList(Arrays.asList("p")).addInputAlphabetSymbolNameList(Arrays.asList("a"))
+				.addStackAlphabetSymbolNameList(Arrays.asList("S", "A")).setStartingStateName("p")
+				.setStartingStackTopSymbolName("S").addTransition(Arrays.asList("p", "a", "S", "p", "A", "S"))
+				.addTransition(Arrays.asList("p", "a", "A", "p", "S", "A")).build());
+
+		assertThat(anbn.getCounterStackSymbol()).contains(anbn.getStackAlphabet().getSymbol("A"));
+		assertThat(StackImplementation.RUN_LENGTH.create(anbn)).isInstanceOf(CounterPdaStack.class);
+		assertThat(markedBottom.getCounterStackSymbol()).isEmpty();
+		assertThat(StackImplementation.RUN_LENGTH.create(markedBottom)).isInstanceOf(RunLengthPdaStack.class);
+	}
+
+}
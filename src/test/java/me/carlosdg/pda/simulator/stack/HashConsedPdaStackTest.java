@@ -0,0 +1,77 @@
+package me.carlosdg.pda.simulator.stack;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import me.carlosdg.pda.sets.StackAlphabet;
+
+public class HashConsedPdaStackTest {
+
+	private StackAlphabet alphabet;
+	private HashConsedPdaStack uut;
+
+	@Before
+	public void init() throws Exception {
+		alphabet = new StackAlphabet(Arrays.asList("S", "A", "B"));
+		uut = new HashConsedPdaStack(alphabet, alphabet.getSymbol("S"));
+	}
+
+	@Test
+	public void shouldShareTheNodesOfEqualStacks() {
+		HashConsedPdaStack copy = uut.copy();
+		uut.pushReversed(new int[] { 1, 2 });
+		copy.pushId(1);
+		copy.pushId(2);
+
+		assertThat(copy.getTop()).isSameAs(uut.getTop());
+		assertThat(copy).isEqualTo(uut);
+		copy.popId();
+		assertThat(copy.getTop()).isSameAs(uut.getTop().getBelow());
+		assertThat(copy).isNotEqualTo(uut);
+	}
+
+	@Test
+	public void shouldReleaseTheNodesThatAreNoLongerUsed() throws Exception {
+		StackNodePool pool = new StackNodePool();
+		StackNode bottom = pool.intern(0, null);
+		StackNode top = bottom;
+		for (int i = 0; i < 10000; ++i) {
+			top = pool.intern(1 + i % 2, top);
+		}
+		assertThat(pool.size()).isEqualTo(10001);
+		top = null;
+
+		for (int attempt = 0; attempt < 50 && pool.size() > 1; ++attempt) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		assertThat(pool.size()).isEqualTo(1);
+		assertThat(pool.intern(0, null)).isSameAs(bottom);
+	}
+
+	@Test
+	public void shouldCompareStacksOfDifferentPoolsByContents() throws Exception {
+		HashConsedPdaStack other = new HashConsedPdaStack(alphabet, alphabet.getSymbol("S"));
+		uut.pushId(1);
+		other.pushId(1);
+
+		assertThat(other.getTop()).isNotSameAs(uut.getTop());
+		assertThat(other).isEqualTo(uut);
+		assertThat(other.hashCode()).isEqualTo(uut.hashCode());
+	}
+
+	@Test
+	public void shouldHaveTheSameFingerprintsAsTheArrayStack() throws Exception {
+		ArrayPdaStack arrayStack = new ArrayPdaStack(alphabet, alphabet.getSymbol("S"));
+		uut.pushReversed(new int[] { 1, 2, 2 });
+		arrayStack.pushReversed(new int[] { 1, 2, 2 });
+
+		assertThat(uut.fingerprintHigh()).isEqualTo(arrayStack.fingerprintHigh());
+		assertThat(uut.fingerprintLow()).isEqualTo(arrayStack.fingerprintLow());
+	}
+
+}
@@ -0,0 +1,102 @@
+package me.carlosdg.pda.simulator.stack;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.symbols.StackAlphabetSymbol;
+
+@RunWith(Parameterized.class)
+public class PdaStackTest {
+
+	@Parameters(name = "{0}")
+	public static StackImplementation[] implementations() {
+		return StackImplementation.values();
+	}
+
+	@Parameter
+	public StackImplementation implementation;
+
+	private StackAlphabet alphabet;
+	private PdaStack uut;
+
+	@Before
+	public void init() throws Exception {
+		alphabet = new StackAlphabet(Arrays.asList("S", "A", "B"));
+		uut = implementation.create(alphabet, alphabet.getSymbol("S"));
+	}
+
+	@Test
+	public void shouldPushTheListWithTheFirstSymbolAtTheTop() throws Exception {
+		uut.push(Arrays.asList(alphabet.getSymbol("A"), alphabet.getSymbol("B")));
+
+		assertThat(uut.toString()).isEqualTo("A B S ");
+		assertThat(uut.pop()).isSameAs(alphabet.getSymbol("A"));
+	}
+
+	@Test
+	public void shouldPushReversedIdsInBulk() throws Exception {
+		uut.pushReversed(new int[] { 2, 1, 1 });
+
+		assertThat(uut.size()).isEqualTo(4);
+		assertThat(uut.toString()).isEqualTo("A A B S ");
+	}
+
+	@Test
+	public void shouldTruncateToTheGivenHeight() {
+		uut.pushReversed(new int[] { 1, 1, 1, 1 });
+		uut.truncate(1);
+
+		assertThat(uut.toString()).isEqualTo("S ");
+		assertThatThrownBy(() -> uut.truncate(2)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void shouldThrowWhenPoppingMoreThanItHas() {
+		assertThatThrownBy(() -> uut.pop(2)).isInstanceOf(EmptyStackException.class);
+	}
+
+	@Test
+	public void shouldThrowWhenPushingSymbolsOfOtherAlphabets() throws Exception {
+		assertThatThrownBy(() -> uut.push(new StackAlphabetSymbol("Z")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void shouldHaveEqualFingerprintsForEqualContents() throws Exception {
+		PdaStack other = implementation.create(alphabet, alphabet.getSymbol("S"));
+		uut.pushReversed(new int[] { 1, 2 });
+		uut.fingerprintHigh();
+		uut.pop(2);
+		uut.pushReversed(new int[] { 2, 1 });
+		other.pushReversed(new int[] { 2, 1 });
+
+		assertThat(uut.fingerprintHigh()).isEqualTo(other.fingerprintHigh());
+		assertThat(uut.fingerprintLow()).isEqualTo(other.fingerprintLow());
+		other.pop();
+		assertThat(uut.fingerprintHigh()).isNotEqualTo(other.fingerprintHigh());
+	}
+
+	@Test
+	public void shouldCopyIndependently() {
+		uut.pushReversed(new int[] { 2, 1 });
+		PdaStack copy = uut.copy();
+		copy.popId();
+		copy.pushId(2);
+		uut.pushId(1);
+
+		assertThat(uut.toString()).isEqualTo("A A B S ");
+		assertThat(copy.toString()).isEqualTo("B B S ");
+		assertThat(copy.getSymbolIds()).containsExactly(0, 2, 2);
+	}
+
+}
@@ -0,0 +1,41 @@
+package me.carlosdg.pda.transition_function;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.sets.StateSet;
+
+public class TransitionDescriptionsTest {
+
+	@Test
+	public void shouldDescribeTheTransitionsOfEachEntry() throws Exception {
+		StateSet states = new StateSet(Arrays.asList("p", "q"));
+		InputAlphabet inputAlphabet = new InputAlphabet(Arrays.asList("a", "b"));
+		StackAlphabet stackAlphabet = new StackAlphabet(Arrays.asList("S", "A"));
+		TransitionFunction transitionFunction = new TransitionFunction();
+		transitionFunction.put(states.getSymbol("p"), stackAlphabet.getSymbol("S"),
+				Optional.of(inputAlphabet.getSymbol("a")), states.getSymbol("p"),
+				Arrays.asList(stackAlphabet.getSymbol("A"), stackAlphabet.getSymbol("S")));
+		transitionFunction.put(states.getSymbol("p"), stackAlphabet.getSymbol("S"),
+				Optional.of(inputAlphabet.getSymbol("a")), states.getSymbol("q"), Collections.emptyList());
+		TransitionTable transitionTable = transitionFunction.compile(states, stackAlphabet, inputAlphabet);
+
+		TransitionDescriptions descriptions = new TransitionDescriptions(states, stackAlphabet, inputAlphabet,
+				transitionTable);
+
+		assertThat(descriptions.describe(0, 0, 0)).isEqualTo("𝛿(p, a, S) = { (p, A S),(q, .) }");
+		assertThat(descriptions.describe(0, 0, transitionTable.getEpsilonId())).isEqualTo("𝛿(p, ., S) = { }");
+		assertThat(descriptions.describe(1, 1, 1)).isEqualTo("𝛿(q, b, A) = { }");
+		assertThat(descriptions.describeEmptyStack(1, 0)).isEqualTo("𝛿(q, a, .) = { }");
+		// Built once and then reused
+		assertThat(descriptions.describe(0, 0, 0)).isSameAs(descriptions.describe(0, 0, 0));
+	}
+
+}
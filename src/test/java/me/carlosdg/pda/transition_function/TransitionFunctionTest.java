@@ -1,5 +1,6 @@
 package me.carlosdg.pda.transition_function;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -8,6 +9,9 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.*;
 import org.junit.Test;
 
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.sets.StackAlphabet;
+import me.carlosdg.pda.sets.StateSet;
 import me.carlosdg.pda.symbols.InputAlphabetSymbol;
 import me.carlosdg.pda.symbols.StackAlphabetSymbol;
 import me.carlosdg.pda.symbols.State;
@@ -55,4 +59,80 @@ public class TransitionFunctionTest {
 		assertThat(transitionFunction.get(s0, stackAlphabetSymbol, inputSymbol)).isEmpty();
 	}
 
+	@Test
+	public void shouldCompileTheTransitionsInTheOrderTheyWereAdded() throws Exception {
+		StateSet states = new StateSet(Arrays.asList("q0", "q1"));
+		StackAlphabet stackAlphabet = new StackAlphabet(Arrays.asList("S", "A"));
+		InputAlphabet inputAlphabet = new InputAlphabet(Arrays.asList("a", "b"));
+		State q0 = states.getSymbol("q0");
+		State q1 = states.getSymbol("q1");
+		StackAlphabetSymbol s = stackAlphabet.getSymbol("S");
+		StackAlphabetSymbol a = stackAlphabet.getSymbol("A");
+		InputAlphabetSymbol b = inputAlphabet.getSymbol("b");
+
+		TransitionFunction transitionFunction = new TransitionFunction();
+		transitionFunction.put(q0, s, Optional.of(b), q1, Arrays.asList(a, s));
+		transitionFunction.put(q0, s, Optional.of(b), q0, Arrays.asList());
+		transitionFunction.put(q0, s, Optional.of(b), q1, Arrays.asList(s));
+		transitionFunction.put(q1, a, Optional.empty(), q0, Arrays.asList(a));
+
+		TransitionTable table = transitionFunction.compile(states, stackAlphabet, inputAlphabet);
+
+		assertThat(table.getEpsilonId()).isEqualTo(2);
+		assertThat(table.get(q0.getId(), s.getId(), b.getId())).containsExactly(
+				new StateStackSymbolsPair(q1, Arrays.asList(a, s)), new StateStackSymbolsPair(q0, Arrays.asList()),
+				new StateStackSymbolsPair(q1, Arrays.asList(s)));
+		assertThat(table.getEpsilonMoves(q1.getId(), a.getId()))
+				.containsExactly(new StateStackSymbolsPair(q0, Arrays.asList(a)));
+		assertThat(table.get(q0.getId(), s.getId(), inputAlphabet.getSymbol("a").getId())).isEmpty();
+		assertThat(table.get(q1.getId(), a.getId(), b.getId())).isEmpty();
+	}
+
+	@Test
+	public void shouldRejectAutomataTooLargeForATable() throws Exception {
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < 50000; ++i) {
+			names.add("s" + i);
+		}
+		StateSet states = new StateSet(names);
+		StackAlphabet stackAlphabet = new StackAlphabet(names);
+		InputAlphabet inputAlphabet = new InputAlphabet(Arrays.asList("a"));
+
+		assertThatThrownBy(() -> new TransitionFunction().compile(states, stackAlphabet, inputAlphabet))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("too large");
+	}
+
+	@Test
+	public void shouldNotLetThePairsBeModified() throws Exception {
+		StackAlphabet stackAlphabet = new StackAlphabet(Arrays.asList("S", "A"));
+		StateStackSymbolsPair pair = new StateStackSymbolsPair(new State("q0"),
+				Arrays.asList(stackAlphabet.getSymbol("A"), stackAlphabet.getSymbol("S")));
+
+		pair.copyReversedSymbolIds()[0] = 1;
+
+		assertThat(pair.getReversedSymbolIds()).containsExactly(0, 1);
+		assertThatThrownBy(() -> pair.getSymbols().add(stackAlphabet.getSymbol("A")))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void shouldCheckThatTheTransitionsUseTheGivenSets() throws Exception {
+		StateSet states = new StateSet(Arrays.asList("q0", "q1"));
+		StackAlphabet stackAlphabet = new StackAlphabet(Arrays.asList("S", "A"));
+		InputAlphabet inputAlphabet = new InputAlphabet(Arrays.asList("a"));
+		State q0 = states.getSymbol("q0");
+		StackAlphabetSymbol s = stackAlphabet.getSymbol("S");
+		Optional<InputAlphabetSymbol> a = Optional.of(inputAlphabet.getSymbol("a"));
+		StackAlphabetSymbol otherA = new StackAlphabet(Arrays.asList("S", "A")).getSymbol("A");
+
+		TransitionFunction transitionFunction = new TransitionFunction();
+		transitionFunction.put(q0, s, a, states.getSymbol("q1"), Arrays.asList(stackAlphabet.getSymbol("A"), s));
+		transitionFunction.put(q0, s, Optional.empty(), q0, Arrays.asList());
+		assertThat(transitionFunction.isDefinedOver(states, stackAlphabet, inputAlphabet)).isTrue();
+
+		transitionFunction.put(q0, s, a, q0, Arrays.asList(otherA));
+		assertThat(transitionFunction.isDefinedOver(states, stackAlphabet, inputAlphabet)).isFalse();
+		assertThat(new TransitionFunction().isDefinedOver(states, stackAlphabet, inputAlphabet)).isTrue();
+	}
+
 }
@@ -0,0 +1,59 @@
+package me.carlosdg.pda.word;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import me.carlosdg.pda.sets.InputAlphabet;
+
+public class SymbolTokenizerTest {
+
+	private static SymbolTokenizer tokenizer(String... symbols) throws Exception {
+		return new SymbolTokenizer(new InputAlphabet(Arrays.asList(symbols)));
+	}
+
+	@Test
+	public void shouldSplitTextWithoutSeparators() throws Exception {
+		SymbolTokenizer tokenizer = tokenizer("GET", "POST", "/", "id");
+
+		assertThat(tokenizer.tokenize("GET/idPOST/").getIds()).containsExactly(0, 2, 3, 1, 2);
+		assertThat(tokenizer.tokenize(" GET  / id\n").getIds()).containsExactly(0, 2, 3);
+	}
+
+	@Test
+	public void shouldTakeTheLongestSymbol() throws Exception {
+		SymbolTokenizer tokenizer = tokenizer("a", "ab", "bb");
+
+		assertThat(tokenizer.tokenize("abbb").getIds()).containsExactly(1, 2);
+		assertThat(tokenizer.tokenize("aab a").getIds()).containsExactly(0, 1, 0);
+	}
+
+	@Test
+	public void shouldTokenizeTheEmptyWord() throws Exception {
+		SymbolTokenizer tokenizer = tokenizer("a");
+
+		assertThat(tokenizer.tokenize(".\n").size()).isEqualTo(0);
+		assertThat(tokenizer.tokenize("").size()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldThrowWhenThereIsNoSymbol() throws Exception {
+		SymbolTokenizer tokenizer = tokenizer("ab", "c");
+
+		assertThatThrownBy(() -> tokenizer.tokenize("abca")).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("position 3");
+		assertThatThrownBy(() -> tokenizer.tokenize("a b")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void shouldRejectAmbiguousAlphabets() throws Exception {
+		assertThatThrownBy(() -> tokenizer("a", "ab", "b")).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Ambiguous");
+		assertThatThrownBy(() -> tokenizer("a", "ba", "aab", "bab")).isInstanceOf(IllegalArgumentException.class);
+		tokenizer("a", "ab", "bc");
+		tokenizer("0", "10", "110");
+	}
+
+}
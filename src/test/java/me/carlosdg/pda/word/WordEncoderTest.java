@@ -0,0 +1,94 @@
+package me.carlosdg.pda.word;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import me.carlosdg.pda.sets.InputAlphabet;
+
+public class WordEncoderTest {
+
+	private static InputAlphabet alphabetOfSize(int size) throws Exception {
+		List<String> symbols = new ArrayList<>();
+		for (int i = 0; i < size; ++i) {
+			symbols.add("s" + i);
+		}
+		return new InputAlphabet(symbols);
+	}
+
+	@Test
+	public void shouldEncodeTheIdsOfTheSymbols() throws Exception {
+		InputAlphabet alphabet = new InputAlphabet(Arrays.asList("a", "b", "c"));
+		WordEncoder encoder = new WordEncoder(alphabet);
+
+		EncodedWord word = encoder.encode(new Word(Arrays.asList("c", "a", "b", "c")));
+
+		assertThat(word.getIds()).containsExactly(2, 0, 1, 2);
+		assertThat(word.get(0)).isSameAs(alphabet.getSymbol("c"));
+		assertThat(word.toString()).isEqualTo("c a b c ");
+		assertThat(encoder.encode(Arrays.asList("b", "b")).getIds()).containsExactly(1, 1);
+	}
+
+	@Test
+	public void shouldEncodeTheEmptyWord() throws Exception {
+		WordEncoder encoder = new WordEncoder(new InputAlphabet(Arrays.asList("a")));
+
+		assertThat(encoder.encode(new Word(Arrays.asList("."))).size()).isEqualTo(0);
+		assertThat(encoder.encode(Arrays.asList(".")).toString()).isEqualTo(".");
+		assertThat(encoder.encodeCharacters(".").size()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldNotEncodeAgainWordsOfTheSameAlphabet() throws Exception {
+		WordEncoder encoder = new WordEncoder(new InputAlphabet(Arrays.asList("a", "b")));
+		EncodedWord word = encoder.encode(Arrays.asList("a", "b"));
+
+		assertThat(encoder.encode(word)).isSameAs(word);
+		assertThat(new WordEncoder(new InputAlphabet(Arrays.asList("b", "a"))).encode(word).getIds())
+				.containsExactly(1, 0);
+	}
+
+	@Test
+	public void shouldKeepTheIdsOfBigAlphabets() throws Exception {
+		for (int size : new int[] { 256, 257, 65536, 65537 }) {
+			InputAlphabet alphabet = alphabetOfSize(size);
+			EncodedWord word = new WordEncoder(alphabet)
+					.encode(Arrays.asList("s0", "s" + (size - 1), "s" + (size / 2)));
+
+			assertThat(word.getIds()).containsExactly(0, size - 1, size / 2);
+		}
+	}
+
+	@Test
+	public void shouldEncodeSingleCharacterSymbolsFromText() throws Exception {
+		WordEncoder encoder = new WordEncoder(new InputAlphabet(Arrays.asList("(", ")", "ñ")));
+
+		assertThat(encoder.hasSingleCharacterSymbols()).isTrue();
+		assertThat(encoder.encodeCharacters("(()ñ)").getIds()).containsExactly(0, 0, 1, 2, 1);
+		assertThat(encoder.getId('x')).isEqualTo(-1);
+	}
+
+	@Test
+	public void shouldThrowWhenGivenInvalidSymbols() throws Exception {
+		WordEncoder encoder = new WordEncoder(new InputAlphabet(Arrays.asList("a", "b")));
+
+		assertThatThrownBy(() -> encoder.encode(new Word(Arrays.asList("a", "x"))))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> encoder.encodeCharacters("abx")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> EncodedWord.of(encoder.getAlphabet(), new int[] { 0, 2 }, 2))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void shouldNotEncodeTextWhenSymbolsHaveSeveralCharacters() throws Exception {
+		WordEncoder encoder = new WordEncoder(new InputAlphabet(Arrays.asList("a", "bb")));
+
+		assertThat(encoder.hasSingleCharacterSymbols()).isFalse();
+		assertThatThrownBy(() -> encoder.encodeCharacters("abb")).isInstanceOf(IllegalStateException.class);
+	}
+
+}
@@ -0,0 +1,108 @@
+package me.carlosdg.pda.word.readers;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import me.carlosdg.pda.sets.InputAlphabet;
+import me.carlosdg.pda.word.EncodedWord;
+import me.carlosdg.pda.word.Word;
+import me.carlosdg.pda.word.WordEncoder;
+
+public class CorpusFileReaderTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private String corpusFile(String contents) throws Exception {
+		File file = folder.newFile();
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+		return file.getPath();
+	}
+
+	@Test
+	public void shouldReadOneWordPerLine() throws Exception {
+		CorpusFileReader reader = new CorpusFileReader(corpusFile("0 1 1 0\n1  1\n.\n"));
+
+		assertThat(reader.size()).isEqualTo(3);
+		assertThat(reader.getWord(0).toString()).isEqualTo("0 1 1 0 ");
+		assertThat(reader.getWord(1).toString()).isEqualTo("1 1 ");
+		assertThat(reader.getWord(2).size()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldReadTheLastLineWithoutNewline() throws Exception {
+		CorpusFileReader reader = new CorpusFileReader(corpusFile("a b\r\nc"));
+
+		assertThat(reader.size()).isEqualTo(2);
+		assertThat(reader.getWord(0).toString()).isEqualTo("a b ");
+		assertThat(reader.getWord(1).toString()).isEqualTo("c ");
+	}
+
+	@Test
+	public void shouldKeepEmptyLinesAsEmptyWords() throws Exception {
+		CorpusFileReader reader = new CorpusFileReader(corpusFile("a\n\nb\n"));
+
+		assertThat(reader.size()).isEqualTo(3);
+		assertThat(reader.getWord(1).size()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldReadAnEmptyFile() throws Exception {
+		assertThat(new CorpusFileReader(corpusFile("")).size()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldGiveTheBytesOfALineWithoutTheTerminator() throws Exception {
+		CorpusFileReader reader = new CorpusFileReader(corpusFile("a b\r\nñ\n"));
+
+		ByteBuffer line = reader.getLine(1);
+		byte[] bytes = new byte[line.remaining()];
+		line.get(bytes);
+		assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo("ñ");
+		assertThat(reader.getLine(0).remaining()).isEqualTo(3);
+		assertThat(reader.getWord(1).toString()).isEqualTo("ñ ");
+	}
+
+	@Test
+	public void shouldGiveTheWordsAsAList() throws Exception {
+		StringBuilder contents = new StringBuilder();
+		for (int i = 0; i < 5000; ++i) {
+			contents.append(i).append(" x\n");
+		}
+		List<Word> words = new CorpusFileReader(corpusFile(contents.toString())).getWords();
+
+		assertThat(words).hasSize(5000);
+		assertThat(words.get(4321).toString()).isEqualTo("4321 x ");
+	}
+
+	@Test
+	public void shouldEncodeTheWords() throws Exception {
+		WordEncoder encoder = new WordEncoder(new InputAlphabet(Arrays.asList("a", "bc", "ñ")));
+		CorpusFileReader reader = new CorpusFileReader(corpusFile("a bc ñ\n.\nbc a x\n. a\n"));
+
+		EncodedWord word = reader.getWord(0, encoder);
+		assertThat(word.getIds()).containsExactly(0, 1, 2);
+		assertThat(reader.getWords(encoder).get(1).size()).isEqualTo(0);
+		assertThatThrownBy(() -> reader.getWord(2, encoder)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> reader.getWord(3, encoder)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void shouldThrowWhenGivenAnInvalidLine() throws Exception {
+		CorpusFileReader reader = new CorpusFileReader(corpusFile("a\n"));
+
+		assertThatThrownBy(() -> reader.getWord(1)).isInstanceOf(IndexOutOfBoundsException.class);
+		assertThatThrownBy(() -> reader.getLine(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+}